@@ -0,0 +1,22 @@
+package ru.fix.completable.reactor.api;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks class or interface which instances never change their state after construction.
+ * Reactor does not copy instances of such types when they are passed to handlers
+ * and shares them between threads as is.
+ * Annotation applies to subclasses and to all implementations of annotated interface.
+ *
+ * <pre><code>
+ * &#064;Immutable
+ * class UserProfile { ... }
+ * </code></pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface Immutable {
+}
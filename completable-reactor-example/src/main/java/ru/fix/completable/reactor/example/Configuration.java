@@ -38,7 +38,7 @@ public class Configuration {
     ProcessorDescription<UserProfilePayloadMixin> gUserProfileDescription =
             graphBuilder.processor()
                     .forPayload(UserProfilePayloadMixin.class)
-                    .passArg(pld -> pld.getUserId())
+                    .passLongArg(pld -> pld.getUserId())
                     .passArg(pld -> pld.getUserId().toString())
                     .withHandler(userProfile::loadUserProfileById)
                     .withMerger(
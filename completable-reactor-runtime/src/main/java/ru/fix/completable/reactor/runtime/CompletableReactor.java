@@ -8,21 +8,28 @@ import ru.fix.commons.profiler.PrefixedProfiler;
 import ru.fix.commons.profiler.ProfiledCall;
 import ru.fix.commons.profiler.Profiler;
 import ru.fix.completable.reactor.api.ReactorGraphModel;
-import ru.fix.completable.reactor.runtime.cloning.CopierThreadsafeCopyMaker;
+import ru.fix.completable.reactor.runtime.admission.AdmissionController;
+import ru.fix.completable.reactor.runtime.admission.OverloadPolicy;
+import ru.fix.completable.reactor.runtime.cloning.ImmutabilityAwareThreadsafeCopyMaker;
 import ru.fix.completable.reactor.runtime.cloning.ThreadsafeCopyMaker;
 import ru.fix.completable.reactor.runtime.debug.DebugSerializer;
-import ru.fix.completable.reactor.runtime.debug.ToStringDebugSerializer;
+import ru.fix.completable.reactor.runtime.debug.ReflectionDebugSerializer;
 import ru.fix.completable.reactor.runtime.execution.ReactorGraphExecution;
 import ru.fix.completable.reactor.runtime.execution.ReactorGraphExecutionBuilder;
+import ru.fix.completable.reactor.runtime.execution.ReactorGraphExecutionPlan;
 import ru.fix.completable.reactor.runtime.immutability.ImmutabilityChecker;
 import ru.fix.completable.reactor.runtime.immutability.ImmutabilityControlLevel;
 import ru.fix.completable.reactor.runtime.immutability.ReflectionImmutabilityChecker;
-import ru.fix.completable.reactor.runtime.internal.CRReactorGraph;
+import ru.fix.completable.reactor.runtime.timeout.HashedWheelTimer;
 import ru.fix.completable.reactor.runtime.tracing.Tracer;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.*;
@@ -38,36 +45,65 @@ public class CompletableReactor implements AutoCloseable {
 
     private final ImmutabilityChecker immutabilityChecker = new ReflectionImmutabilityChecker();
 
-    private final ThreadsafeCopyMaker threadsafeCopyMaker = new CopierThreadsafeCopyMaker();
+    private final ThreadsafeCopyMaker threadsafeCopyMaker = new ImmutabilityAwareThreadsafeCopyMaker();
 
-    private final DebugSerializer debugSerializer = new ToStringDebugSerializer();
+    private final DebugSerializer debugSerializer = new ReflectionDebugSerializer();
 
     private final ReactorGraphExecutionBuilder executionBuilder;
 
-    private final Map<Class<?>, CRReactorGraph> payloadGraphs = new ConcurrentHashMap<>();
-
     /**
-     * {@code Function<PayloadType, CompletableFuture<PayloadType>>}
+     * Execution plans compiled during graph registration
      */
-    private final Map<Class<?>, Function> inlinePayloadGraphs = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ReactorGraphExecutionPlan<?>> payloadGraphs = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, InlineGraph> inlinePayloadGraphs = new ConcurrentHashMap<>();
+
+    private static class InlineGraph {
+        /**
+         * {@code Function<PayloadType, CompletableFuture<PayloadType>>}
+         */
+        final Function function;
+        final String payloadProfilingName;
 
-    private final ScheduledExecutorService timeoutExecutorService = newScheduledThreadPool(
-            1,
-            "completable-reactor-check-timeout-");
+        InlineGraph(Class<?> payloadType, Function function) {
+            this.function = function;
+            this.payloadProfilingName = ProfilerNames.PAYLOAD + payloadType.getSimpleName();
+        }
+    }
+
+    /**
+     * Timing wheel with single ticker thread that is shared between all reactors
+     */
+    private final HashedWheelTimer timeoutTimer = HashedWheelTimer.shared();
 
     private volatile long executionTimeoutMs = TimeUnit.MINUTES.toMillis(15);
 
-    private AtomicBoolean isClosed = new AtomicBoolean();
+    /**
+     * Executor for internal asynchronous stages of graph execution and request bookkeeping
+     */
+    private volatile Executor executor = ForkJoinPool.commonPool();
+
+    private volatile boolean isClosed = false;
+
+    /**
+     * Completes when reactor is closed and all pending requests are complete
+     */
+    private final CompletableFuture<Void> closeFuture = new CompletableFuture<>();
 
     final Map<Class<?>, PayloadStatCounters> payloadStatCounters = new ConcurrentHashMap<>();
 
-    private final AtomicLong maxPendingRequestCount = new AtomicLong(100_000);
+    /**
+     * Bounds amount of requests submitted by clients.
+     * Subgraph executions are part of parent request and do not acquire admission permits.
+     */
+    private final AdmissionController admissionController = new AdmissionController().setLimit(100_000);
 
     /**
-     * Used as a synchronized monitor.
-     * Notify when reach 0.
+     * Striped counter of requests in flight.
+     * Submission increments counter before checking {@link #isClosed} and closing sets {@link #isClosed}
+     * before reading the counter, so at least one of them observes the other.
      */
-    private final AtomicLong pendingRequestCount = new AtomicLong();
+    private final LongAdder pendingRequestCount = new LongAdder();
 
     private final AtomicLong closeTimeoutMs = new AtomicLong(120_000);
 
@@ -136,9 +172,14 @@ public class CompletableReactor implements AutoCloseable {
                 profiler,
                 immutabilityChecker,
                 threadsafeCopyMaker,
-                payload -> {
+                (payload, timeoutMs) -> {
                     try {
-                        return this.internalSubmit(payload, executionTimeoutMs).getResultFuture();
+                        /**
+                         * Subgraph is a part of parent request, it is accepted even if reactor is closed
+                         */
+                        pendingRequestCount.increment();
+                        return this.internalSubmit(payload, timeoutMs > 0 ? timeoutMs : executionTimeoutMs)
+                                .getResultFuture();
                     } catch (Exception exc) {
                         CompletableFuture result = new CompletableFuture();
                         result.completeExceptionally(exc);
@@ -162,12 +203,99 @@ public class CompletableReactor implements AutoCloseable {
         return this;
     }
 
+    /**
+     * @param executor executor for all internal asynchronous stages of graph executions.
+     *                 Graphs could override it by {@link ReactorGraphBuilder#setExecutor(Executor)}.
+     *                 By default {@link ForkJoinPool#commonPool()} is used.
+     */
+    public CompletableReactor setExecutor(Executor executor) {
+        Objects.requireNonNull(executor);
+        this.executor = executor;
+        executionBuilder.setExecutor(executor);
+        return this;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Transition activation is a cheap conversion of merge point result to incoming flow of next vertex.
+     * If this flag is enabled then transitions are activated in the thread that completed merge point
+     * instead of being submitted to executor.
+     *
+     * @param sameThreadTransitions By default this flag is disabled.
+     */
+    public CompletableReactor setSameThreadTransitions(boolean sameThreadTransitions) {
+        executionBuilder.setSameThreadTransitions(sameThreadTransitions);
+        return this;
+    }
+
+    /**
+     * If this flag is enabled then processors of the first wave are invoked by thread that submits payload,
+     * execution is handed over to executor at the first handler that returns not yet completed future.
+     * Removes executor queueing delay from start of latency sensitive executions.
+     *
+     * @param sameThreadSubmission By default this flag is disabled.
+     */
+    public CompletableReactor setSameThreadSubmission(boolean sameThreadSubmission) {
+        executionBuilder.setSameThreadSubmission(sameThreadSubmission);
+        return this;
+    }
+
     public long getMaxPendingRequestCount() {
-        return maxPendingRequestCount.get();
+        return admissionController.getLimit();
     }
 
     public CompletableReactor setMaxPendingRequestCount(long value) {
-        maxPendingRequestCount.set(value);
+        admissionController.setLimit(value);
+        return this;
+    }
+
+    public long getMaxPendingRequestCount(Class<?> payloadType) {
+        return payloadStatCounters(payloadType).getAdmissionQuota().getLimit();
+    }
+
+    /**
+     * @param payloadType type of payload
+     * @param value       max amount of pending requests with given payload type.
+     *                    By default payload types are limited only by {@link #getMaxPendingRequestCount()}
+     */
+    public CompletableReactor setMaxPendingRequestCount(Class<?> payloadType, long value) {
+        payloadStatCounters(payloadType).getAdmissionQuota().setLimit(value);
+        return this;
+    }
+
+    public OverloadPolicy getOverloadPolicy() {
+        return admissionController.getOverloadPolicy();
+    }
+
+    /**
+     * @param overloadPolicy defines behaviour of {@link #submitAsync(Object)} when pending request limit is reached.
+     *                       By default {@link OverloadPolicy#QUEUE} is used.
+     */
+    public CompletableReactor setOverloadPolicy(OverloadPolicy overloadPolicy) {
+        Objects.requireNonNull(overloadPolicy);
+        admissionController.setOverloadPolicy(overloadPolicy);
+        return this;
+    }
+
+    /**
+     * @return amount of requests that wait for admission in {@link #submitAsync(Object)}
+     */
+    public int getQueuedRequestCount() {
+        return admissionController.getQueueSize();
+    }
+
+    public int getMaxQueuedRequestCount() {
+        return admissionController.getMaxQueueSize();
+    }
+
+    /**
+     * @param value max amount of requests that wait for admission in {@link #submitAsync(Object)}
+     */
+    public CompletableReactor setMaxQueuedRequestCount(int value) {
+        admissionController.setMaxQueueSize(value);
         return this;
     }
 
@@ -214,14 +342,19 @@ public class CompletableReactor implements AutoCloseable {
     }
 
     /**
-     * Register reactor graph
+     * Register reactor graph.
+     * Graph is compiled to execution plan during registration,
+     * so invalid graph structure is reported by this method instead of by submission.
      *
      * @param reactorGraph
      */
     public void registerReactorGraph(ReactorGraph reactorGraph) {
-        val crReactorGraph = (CRReactorGraph) reactorGraph;
-        payloadGraphs.put(crReactorGraph.getPayloadClass(), crReactorGraph);
-        inlinePayloadGraphs.remove(crReactorGraph.getPayloadClass());
+        ReactorGraphExecutionPlan<?> plan = executionBuilder.compile(reactorGraph);
+        synchronized (payloadGraphs) {
+            payloadGraphs.put(plan.getPayloadClass(), plan);
+            inlinePayloadGraphs.remove(plan.getPayloadClass());
+            linkSubgraphs();
+        }
     }
 
     /**
@@ -238,8 +371,22 @@ public class CompletableReactor implements AutoCloseable {
             Class<PayloadType> payloadType,
             Function<PayloadType, CompletableFuture<PayloadType>> payloadProcessingFunction) {
 
-        inlinePayloadGraphs.put(payloadType, payloadProcessingFunction);
-        payloadGraphs.remove(payloadType);
+        synchronized (payloadGraphs) {
+            inlinePayloadGraphs.put(payloadType, new InlineGraph(payloadType, payloadProcessingFunction));
+            payloadGraphs.remove(payloadType);
+            linkSubgraphs();
+        }
+    }
+
+    /**
+     * Relinks subgraphs of all registered graphs after registration change.
+     * Subgraphs with registered reactor graph are executed as embedded child executions,
+     * others are submitted to reactor by {@link ReactorGraphExecutionBuilder.SubgraphRunner}.
+     */
+    private void linkSubgraphs() {
+        for (ReactorGraphExecutionPlan<?> plan : payloadGraphs.values()) {
+            plan.linkSubgraphs(payloadGraphs::get);
+        }
     }
 
     @Data
@@ -247,7 +394,11 @@ public class CompletableReactor implements AutoCloseable {
     static class PayloadStatCounters {
         final LongAdder runningTotal = new LongAdder();
         final LongAdder runningWithoutResult = new LongAdder();
+        final AdmissionController.Quota admissionQuota = new AdmissionController.Quota();
+    }
 
+    private PayloadStatCounters payloadStatCounters(Class<?> payloadType) {
+        return payloadStatCounters.computeIfAbsent(payloadType, key -> new PayloadStatCounters());
     }
 
 
@@ -264,21 +415,19 @@ public class CompletableReactor implements AutoCloseable {
         final Map<Class<?>, PayloadStatisticsReport> payloadStatisticsReports = new HashMap<>();
     }
 
-    private static ScheduledThreadPoolExecutor newScheduledThreadPool(int poolSize, String threadsNamePrefix) {
-        AtomicInteger counter = new AtomicInteger();
-        ThreadFactory threadFactory = runnable -> new Thread(
-                runnable,
-                threadsNamePrefix + counter.getAndIncrement());
-
-        ScheduledThreadPoolExecutor scheduledThreadPoolExecutor =
-                new ScheduledThreadPoolExecutor(poolSize, threadFactory);
-        scheduledThreadPoolExecutor.setRemoveOnCancelPolicy(true);
-        return scheduledThreadPoolExecutor;
-    }
-
-
     public void setImmutabilityControlLevel(ImmutabilityControlLevel immutabilityControlLevel) {
         this.immutabilityControlLevel.set(immutabilityControlLevel);
+        executionBuilder.setImmutabilityControlLevel(immutabilityControlLevel);
+    }
+
+    /**
+     * Allows to keep immutability control enabled under load.
+     *
+     * @param samplingRate immutability control is applied to one of {@code samplingRate} graph executions
+     */
+    public CompletableReactor setImmutabilityCheckSamplingRate(int samplingRate) {
+        executionBuilder.setImmutabilityCheckSamplingRate(samplingRate);
+        return this;
     }
 
     final AtomicReference<ImmutabilityControlLevel> immutabilityControlLevel =
@@ -318,32 +467,320 @@ public class CompletableReactor implements AutoCloseable {
     }
 
 
+    @Data
+    public static class BatchExecution<PayloadType> {
+        /**
+         * Executions in order of submitted payloads
+         */
+        final List<Execution<PayloadType>> executions;
+        /**
+         * Completes when result futures of all executions are complete.
+         * Completes exceptionally if any of executions completes exceptionally.
+         */
+        final CompletableFuture<Void> resultFuture;
+        /**
+         * Completes when chain execution futures of all executions are complete
+         */
+        final CompletableFuture<Void> chainExecutionFuture;
+    }
+
+
     public <PayloadType> Optional<Execution<PayloadType>> trySubmit(PayloadType payload) {
         return trySubmit(payload, executionTimeoutMs);
     }
 
+    /**
+     * Submits request if pending request limits are not reached.
+     *
+     * @return empty if global or payload type pending request limit is reached
+     */
     public <PayloadType> Optional<Execution<PayloadType>> trySubmit(PayloadType payload, long timeoutMs) {
-        if (pendingRequestCount.get() > maxPendingRequestCount.get()) {
+        AdmissionController.Quota quota = payloadStatCounters(payload.getClass()).getAdmissionQuota();
+
+        if (!admissionController.tryAcquire(quota)) {
             return Optional.empty();
         }
-        return Optional.of(submit(payload, timeoutMs));
+        return Optional.of(submitAdmitted(payload, timeoutMs, quota));
     }
 
     public <PayloadType> Execution<PayloadType> submit(PayloadType payload) {
         return submit(payload, executionTimeoutMs);
     }
 
+    /**
+     * Submits request regardless of pending request limits.
+     * If limit is reached prints error message and accepts request.
+     */
     public <PayloadType> Execution<PayloadType> submit(PayloadType payload, long timeoutMs) {
-        if (isClosed.get()) {
+        AdmissionController.Quota quota = payloadStatCounters(payload.getClass()).getAdmissionQuota();
+
+        if (!admissionController.forceAcquire(quota)) {
+            log.error("Max pending request count is reached. Request will be accepted but there is a possibility of " +
+                    "OOM or something wrong with back pressure logic in client code.\n" +
+                    "Use trySubmit or submitAsync methods that support back pressure or correctly handle the load on " +
+                    "CompletableReactor on client side.");
+        }
+        return submitAdmitted(payload, timeoutMs, quota);
+    }
+
+    public <PayloadType> CompletableFuture<Execution<PayloadType>> submitAsync(PayloadType payload) {
+        return submitAsync(payload, executionTimeoutMs);
+    }
+
+    /**
+     * Submits request when pending request limits allow it, without blocking caller thread.
+     * If limit is reached request is rejected, queued or shed according to {@link #getOverloadPolicy()}.
+     *
+     * Admitted request is submitted by {@link #getExecutor()}, not by thread that released the permit.
+     * Cancellation or exceptional completion of returned future by client removes request from admission queue.
+     * Request that is already submitted is not affected.
+     *
+     * @return future that completes with execution when request is admitted
+     * or completes with {@link RejectedExecutionException} if request is rejected
+     */
+    public <PayloadType> CompletableFuture<Execution<PayloadType>> submitAsync(PayloadType payload, long timeoutMs) {
+        AdmissionController.Quota quota = payloadStatCounters(payload.getClass()).getAdmissionQuota();
+
+        CompletableFuture<Execution<PayloadType>> result = new CompletableFuture<>();
+        CompletableFuture<Void> admission = admissionController.acquireAsync(quota);
+
+        admission.whenComplete((any, admissionThrowable) -> {
+            if (admissionThrowable != null) {
+                result.completeExceptionally(admissionThrowable);
+                return;
+            }
+            try {
+                executor.execute(() -> {
+                    if (result.isDone()) {
+                        /**
+                         * Client gave up on request while it was waiting for executor
+                         */
+                        admissionController.release(quota);
+                        return;
+                    }
+                    try {
+                        result.complete(submitAdmitted(payload, timeoutMs, quota));
+                    } catch (Throwable exc) {
+                        result.completeExceptionally(exc);
+                    }
+                });
+            } catch (RejectedExecutionException exc) {
+                admissionController.release(quota);
+                result.completeExceptionally(exc);
+            }
+        });
+
+        result.whenComplete((execution, throwable) -> {
+            if (throwable != null) {
+                admission.cancel(false);
+            }
+        });
+
+        return result;
+    }
+
+    public <PayloadType> BatchExecution<PayloadType> submitAll(List<PayloadType> payloads) {
+        return submitAll(payloads, executionTimeoutMs);
+    }
+
+    /**
+     * Submits batch of requests regardless of pending request limits, same as {@link #submit(Object, long)}.
+     * Graph lookup, admission, statistics update and timeout registration are made once for whole batch.
+     *
+     * @param payloads payloads of the same type
+     */
+    public <PayloadType> BatchExecution<PayloadType> submitAll(List<PayloadType> payloads, long timeoutMs) {
+        if (payloads.isEmpty()) {
+            return new BatchExecution<>(
+                    Collections.emptyList(),
+                    CompletableFuture.completedFuture(null),
+                    CompletableFuture.completedFuture(null));
+        }
+
+        Class<?> payloadType = payloads.get(0).getClass();
+        for (PayloadType payload : payloads) {
+            if (payload.getClass() != payloadType) {
+                throw new IllegalArgumentException(String.format(
+                        "Batch should contain payloads of single type. Found %s and %s.",
+                        payloadType,
+                        payload.getClass()));
+            }
+        }
+
+        if (inlinePayloadGraphs.containsKey(payloadType)) {
+            /**
+             * Inline graphs are submitted one by one
+             */
+            List<Execution<PayloadType>> executions = new ArrayList<>(payloads.size());
+            for (PayloadType payload : payloads) {
+                executions.add(submit(payload, timeoutMs));
+            }
+            return batchExecution(executions);
+        }
+
+        ReactorGraphExecutionPlan<PayloadType> plan =
+                (ReactorGraphExecutionPlan<PayloadType>) payloadGraphs.get(payloadType);
+        if (plan == null) {
+            throw new IllegalArgumentException(String.format(
+                    "Rector graph not found for payload %s", payloadType));
+        }
+
+        int batchSize = payloads.size();
+        PayloadStatCounters statistics = payloadStatCounters(payloadType);
+        AdmissionController.Quota quota = statistics.getAdmissionQuota();
+
+        if (!admissionController.forceAcquire(quota, batchSize)) {
+            log.error("Max pending request count is reached. Batch of {} requests will be accepted" +
+                    " but there is a possibility of OOM or something wrong with back pressure logic in client code.",
+                    batchSize);
+        }
+
+        pendingRequestCount.add(batchSize);
+        if (isClosed) {
+            releasePendingRequests(batchSize);
+            admissionController.release(quota, batchSize);
             throw new IllegalStateException(String.format(
-                    "CompletableReactor is closed. Payload %s is discarded.", payload));
+                    "CompletableReactor is closed. Batch of %d payloads %s is discarded.", batchSize, payloadType));
+        }
+
+        statistics.getRunningTotal().add(batchSize);
+        statistics.getRunningWithoutResult().add(batchSize);
+
+        AtomicReferenceArray<ReactorGraphExecution<PayloadType>> graphExecutions =
+                new AtomicReferenceArray<>(batchSize);
+        List<Execution<PayloadType>> executions = new ArrayList<>(batchSize);
+
+        /**
+         * Single timeout for whole batch.
+         * Scheduled before executions are built so that executions submitted before failed build still expire.
+         * Executions are built in order, so expiration stops at the first one that was not built.
+         */
+        HashedWheelTimer.Timeout timeout = timeoutTimer.schedule(
+                () -> executor.execute(() -> {
+                    for (int index = 0; index < batchSize; index++) {
+                        ReactorGraphExecution<PayloadType> execution = graphExecutions.get(index);
+                        if (execution == null) {
+                            break;
+                        }
+                        expireExecution(execution, payloads.get(index), timeoutMs);
+                    }
+                }),
+                timeoutMs,
+                TimeUnit.MILLISECONDS);
+
+        for (int index = 0; index < batchSize; index++) {
+            PayloadType payload = payloads.get(index);
+
+            ReactorGraphExecution<PayloadType> execution;
+            try {
+                execution = executionBuilder.build(plan, timeoutMs);
+            } catch (RuntimeException exc) {
+                int notSubmitted = batchSize - index;
+                statistics.getRunningTotal().add(-notSubmitted);
+                statistics.getRunningWithoutResult().add(-notSubmitted);
+                admissionController.release(quota, notSubmitted);
+                releasePendingRequests(notSubmitted);
+
+                cancelTimeoutOnCompletion(batchExecution(executions), timeout);
+                throw exc;
+            }
+
+            ProfiledCall payloadCall = profiler.profiledCall(plan.getPayloadProfilingName()).start();
+
+            /**
+             * Single bookkeeping callback per future of each execution
+             */
+            execution.getResultFuture().handleAsync((result, thr) -> {
+                statistics.getRunningWithoutResult().decrement();
+                if (thr == null) {
+                    payloadCall.stop();
+                }
+                return null;
+            }, executor);
+
+            execution.getChainExecutionFuture().handleAsync((result, thr) -> {
+                statistics.getRunningTotal().decrement();
+                admissionController.release(quota);
+                releasePendingRequest();
+                return null;
+            }, executor);
+
+            execution.getSubmitFuture().complete(payload);
+
+            graphExecutions.set(index, execution);
+            executions.add(Execution.<PayloadType>builder()
+                    .chainExecutionFuture(execution.getChainExecutionFuture())
+                    .resultFuture(execution.getResultFuture())
+                    .debugProcessingVertexGraphState(execution.getDebugProcessingVertexGraphState())
+                    .build());
+        }
+
+        BatchExecution<PayloadType> batchExecution = batchExecution(executions);
+        cancelTimeoutOnCompletion(batchExecution, timeout);
+        return batchExecution;
+    }
+
+    private void cancelTimeoutOnCompletion(BatchExecution<?> batchExecution, HashedWheelTimer.Timeout timeout) {
+        batchExecution.getChainExecutionFuture().handleAsync((result, thr) -> {
+            timeout.cancel();
+            return null;
+        }, executor);
+    }
+
+    private static <PayloadType> BatchExecution<PayloadType> batchExecution(List<Execution<PayloadType>> executions) {
+        return new BatchExecution<>(
+                Collections.unmodifiableList(executions),
+                CompletableFuture.allOf(executions.stream()
+                        .map(Execution::getResultFuture)
+                        .toArray(CompletableFuture[]::new)),
+                CompletableFuture.allOf(executions.stream()
+                        .map(Execution::getChainExecutionFuture)
+                        .toArray(CompletableFuture[]::new)));
+    }
+
+    /**
+     * Submit request that already acquired admission permit.
+     * Permit is released when chain execution completes.
+     */
+    private <PayloadType> Execution<PayloadType> submitAdmitted(PayloadType payload,
+                                                                long timeoutMs,
+                                                                AdmissionController.Quota quota) {
+        Execution<PayloadType> execution;
+        try {
+            pendingRequestCount.increment();
+            if (isClosed) {
+                releasePendingRequest();
+                throw new IllegalStateException(String.format(
+                        "CompletableReactor is closed. Payload %s is discarded.", payload));
+            }
+            execution = internalSubmit(payload, timeoutMs);
+        } catch (RuntimeException exc) {
+            admissionController.release(quota);
+            throw exc;
+        }
+
+        execution.getChainExecutionFuture().handleAsync((result, thr) -> {
+            admissionController.release(quota);
+            return null;
+        }, executor);
+
+        return execution;
+    }
+
+    private void releasePendingRequest() {
+        releasePendingRequests(1);
+    }
+
+    private void releasePendingRequests(int count) {
+        pendingRequestCount.add(-count);
+        if (isClosed && pendingRequestCount.sum() == 0) {
+            closeFuture.complete(null);
         }
-        return internalSubmit(payload, timeoutMs);
     }
 
     /**
-     * Submit request without checking whether reactor closed or not.
-     * If maxPendingRequestCount limit is reached prints error message and accepts request.
+     * Submit request without checking whether reactor closed or not and without admission control.
+     * Pending request should be already counted by caller and will be released when chain execution completes.
      *
      * @param payload
      * @param timeoutMs
@@ -351,26 +788,31 @@ public class CompletableReactor implements AutoCloseable {
      * @return
      */
     private <PayloadType> Execution<PayloadType> internalSubmit(PayloadType payload, long timeoutMs) {
-
-        if (pendingRequestCount.get() > maxPendingRequestCount.get()) {
-            log.error("Max pending request count is reached. Request will be accepted but there is a possibility of " +
-                    "OOM or something wrong with back pressure logic in client code.\n" +
-                    "Use trySubmit method that supports back pressure or correctly handle the load on " +
-                    "CompletableReactor on client side.");
+        try {
+            return internalSubmitPendingRequest(payload, timeoutMs);
+        } catch (RuntimeException exc) {
+            releasePendingRequest();
+            throw exc;
         }
+    }
 
-        ProfiledCall payloadCall = profiler.profiledCall(ProfilerNames.PAYLOAD + payload.getClass().getSimpleName())
-                .start();
+    private <PayloadType> Execution<PayloadType> internalSubmitPendingRequest(PayloadType payload, long timeoutMs) {
 
         /**
          * Inline graph execution scenario
          */
-        Function inlineGraphFunction = inlinePayloadGraphs.get(payload.getClass());
-        if (inlineGraphFunction != null) {
+        InlineGraph inlineGraph = inlinePayloadGraphs.get(payload.getClass());
+        if (inlineGraph != null) {
+            ProfiledCall payloadCall = profiler.profiledCall(inlineGraph.payloadProfilingName).start();
+
             CompletableFuture<PayloadType> inlineGraphResult =
-                    (CompletableFuture<PayloadType>) inlineGraphFunction.apply(payload);
+                    (CompletableFuture<PayloadType>) inlineGraph.function.apply(payload);
 
-            inlineGraphResult.thenAcceptAsync(any -> payloadCall.stop());
+            inlineGraphResult.thenAcceptAsync(any -> payloadCall.stop(), executor);
+            inlineGraphResult.handleAsync((result, thr) -> {
+                releasePendingRequest();
+                return null;
+            }, executor);
 
             return Execution.<PayloadType>builder()
                     .chainExecutionFuture(inlineGraphResult.thenAccept(any -> {/* do nothing */}))
@@ -383,35 +825,31 @@ public class CompletableReactor implements AutoCloseable {
          * Standard graph execution scenario
          */
 
-        ReactorGraph<PayloadType> graph = payloadGraphs.get(payload.getClass());
-        if (graph == null) {
+        ReactorGraphExecutionPlan<PayloadType> plan =
+                (ReactorGraphExecutionPlan<PayloadType>) payloadGraphs.get(payload.getClass());
+        if (plan == null) {
             throw new IllegalArgumentException(String.format(
                     "Rector graph not found for payload %s", payload.getClass()));
         }
 
-        ReactorGraphExecution<PayloadType> execution = executionBuilder.build(graph);
+        ProfiledCall payloadCall = profiler.profiledCall(plan.getPayloadProfilingName()).start();
 
+        ReactorGraphExecution<PayloadType> execution = executionBuilder.build(plan, timeoutMs);
 
-        /**
-         * Handling pending request counts
-         */
-        pendingRequestCount.incrementAndGet();
-
-        PayloadStatCounters statistics = payloadStatCounters.computeIfAbsent(
-                payload.getClass(),
-                key -> new PayloadStatCounters());
+        PayloadStatCounters statistics = payloadStatCounters(payload.getClass());
 
         statistics.getRunningTotal().increment();
+        statistics.getRunningWithoutResult().increment();
 
         execution.getChainExecutionFuture().handleAsync((result, thr) -> {
             statistics.getRunningTotal().decrement();
             return null;
-        });
+        }, executor);
 
         execution.getResultFuture().handleAsync((result, thr) -> {
             statistics.getRunningWithoutResult().decrement();
             return null;
-        });
+        }, executor);
 
         /**
          * Launching chain execution
@@ -420,42 +858,22 @@ public class CompletableReactor implements AutoCloseable {
 
 
         /**
-         * Add timeout protection to execution
+         * Add timeout protection to execution.
+         * Timer thread only dispatches expiration, futures are completed by executor
+         * so dependent stages do not delay timer ticks.
          */
-        ScheduledFuture<?> schedule = timeoutExecutorService.schedule(
-                () -> {
-                    /**
-                     * Temporary solution.
-                     * Should be fixed by completing all futures in processor chain
-                     */
-                    if (!execution.getResultFuture().isDone()) {
-                        execution.getResultFuture().completeExceptionally(
-                                new TimeoutException(
-                                        String.format(
-                                                "Response for payload %s took more than %d ms.", payload, timeoutMs)));
-                    }
-                    if (!execution.getChainExecutionFuture().isDone()) {
-                        execution.getChainExecutionFuture().completeExceptionally(
-                                new TimeoutException(
-                                        String.format(
-                                                "Execution of payload %s took more than %d ms.", payload, timeoutMs)));
-                    }
-                },
+        HashedWheelTimer.Timeout timeout = timeoutTimer.schedule(
+                () -> executor.execute(() -> expireExecution(execution, payload, timeoutMs)),
                 timeoutMs,
                 TimeUnit.MILLISECONDS);
 
-        execution.getChainExecutionFuture().thenRunAsync(() -> {
-            long count = pendingRequestCount.decrementAndGet();
-            if (count == 0) {
-                synchronized (pendingRequestCount) {
-                    pendingRequestCount.notifyAll();
-                }
-            }
-
-            schedule.cancel(false);
-        });
+        execution.getChainExecutionFuture().handleAsync((result, thr) -> {
+            timeout.cancel();
+            releasePendingRequest();
+            return null;
+        }, executor);
 
-        execution.getResultFuture().thenRunAsync(payloadCall::stop);
+        execution.getResultFuture().thenRunAsync(payloadCall::stop, executor);
 
         return Execution.<PayloadType>builder()
                 .chainExecutionFuture(execution.getChainExecutionFuture())
@@ -464,6 +882,40 @@ public class CompletableReactor implements AutoCloseable {
                 .build();
     }
 
+    /**
+     * Completion of execution result skips downstream vertices of the graph and cancels in-flight handlers
+     * declared by {@link ru.fix.completable.reactor.runtime.dsl.ProcessorDescriptionBuilder#withCancellation()}.
+     * Results of other in-flight handlers are ignored.
+     * Detached processors are not cancelled, so chain execution future is completed too.
+     */
+    private static void expireExecution(ReactorGraphExecution<?> execution, Object payload, long timeoutMs) {
+        if (!execution.getResultFuture().isDone()) {
+            execution.getResultFuture().completeExceptionally(
+                    new TimeoutException(
+                            String.format(
+                                    "Response for payload %s took more than %d ms.", payload, timeoutMs)));
+        }
+        if (!execution.getChainExecutionFuture().isDone()) {
+            execution.getChainExecutionFuture().completeExceptionally(
+                    new TimeoutException(
+                            String.format(
+                                    "Execution of payload %s took more than %d ms.", payload, timeoutMs)));
+        }
+    }
+
+    /**
+     * Stops accepting new requests.
+     *
+     * @return future that completes when all pending requests are complete
+     */
+    public CompletableFuture<Void> closeAsync() {
+        isClosed = true;
+        if (pendingRequestCount.sum() == 0) {
+            closeFuture.complete(null);
+        }
+        return closeFuture;
+    }
+
     /**
      * Blocks until all pending request is complete or {@link #getCloseTimeoutMs()} time elapsed
      *
@@ -471,20 +923,12 @@ public class CompletableReactor implements AutoCloseable {
      */
     @Override
     public void close() throws Exception {
-        isClosed.set(true);
-
-        if (pendingRequestCount.get() > 0) {
-            long deadline = System.currentTimeMillis() + closeTimeoutMs.get();
-
-            synchronized (pendingRequestCount) {
-                while (pendingRequestCount.get() > 0) {
-                    long timeoutLeft = deadline - System.currentTimeMillis();
-                    if (timeoutLeft <= 0) {
-                        break;
-                    }
-                    pendingRequestCount.wait(timeoutLeft);
-                }
-            }
+        try {
+            closeAsync().get(closeTimeoutMs.get(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exc) {
+            log.warn("Reactor closed with {} pending requests after {} ms timeout.",
+                    pendingRequestCount.sum(),
+                    closeTimeoutMs.get());
         }
     }
 }
\ No newline at end of file
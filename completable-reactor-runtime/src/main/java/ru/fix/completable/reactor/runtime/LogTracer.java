@@ -2,7 +2,7 @@ package ru.fix.completable.reactor.runtime;
 
 import lombok.extern.slf4j.Slf4j;
 import ru.fix.completable.reactor.api.ReactorGraphModel;
-import ru.fix.completable.reactor.runtime.debug.ToStringDebugSerializer;
+import ru.fix.completable.reactor.runtime.debug.ReflectionDebugSerializer;
 import ru.fix.completable.reactor.runtime.tracing.Tracer;
 
 /**
@@ -11,11 +11,15 @@ import ru.fix.completable.reactor.runtime.tracing.Tracer;
 @Slf4j
 public abstract class LogTracer implements Tracer {
 
-    final ToStringDebugSerializer serializer = new ToStringDebugSerializer();
+    /**
+     * Tracer is enabled for selected payloads only, so each traced step is dumped without rate limit
+     */
+    final ReflectionDebugSerializer serializer = new ReflectionDebugSerializer()
+            .setMaxDumpsPerSecond(Integer.MAX_VALUE);
 
     @Override
     public Object beforeHandle(ReactorGraphModel.Identity identity, Object payload) {
-        log.info("beforeHandle {}: {}", identity, serializer.dumpObject(payload));
+        log.info("beforeHandle {}: {}", identity, serializer.lazyDump(payload));
         return null;
     }
 
@@ -24,7 +28,7 @@ public abstract class LogTracer implements Tracer {
                             ReactorGraphModel.Identity identity,
                             Object handlerResult,
                             Throwable throwable) {
-        log.info("afterHandle {}: {}", identity, serializer.dumpObject(handlerResult), throwable);
+        log.info("afterHandle {}: {}", identity, serializer.lazyDump(handlerResult), throwable);
     }
 
     @Override
@@ -33,8 +37,8 @@ public abstract class LogTracer implements Tracer {
                               Object handleResult) {
         log.info("beforeMerge {}: {}, {}",
                 identity,
-                serializer.dumpObject(payload),
-                serializer.dumpObject(handleResult));
+                serializer.lazyDump(payload),
+                serializer.lazyDump(handleResult));
         return null;
     }
 
@@ -42,6 +46,6 @@ public abstract class LogTracer implements Tracer {
     public void afterMerger(Object tracingMarker,
                             ReactorGraphModel.Identity identity,
                             Object payload) {
-        log.info("afterMerger {}: {}", identity, serializer.dumpObject(payload));
+        log.info("afterMerger {}: {}", identity, serializer.lazyDump(payload));
     }
 }
@@ -14,9 +14,12 @@ import ru.fix.completable.reactor.runtime.validators.TerminalVertexExistValidato
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 /**
  * Provides fluent API for building {@link ReactorGraph}
@@ -29,6 +32,11 @@ public class ReactorGraphBuilder {
     final List<GraphValidator> graphValidators = new ArrayList<>();
     final Object graphConfiguration;
 
+    /**
+     * Executor for graphs built by this builder. NULL if reactor executor should be used.
+     */
+    Executor executor;
+
     public ReactorGraphBuilder(Object graphConfiguration) {
         this.graphConfiguration = graphConfiguration;
 
@@ -36,11 +44,25 @@ public class ReactorGraphBuilder {
         graphValidators.add(new ProcessorsHaveIncomingFlowsValidator());
     }
 
+    /**
+     * Override reactor executor for graphs that will be built by this builder after this method invocation.
+     * All asynchronous stages of these graphs execution will run on given executor.
+     *
+     * @param executor executor or NULL to use reactor executor
+     */
+    public ReactorGraphBuilder setExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
     /**
      * Build ReactorGraph for given payload
      */
     public <PayloadType> PayloadBuilder<PayloadType> payload(Class<PayloadType> payloadClass) {
-        val builderContext = new BuilderContext<PayloadType>(graphConfiguration, new CRReactorGraph<>(payloadClass));
+        val graph = new CRReactorGraph<PayloadType>(payloadClass);
+        graph.setExecutor(executor);
+
+        val builderContext = new BuilderContext<PayloadType>(graphConfiguration, graph);
         builderContext.getGraphValidators().addAll(graphValidators);
 
         builderContext.getGraph().getStartPoint().setBuilderPayloadSource(
@@ -55,16 +77,59 @@ public class ReactorGraphBuilder {
      */
     public ProcessorDescriptionBuilder processor() {
         return new ProcessorDescriptionBuilder() {
+            boolean isInline = false;
+            boolean isCancellable = false;
+            Duration timeout;
+            Enum timeoutStatus;
+
+            @Override
+            public ProcessorDescriptionBuilder inline() {
+                isInline = true;
+                return this;
+            }
+
+            @Override
+            public ProcessorDescriptionBuilder withTimeout(Duration timeout) {
+                this.timeout = validateTimeout(timeout);
+                this.timeoutStatus = null;
+                return this;
+            }
+
+            @Override
+            public ProcessorDescriptionBuilder withTimeout(Duration timeout, Enum timeoutStatus) {
+                this.timeout = validateTimeout(timeout);
+                this.timeoutStatus = Objects.requireNonNull(timeoutStatus);
+                return this;
+            }
+
+            @Override
+            public ProcessorDescriptionBuilder withCancellation() {
+                isCancellable = true;
+                return this;
+            }
+
             @Override
             public <PayloadType> ru.fix.completable.reactor.runtime.dsl.HandlerBuilder0<PayloadType> forPayload(
                     Class<PayloadType> payloadType) {
 
                 val processorDescription = new CRProcessorDescription<PayloadType>();
+                processorDescription.setInline(isInline);
+                processorDescription.setCancellable(isCancellable);
+                processorDescription.setTimeout(timeout);
+                processorDescription.setTimeoutStatus(timeoutStatus);
                 return new CRHandlerBuilder0<>(processorDescription);
             }
         };
     }
 
+    private static Duration validateTimeout(Duration timeout) {
+        Objects.requireNonNull(timeout);
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout should be positive, but was " + timeout);
+        }
+        return timeout;
+    }
+
     /**
      * Build MergePointDescription
      */
@@ -85,6 +150,23 @@ public class ReactorGraphBuilder {
             Class<SubgraphPayloadType> subgraphPayload) {
 
         return new SubgraphBuilder<SubgraphPayloadType>() {
+            Duration timeout;
+            Enum timeoutStatus;
+
+            @Override
+            public SubgraphBuilder<SubgraphPayloadType> withTimeout(Duration timeout) {
+                this.timeout = validateTimeout(timeout);
+                this.timeoutStatus = null;
+                return this;
+            }
+
+            @Override
+            public SubgraphBuilder<SubgraphPayloadType> withTimeout(Duration timeout, Enum timeoutStatus) {
+                this.timeout = validateTimeout(timeout);
+                this.timeoutStatus = Objects.requireNonNull(timeoutStatus);
+                return this;
+            }
+
             @Override
             public <PayloadType> SubgraphHandlerBuilder<SubgraphPayloadType, PayloadType> forPayload(
                     Class<PayloadType> payloadType) {
@@ -93,6 +175,8 @@ public class ReactorGraphBuilder {
                 subgraphDescription.setBuildSource(ReactorReflector.getMethodInvocationPoint().orElse(null));
 
                 subgraphDescription.setSubgraphTitle(subgraphPayload.getSimpleName());
+                subgraphDescription.setTimeout(timeout);
+                subgraphDescription.setTimeoutStatus(timeoutStatus);
 
                 Optional.ofNullable(subgraphPayload.getAnnotation(Reactored.class))
                         .map(Reactored::value)
@@ -0,0 +1,374 @@
+package ru.fix.completable.reactor.runtime.admission;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds amount of requests admitted for execution.
+ * <p>
+ * Request acquires two permits: global one and one from {@link Quota} of its payload type.
+ * Permits are released when request execution completes.
+ * Asynchronous acquisition does not block thread: request waits in a queue
+ * and is admitted by thread that releases permit.
+ * Waiting requests are admitted in FIFO order, except that request which quota is exhausted
+ * does not prevent admission of following requests with other quotas.
+ * Each quota keeps own queue of waiting requests, so admission of single request costs
+ * O(number of quotas with waiting requests) regardless of queue length.
+ * New request is admitted without queueing only if there are no waiting requests.
+ */
+public class AdmissionController {
+
+    /**
+     * Per payload type limit of admitted requests.
+     * Quota should be used with single admission controller.
+     */
+    public static class Quota {
+        private final AtomicLong admitted = new AtomicLong();
+        private volatile long limit = Long.MAX_VALUE;
+
+        /**
+         * Requests waiting for permit of this quota in FIFO order, guarded by {@link AdmissionController#lock}
+         */
+        private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+
+        /**
+         * Controller that queued requests of this quota, NULL if there were no queued requests
+         */
+        private volatile AdmissionController controller;
+
+        public long getAdmitted() {
+            return admitted.get();
+        }
+
+        public long getLimit() {
+            return limit;
+        }
+
+        public Quota setLimit(long limit) {
+            this.limit = limit;
+            AdmissionController controller = this.controller;
+            if (controller != null) {
+                controller.drainWaiters();
+            }
+            return this;
+        }
+    }
+
+    private static class Waiter {
+        final Quota quota;
+        /**
+         * Order of waiter among waiters of all quotas
+         */
+        final long sequence;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Waiter(Quota quota, long sequence) {
+            this.quota = quota;
+            this.sequence = sequence;
+        }
+    }
+
+    private enum AcquireResult {ACQUIRED, QUOTA_EXCEEDED, LIMIT_EXCEEDED}
+
+    private final AtomicLong admitted = new AtomicLong();
+    private volatile long limit = Long.MAX_VALUE;
+
+    private volatile OverloadPolicy overloadPolicy = OverloadPolicy.QUEUE;
+    private volatile int maxQueueSize = 10_000;
+
+    /**
+     * Guards waiter queues of quotas, {@link #waitingQuotas} and {@link #nextSequence}.
+     * Not used by permit acquisition and release while there are no waiting requests.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * Quotas with not empty waiter queue
+     */
+    private final Set<Quota> waitingQuotas = new LinkedHashSet<>();
+
+    private long nextSequence;
+
+    /**
+     * Number of waiting requests, read without lock by {@link #release(Quota, int)}
+     */
+    private final AtomicInteger queueSize = new AtomicInteger();
+
+    public long getAdmitted() {
+        return admitted.get();
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+
+    public AdmissionController setLimit(long limit) {
+        this.limit = limit;
+        drainWaiters();
+        return this;
+    }
+
+    public OverloadPolicy getOverloadPolicy() {
+        return overloadPolicy;
+    }
+
+    public AdmissionController setOverloadPolicy(OverloadPolicy overloadPolicy) {
+        this.overloadPolicy = overloadPolicy;
+        return this;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public AdmissionController setMaxQueueSize(int maxQueueSize) {
+        this.maxQueueSize = maxQueueSize;
+        return this;
+    }
+
+    public int getQueueSize() {
+        return queueSize.get();
+    }
+
+    /**
+     * @return true if permit acquired, false if global or quota limit is reached
+     */
+    public boolean tryAcquire(Quota quota) {
+        return tryAcquirePermit(quota) == AcquireResult.ACQUIRED;
+    }
+
+    /**
+     * Acquires permit even if limits are reached.
+     *
+     * @return false if global or quota limit was exceeded by this acquisition
+     */
+    public boolean forceAcquire(Quota quota) {
+        return forceAcquire(quota, 1);
+    }
+
+    /**
+     * Acquires several permits at once even if limits are reached.
+     *
+     * @return false if global or quota limit was exceeded by this acquisition
+     */
+    public boolean forceAcquire(Quota quota, int permits) {
+        boolean withinQuota = quota.admitted.addAndGet(permits) <= quota.limit;
+        boolean withinLimit = admitted.addAndGet(permits) <= limit;
+        return withinQuota && withinLimit;
+    }
+
+    /**
+     * Acquire permit without blocking a thread.
+     *
+     * @return future that completes when permit is acquired
+     * or completes with {@link RejectedExecutionException} according to {@link #getOverloadPolicy()}.
+     * Cancellation of the future removes request from admission queue.
+     * If permit was acquired concurrently with cancellation, it is released.
+     */
+    public CompletableFuture<Void> acquireAsync(Quota quota) {
+        OverloadPolicy policy = this.overloadPolicy;
+
+        if (policy == OverloadPolicy.REJECT) {
+            return tryAcquire(quota) ? CompletableFuture.completedFuture(null) : rejected("Admission limit is reached.");
+        }
+
+        /**
+         * Waiting requests are admitted first, new request takes permit directly only if nobody waits
+         */
+        if (queueSize.get() == 0 && tryAcquire(quota)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Waiter waiter;
+        Waiter shedWaiter = null;
+        synchronized (lock) {
+            if (queueSize.get() < maxQueueSize
+                    || policy == OverloadPolicy.SHED && (shedWaiter = pollOldestWaiter()) != null) {
+                waiter = enqueue(quota);
+            } else {
+                waiter = null;
+            }
+        }
+
+        if (shedWaiter != null) {
+            shedWaiter.future.completeExceptionally(new RejectedExecutionException(
+                    "Request is shed from admission queue in favour of newer request."));
+        }
+        if (waiter == null) {
+            return rejected("Admission limit is reached and admission queue is full.");
+        }
+
+        /**
+         * Cancelled waiter leaves the queue immediately instead of waiting for a released permit
+         */
+        waiter.future.whenComplete((any, thr) -> {
+            if (waiter.future.isCancelled()) {
+                synchronized (lock) {
+                    if (waiter.quota.waiters.remove(waiter)) {
+                        dequeued(waiter.quota);
+                    }
+                }
+            }
+        });
+
+        /**
+         * Permit could be released before enqueueing
+         */
+        drainWaiters();
+
+        return waiter.future;
+    }
+
+    public void release(Quota quota) {
+        release(quota, 1);
+    }
+
+    public void release(Quota quota, int permits) {
+        quota.admitted.addAndGet(-permits);
+        admitted.addAndGet(-permits);
+        drainWaiters();
+    }
+
+    private AcquireResult tryAcquirePermit(Quota quota) {
+        long quotaAdmitted;
+        do {
+            quotaAdmitted = quota.admitted.get();
+            if (quotaAdmitted >= quota.limit) {
+                return AcquireResult.QUOTA_EXCEEDED;
+            }
+        } while (!quota.admitted.compareAndSet(quotaAdmitted, quotaAdmitted + 1));
+
+        long globalAdmitted;
+        do {
+            globalAdmitted = admitted.get();
+            if (globalAdmitted >= limit) {
+                quota.admitted.decrementAndGet();
+                return AcquireResult.LIMIT_EXCEEDED;
+            }
+        } while (!admitted.compareAndSet(globalAdmitted, globalAdmitted + 1));
+
+        return AcquireResult.ACQUIRED;
+    }
+
+    private void releasePermit(Quota quota) {
+        quota.admitted.decrementAndGet();
+        admitted.decrementAndGet();
+    }
+
+    /**
+     * Should be invoked under {@link #lock}
+     */
+    private Waiter enqueue(Quota quota) {
+        Waiter waiter = new Waiter(quota, nextSequence++);
+        quota.controller = this;
+        quota.waiters.add(waiter);
+        waitingQuotas.add(quota);
+        queueSize.incrementAndGet();
+        return waiter;
+    }
+
+    /**
+     * Should be invoked under {@link #lock} after removal of waiter from quota queue
+     */
+    private void dequeued(Quota quota) {
+        if (quota.waiters.isEmpty()) {
+            waitingQuotas.remove(quota);
+        }
+        queueSize.decrementAndGet();
+    }
+
+    /**
+     * Removes the oldest waiting request. Should be invoked under {@link #lock}
+     *
+     * @return removed waiter or NULL if there are no waiting requests
+     */
+    private Waiter pollOldestWaiter() {
+        Quota oldest = null;
+        for (Quota quota : waitingQuotas) {
+            if (oldest == null || quota.waiters.peek().sequence < oldest.waiters.peek().sequence) {
+                oldest = quota;
+            }
+        }
+        if (oldest == null) {
+            return null;
+        }
+        Waiter waiter = oldest.waiters.poll();
+        dequeued(oldest);
+        return waiter;
+    }
+
+    /**
+     * Admits waiting requests while there are free permits.
+     * The oldest waiter among quotas that are not exhausted is admitted first.
+     * Futures of admitted waiters are completed outside of the lock.
+     */
+    private void drainWaiters() {
+        while (queueSize.get() > 0) {
+            List<Waiter> admittedWaiters = null;
+
+            synchronized (lock) {
+                while (true) {
+                    Quota next = null;
+                    for (Quota quota : waitingQuotas) {
+                        if (quota.admitted.get() < quota.limit
+                                && (next == null || quota.waiters.peek().sequence < next.waiters.peek().sequence)) {
+                            next = quota;
+                        }
+                    }
+                    if (next == null) {
+                        break;
+                    }
+
+                    AcquireResult result = tryAcquirePermit(next);
+                    if (result == AcquireResult.LIMIT_EXCEEDED) {
+                        break;
+                    }
+                    if (result == AcquireResult.QUOTA_EXCEEDED) {
+                        /**
+                         * Quota was exhausted concurrently, it is skipped by the next selection
+                         */
+                        continue;
+                    }
+
+                    Waiter waiter = next.waiters.poll();
+                    dequeued(next);
+                    if (admittedWaiters == null) {
+                        admittedWaiters = new ArrayList<>();
+                    }
+                    admittedWaiters.add(waiter);
+                }
+            }
+
+            if (admittedWaiters == null) {
+                return;
+            }
+
+            boolean permitReleased = false;
+            for (Waiter waiter : admittedWaiters) {
+                if (!waiter.future.complete(null)) {
+                    /**
+                     * Waiter was cancelled by client
+                     */
+                    releasePermit(waiter.quota);
+                    permitReleased = true;
+                }
+            }
+            if (!permitReleased) {
+                return;
+            }
+        }
+    }
+
+    private static CompletableFuture<Void> rejected(String message) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        result.completeExceptionally(new RejectedExecutionException(message));
+        return result;
+    }
+}
@@ -0,0 +1,21 @@
+package ru.fix.completable.reactor.runtime.admission;
+
+/**
+ * Defines how asynchronous submission behaves when there is no free admission permit.
+ */
+public enum OverloadPolicy {
+    /**
+     * Request is rejected immediately.
+     */
+    REJECT,
+    /**
+     * Request waits in bounded queue for free permit.
+     * If queue is full new request is rejected.
+     */
+    QUEUE,
+    /**
+     * Request waits in bounded queue for free permit.
+     * If queue is full the oldest waiting request is rejected in favour of the new one.
+     */
+    SHED
+}
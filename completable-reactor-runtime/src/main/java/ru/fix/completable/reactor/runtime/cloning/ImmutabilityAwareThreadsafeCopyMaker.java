@@ -0,0 +1,79 @@
+package ru.fix.completable.reactor.runtime.cloning;
+
+import com.rits.cloning.Cloner;
+
+import java.lang.reflect.Array;
+
+/**
+ * Copy maker that selects copy strategy once per class.
+ * <ul>
+ * <li>Immutable objects (see {@link ImmutableTypes}) are not copied</li>
+ * <li>Primitive arrays and arrays of immutable objects are copied shallowly</li>
+ * <li>Other objects including JDK collections are deeply cloned,
+ * immutable objects referenced by them are not copied</li>
+ * </ul>
+ */
+public class ImmutabilityAwareThreadsafeCopyMaker implements ThreadsafeCopyMaker {
+
+    @FunctionalInterface
+    interface CopyStrategy {
+        Object copy(Object object);
+    }
+
+    private static final CopyStrategy IDENTITY = object -> object;
+
+    private final ClassValue<Boolean> immutableTypes = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return ImmutableTypes.isImmutable(type);
+        }
+    };
+
+    /**
+     * cloner is thread-safe
+     */
+    private final Cloner cloner = new Cloner() {
+        @Override
+        protected boolean considerImmutable(Class<?> type) {
+            return immutableTypes.get(type);
+        }
+    };
+
+    private final ClassValue<CopyStrategy> copyStrategies = new ClassValue<CopyStrategy>() {
+        @Override
+        protected CopyStrategy computeValue(Class<?> type) {
+            return selectCopyStrategy(type);
+        }
+    };
+
+    private CopyStrategy selectCopyStrategy(Class<?> type) {
+        if (immutableTypes.get(type)) {
+            return IDENTITY;
+        }
+
+        if (type.isArray()) {
+            Class<?> componentType = type.getComponentType();
+            if (componentType.isPrimitive() || immutableTypes.get(componentType)) {
+                return ImmutabilityAwareThreadsafeCopyMaker::shallowArrayCopy;
+            }
+        }
+
+        return cloner::deepClone;
+    }
+
+    private static Object shallowArrayCopy(Object array) {
+        int length = Array.getLength(array);
+        Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+        System.arraycopy(array, 0, copy, 0, length);
+        return copy;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T makeThreadsafeCopy(T object) {
+        if (object == null) {
+            return null;
+        }
+        return (T) copyStrategies.get(object.getClass()).copy(object);
+    }
+}
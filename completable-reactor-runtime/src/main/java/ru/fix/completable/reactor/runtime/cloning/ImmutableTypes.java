@@ -0,0 +1,124 @@
+package ru.fix.completable.reactor.runtime.cloning;
+
+import ru.fix.completable.reactor.api.Immutable;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.*;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Classifies types which instances could be shared between threads without copying.
+ * <p>
+ * Type is immutable if it is one of
+ * <ul>
+ * <li>primitive, enum or known immutable JDK type</li>
+ * <li>type annotated with {@link Immutable} or having such superclass or interface</li>
+ * <li>final class which fields including inherited ones are final and have immutable types</li>
+ * </ul>
+ * Classification is reflective and is intended to be cached per class.
+ */
+public final class ImmutableTypes {
+
+    private static final Set<Class<?>> KNOWN_IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+            String.class,
+            Boolean.class,
+            Byte.class,
+            Character.class,
+            Short.class,
+            Integer.class,
+            Long.class,
+            Float.class,
+            Double.class,
+            Void.class,
+            BigInteger.class,
+            BigDecimal.class,
+            UUID.class,
+            Class.class,
+            Locale.class,
+            Pattern.class,
+            Currency.class,
+            Instant.class,
+            Duration.class,
+            Period.class,
+            LocalDate.class,
+            LocalTime.class,
+            LocalDateTime.class,
+            OffsetTime.class,
+            OffsetDateTime.class,
+            ZonedDateTime.class,
+            ZoneOffset.class,
+            Year.class,
+            YearMonth.class,
+            MonthDay.class,
+            OptionalInt.class,
+            OptionalLong.class,
+            OptionalDouble.class,
+            Collections.emptyList().getClass(),
+            Collections.emptySet().getClass(),
+            Collections.emptyMap().getClass()
+    ));
+
+    private ImmutableTypes() {
+    }
+
+    public static boolean isImmutable(Class<?> type) {
+        return isImmutable(type, new HashSet<>());
+    }
+
+    /**
+     * @param visiting types which classification is in progress.
+     *                 Cyclic reference to such type does not make type mutable.
+     */
+    private static boolean isImmutable(Class<?> type, Set<Class<?>> visiting) {
+        if (type.isPrimitive()
+                || type.isEnum()
+                || Enum.class.isAssignableFrom(type)
+                || KNOWN_IMMUTABLE_TYPES.contains(type)
+                || ZoneId.class.isAssignableFrom(type)
+                || isAnnotatedImmutable(type)) {
+            return true;
+        }
+
+        if (type.isArray() || type.isInterface() || !Modifier.isFinal(type.getModifiers())) {
+            return false;
+        }
+
+        if (!visiting.add(type)) {
+            return true;
+        }
+
+        for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                if (!Modifier.isFinal(field.getModifiers()) || !isImmutable(field.getType(), visiting)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if type, one of its superclasses or one of interfaces they implement is annotated with
+     * {@link Immutable}
+     */
+    private static boolean isAnnotatedImmutable(Class<?> type) {
+        for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            if (clazz.isAnnotationPresent(Immutable.class)) {
+                return true;
+            }
+            for (Class<?> implementedInterface : clazz.getInterfaces()) {
+                if (isAnnotatedImmutable(implementedInterface)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
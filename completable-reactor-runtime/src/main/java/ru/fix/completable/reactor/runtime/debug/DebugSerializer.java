@@ -5,4 +5,37 @@ package ru.fix.completable.reactor.runtime.debug;
  */
 public interface DebugSerializer {
     String dumpObject(Object object);
+
+    /**
+     * Deferred dump for log arguments. Object is dumped on first {@link Object#toString()} invocation,
+     * e.g. only when logger level is enabled.
+     *
+     * <pre><code>
+     * log.error("Failed to handle payload {}", debugSerializer.lazyDump(payload));
+     * </code></pre>
+     */
+    default Object lazyDump(Object object) {
+        return new LazyDump(this, object);
+    }
+
+    final class LazyDump {
+        private final DebugSerializer serializer;
+        private final Object object;
+        private String dump;
+
+        LazyDump(DebugSerializer serializer, Object object) {
+            this.serializer = serializer;
+            this.object = object;
+        }
+
+        @Override
+        public String toString() {
+            String result = dump;
+            if (result == null) {
+                result = serializer.dumpObject(object);
+                dump = result;
+            }
+            return result;
+        }
+    }
 }
@@ -0,0 +1,223 @@
+package ru.fix.completable.reactor.runtime.debug;
+
+import ru.fix.completable.reactor.runtime.cloning.ImmutableTypes;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded reflection based object dumping.
+ * <ul>
+ * <li>Object graph is dumped up to {@link #setMaxDepth(int)} levels, cyclic references are not followed</li>
+ * <li>Only first {@link #setMaxElements(int)} elements of arrays, collections and maps are dumped</li>
+ * <li>Dump is truncated to {@link #setMaxLength(int)} characters</li>
+ * <li>Only {@link #setMaxDumpsPerSecond(int)} dumps per second are made,
+ * other objects are represented by class name and identity hash code</li>
+ * </ul>
+ * Limits protect reactor from spending CPU and memory on huge payload dumps
+ * when failure of downstream service leads to error logging for each request.
+ * <p>
+ * Classes from {@code java.*} packages except arrays, collections and maps are dumped by {@link Object#toString()}.
+ */
+public class ReflectionDebugSerializer implements DebugSerializer {
+
+    private static final String TRUNCATION_MARK = "...";
+
+    private static final ClassValue<Field[]> fields = new ClassValue<Field[]>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            List<Field> result = new ArrayList<>();
+            for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                        continue;
+                    }
+                    try {
+                        field.setAccessible(true);
+                        result.add(field);
+                    } catch (Exception exc) {
+                        /**
+                         * Inaccessible field is not dumped
+                         */
+                    }
+                }
+            }
+            return result.toArray(new Field[result.size()]);
+        }
+    };
+
+    private static final ClassValue<Boolean> toStringTypes = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return ImmutableTypes.isImmutable(type)
+                    || !type.isArray()
+                    && !Collection.class.isAssignableFrom(type)
+                    && !Map.class.isAssignableFrom(type)
+                    && type.getName().startsWith("java.");
+        }
+    };
+
+    private volatile int maxDepth = 4;
+    private volatile int maxElements = 16;
+    private volatile int maxLength = 2048;
+    private volatile int maxDumpsPerSecond = 100;
+
+    private final AtomicLong rateLimitWindow = new AtomicLong();
+    private final AtomicInteger rateLimitWindowDumps = new AtomicInteger();
+
+    public ReflectionDebugSerializer setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    public ReflectionDebugSerializer setMaxElements(int maxElements) {
+        this.maxElements = maxElements;
+        return this;
+    }
+
+    public ReflectionDebugSerializer setMaxLength(int maxLength) {
+        this.maxLength = maxLength;
+        return this;
+    }
+
+    public ReflectionDebugSerializer setMaxDumpsPerSecond(int maxDumpsPerSecond) {
+        this.maxDumpsPerSecond = maxDumpsPerSecond;
+        return this;
+    }
+
+    @Override
+    public String dumpObject(Object object) {
+        if (object == null) {
+            return "null";
+        }
+        if (!tryAcquireDump()) {
+            return identity(object) + " (dump suppressed)";
+        }
+
+        int lengthLimit = this.maxLength;
+        StringBuilder dump = new StringBuilder();
+        try {
+            dump(object, 0, dump, lengthLimit, Collections.newSetFromMap(new IdentityHashMap<>()));
+        } catch (Exception exc) {
+            dump.append("<dump failed: ").append(exc).append(">");
+        }
+
+        if (dump.length() > lengthLimit) {
+            dump.setLength(lengthLimit);
+            dump.append(TRUNCATION_MARK);
+        }
+        return dump.toString();
+    }
+
+    private boolean tryAcquireDump() {
+        long second = System.currentTimeMillis() / 1000;
+        long window = rateLimitWindow.get();
+        if (window != second && rateLimitWindow.compareAndSet(window, second)) {
+            rateLimitWindowDumps.set(0);
+        }
+        return rateLimitWindowDumps.incrementAndGet() <= maxDumpsPerSecond;
+    }
+
+    /**
+     * @param path objects that are dumped at current moment, used to detect cyclic references
+     */
+    private void dump(Object object, int depth, StringBuilder dump, int lengthLimit, Set<Object> path)
+            throws IllegalAccessException {
+
+        if (dump.length() > lengthLimit) {
+            return;
+        }
+        if (object == null) {
+            dump.append("null");
+            return;
+        }
+
+        Class<?> type = object.getClass();
+        if (toStringTypes.get(type)) {
+            String value = String.valueOf(object);
+            int available = lengthLimit - dump.length() + 1;
+            dump.append(value, 0, Math.min(value.length(), available));
+            return;
+        }
+
+        if (depth >= maxDepth || !path.add(object)) {
+            dump.append(identity(object));
+            return;
+        }
+
+        int elementLimit = this.maxElements;
+        if (type.isArray()) {
+            int length = Array.getLength(object);
+            dump.append('[');
+            for (int i = 0; i < length && i < elementLimit && dump.length() <= lengthLimit; i++) {
+                if (i > 0) {
+                    dump.append(", ");
+                }
+                dump(Array.get(object, i), depth + 1, dump, lengthLimit, path);
+            }
+            appendSkippedElements(length, elementLimit, dump);
+            dump.append(']');
+
+        } else if (object instanceof Collection) {
+            Collection<?> collection = (Collection<?>) object;
+            dump.append('[');
+            int index = 0;
+            for (Iterator<?> iterator = collection.iterator();
+                 iterator.hasNext() && index < elementLimit && dump.length() <= lengthLimit;
+                 index++) {
+                if (index > 0) {
+                    dump.append(", ");
+                }
+                dump(iterator.next(), depth + 1, dump, lengthLimit, path);
+            }
+            appendSkippedElements(collection.size(), elementLimit, dump);
+            dump.append(']');
+
+        } else if (object instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) object;
+            dump.append('{');
+            int index = 0;
+            for (Iterator<? extends Map.Entry<?, ?>> iterator = map.entrySet().iterator();
+                 iterator.hasNext() && index < elementLimit && dump.length() <= lengthLimit;
+                 index++) {
+                Map.Entry<?, ?> entry = iterator.next();
+                if (index > 0) {
+                    dump.append(", ");
+                }
+                dump(entry.getKey(), depth + 1, dump, lengthLimit, path);
+                dump.append('=');
+                dump(entry.getValue(), depth + 1, dump, lengthLimit, path);
+            }
+            appendSkippedElements(map.size(), elementLimit, dump);
+            dump.append('}');
+
+        } else {
+            dump.append(type.getSimpleName()).append('(');
+            Field[] typeFields = fields.get(type);
+            for (int i = 0; i < typeFields.length && dump.length() <= lengthLimit; i++) {
+                if (i > 0) {
+                    dump.append(", ");
+                }
+                dump.append(typeFields[i].getName()).append('=');
+                dump(typeFields[i].get(object), depth + 1, dump, lengthLimit, path);
+            }
+            dump.append(')');
+        }
+
+        path.remove(object);
+    }
+
+    private static void appendSkippedElements(int size, int elementLimit, StringBuilder dump) {
+        if (size > elementLimit) {
+            dump.append(", ...(").append(size - elementLimit).append(" more)");
+        }
+    }
+
+    private static String identity(Object object) {
+        return object.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(object));
+    }
+}
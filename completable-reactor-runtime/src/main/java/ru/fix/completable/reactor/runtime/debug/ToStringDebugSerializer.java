@@ -2,7 +2,7 @@ package ru.fix.completable.reactor.runtime.debug;
 
 /**
  * Plain {@link Object#toString()} delegation.
- * Should be replaced with reflection based object dumping.
+ * Dump is not limited in size, see {@link ReflectionDebugSerializer} for bounded object dumping.
  *
  * @author Kamil Asfandiyarov
  */
@@ -0,0 +1,19 @@
+package ru.fix.completable.reactor.runtime.dsl;
+
+public interface DoubleHandlerBuilder2<PayloadType, Arg2> {
+
+    <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            DoubleHandler2Args<Arg2, ProcessorResult> handler
+    );
+
+    <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            String title,
+            DoubleHandler2Args<Arg2, ProcessorResult> handler
+    );
+
+    <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            String title,
+            String[] docs,
+            DoubleHandler2Args<Arg2, ProcessorResult> handler
+    );
+}
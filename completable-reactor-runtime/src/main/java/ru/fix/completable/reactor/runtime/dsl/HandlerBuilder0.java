@@ -1,6 +1,9 @@
 package ru.fix.completable.reactor.runtime.dsl;
 
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * @author Kamil Asfandiyarov
@@ -15,6 +18,27 @@ public interface HandlerBuilder0<PayloadType> {
             Function<PayloadType, Arg1> arg
     );
 
+    /**
+     * Passes {@code long} first argument to handler without boxing
+     */
+    LongHandlerBuilder1<PayloadType> passLongArg(
+            ToLongFunction<PayloadType> arg
+    );
+
+    /**
+     * Passes {@code int} first argument to handler without boxing
+     */
+    IntHandlerBuilder1<PayloadType> passIntArg(
+            ToIntFunction<PayloadType> arg
+    );
+
+    /**
+     * Passes {@code double} first argument to handler without boxing
+     */
+    DoubleHandlerBuilder1<PayloadType> passDoubleArg(
+            ToDoubleFunction<PayloadType> arg
+    );
+
     <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
             Handler0Args<ProcessorResult> handler
     );
@@ -0,0 +1,29 @@
+package ru.fix.completable.reactor.runtime.dsl;
+
+import java.util.function.Function;
+
+public interface IntHandlerBuilder1<PayloadType> {
+
+    <Arg2> IntHandlerBuilder2<PayloadType, Arg2> passArg(
+            Function<PayloadType, Arg2> arg
+    );
+
+    <Arg2> IntHandlerBuilder2<PayloadType, Arg2> copyArg(
+            Function<PayloadType, Arg2> arg
+    );
+
+    <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            IntHandler1Arg<ProcessorResult> handler
+    );
+
+    <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            String title,
+            IntHandler1Arg<ProcessorResult> handler
+    );
+
+    <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            String title,
+            String[] docs,
+            IntHandler1Arg<ProcessorResult> handler
+    );
+}
@@ -0,0 +1,19 @@
+package ru.fix.completable.reactor.runtime.dsl;
+
+public interface IntHandlerBuilder2<PayloadType, Arg2> {
+
+    <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            IntHandler2Args<Arg2, ProcessorResult> handler
+    );
+
+    <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            String title,
+            IntHandler2Args<Arg2, ProcessorResult> handler
+    );
+
+    <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            String title,
+            String[] docs,
+            IntHandler2Args<Arg2, ProcessorResult> handler
+    );
+}
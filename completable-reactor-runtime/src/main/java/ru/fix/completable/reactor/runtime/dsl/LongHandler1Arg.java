@@ -0,0 +1,12 @@
+package ru.fix.completable.reactor.runtime.dsl;
+
+import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handler with single {@code long} argument that is passed without boxing
+ */
+@FunctionalInterface
+public interface LongHandler1Arg<ProcessorResult> extends Serializable {
+    CompletableFuture<ProcessorResult> handle(long arg1);
+}
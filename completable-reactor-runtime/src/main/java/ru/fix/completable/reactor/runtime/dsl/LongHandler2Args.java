@@ -0,0 +1,12 @@
+package ru.fix.completable.reactor.runtime.dsl;
+
+import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handler with first {@code long} argument that is passed without boxing
+ */
+@FunctionalInterface
+public interface LongHandler2Args<Arg2, ProcessorResult> extends Serializable {
+    CompletableFuture<ProcessorResult> handle(long arg1, Arg2 arg2);
+}
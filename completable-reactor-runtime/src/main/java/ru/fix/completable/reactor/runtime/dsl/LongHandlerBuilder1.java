@@ -0,0 +1,29 @@
+package ru.fix.completable.reactor.runtime.dsl;
+
+import java.util.function.Function;
+
+public interface LongHandlerBuilder1<PayloadType> {
+
+    <Arg2> LongHandlerBuilder2<PayloadType, Arg2> passArg(
+            Function<PayloadType, Arg2> arg
+    );
+
+    <Arg2> LongHandlerBuilder2<PayloadType, Arg2> copyArg(
+            Function<PayloadType, Arg2> arg
+    );
+
+    <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            LongHandler1Arg<ProcessorResult> handler
+    );
+
+    <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            String title,
+            LongHandler1Arg<ProcessorResult> handler
+    );
+
+    <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            String title,
+            String[] docs,
+            LongHandler1Arg<ProcessorResult> handler
+    );
+}
@@ -0,0 +1,19 @@
+package ru.fix.completable.reactor.runtime.dsl;
+
+public interface LongHandlerBuilder2<PayloadType, Arg2> {
+
+    <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            LongHandler2Args<Arg2, ProcessorResult> handler
+    );
+
+    <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            String title,
+            LongHandler2Args<Arg2, ProcessorResult> handler
+    );
+
+    <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            String title,
+            String[] docs,
+            LongHandler2Args<Arg2, ProcessorResult> handler
+    );
+}
@@ -1,10 +1,51 @@
 package ru.fix.completable.reactor.runtime.dsl;
 
+import java.time.Duration;
+
 /**
  * @author Kamil Asfandiyarov
  */
 public interface ProcessorDescriptionBuilder {
 
+    /**
+     * Processor handler is cheap and does not block.
+     * Handling result, merging and outgoing transitions of inline processor are executed
+     * in the thread that completed handler future without submission to executor.
+     * <p>
+     * Processors which handler returns already completed future are executed inline automatically.
+     */
+    ProcessorDescriptionBuilder inline();
+
+    /**
+     * Processor handler should complete within given timeout.
+     * Otherwise private expiration future of the processor is completed with
+     * {@link java.util.concurrent.TimeoutException} and graph execution fails.
+     * Handler future is never touched by reactor, its late result is ignored.
+     */
+    ProcessorDescriptionBuilder withTimeout(Duration timeout);
+
+    /**
+     * Processor handler should complete within given timeout.
+     * Otherwise private expiration future of the processor is completed with
+     * {@link java.util.concurrent.TimeoutException}, merger is not invoked
+     * and merge point selects transitions by given status.
+     * Handler future is never touched by reactor, its late result is ignored.
+     *
+     * @param timeoutStatus fallback merge status used instead of merger result when handler timed out
+     */
+    ProcessorDescriptionBuilder withTimeout(Duration timeout, Enum timeoutStatus);
+
+    /**
+     * Processor handler returns future that is owned by single invocation and could be cancelled.
+     * When graph execution fails or reaches terminal state before handling completes,
+     * handler future is cancelled by {@link java.util.concurrent.CompletableFuture#cancel(boolean)}.
+     * <p>
+     * Handlers that return cached, memoized or otherwise shared futures should not use this option:
+     * cancellation would affect all consumers of such future.
+     * By default handler future is not cancelled and its result is ignored.
+     */
+    ProcessorDescriptionBuilder withCancellation();
+
     <PayloadType> HandlerBuilder0<PayloadType> forPayload(
             Class<PayloadType> payloadType
     );
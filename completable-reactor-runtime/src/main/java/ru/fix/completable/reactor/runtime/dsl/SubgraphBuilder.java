@@ -1,8 +1,26 @@
 package ru.fix.completable.reactor.runtime.dsl;
 
+import java.time.Duration;
+
 /**
  * @author Kamil Asfandiyarov
  */
 public interface SubgraphBuilder<SubgraphPyaloadType> {
+
+    /**
+     * Subgraph execution should complete within given timeout.
+     * Otherwise subgraph execution is cancelled and parent graph execution fails.
+     */
+    SubgraphBuilder<SubgraphPyaloadType> withTimeout(Duration timeout);
+
+    /**
+     * Subgraph execution should complete within given timeout.
+     * Otherwise subgraph execution is cancelled, merger is not invoked
+     * and merge point selects transitions by given status.
+     *
+     * @param timeoutStatus fallback merge status used instead of merger result when subgraph timed out
+     */
+    SubgraphBuilder<SubgraphPyaloadType> withTimeout(Duration timeout, Enum timeoutStatus);
+
      <PayloadType> SubgraphHandlerBuilder<SubgraphPyaloadType, PayloadType> forPayload(Class<PayloadType> payloadType);
 }
@@ -0,0 +1,40 @@
+package ru.fix.completable.reactor.runtime.execution;
+
+import ru.fix.completable.reactor.runtime.dsl.DoubleHandler1Arg;
+import ru.fix.completable.reactor.runtime.dsl.ProcessorMerger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Invokes {@link DoubleHandler1Arg} handler and merger of single processor.
+ * Copied for each processor by {@link ProcessorInvokerCompiler}, see {@link ProcessorInvoker}.
+ */
+final class DoubleHandler1ArgInvoker extends ProcessorInvoker {
+
+    private final DoubleHandler1Arg<?> handler;
+    private final ToDoubleFunction<Object> arg1;
+
+    /**
+     * NULL if processor does not have merger
+     */
+    private final ProcessorMerger<Object, Object> merger;
+
+    DoubleHandler1ArgInvoker(DoubleHandler1Arg<?> handler,
+                             ToDoubleFunction<Object> arg1,
+                             ProcessorMerger<Object, Object> merger) {
+        this.handler = handler;
+        this.arg1 = arg1;
+        this.merger = merger;
+    }
+
+    @Override
+    public CompletableFuture<?> invokeHandler(Object payload) {
+        return handler.handle(arg1.applyAsDouble(payload));
+    }
+
+    @Override
+    public Enum invokeMerger(Object payload, Object processorResult) {
+        return merger.merge(payload, processorResult);
+    }
+}
@@ -0,0 +1,44 @@
+package ru.fix.completable.reactor.runtime.execution;
+
+import ru.fix.completable.reactor.runtime.dsl.DoubleHandler2Args;
+import ru.fix.completable.reactor.runtime.dsl.ProcessorMerger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Invokes {@link DoubleHandler2Args} handler and merger of single processor.
+ * Copied for each processor by {@link ProcessorInvokerCompiler}, see {@link ProcessorInvoker}.
+ */
+final class DoubleHandler2ArgsInvoker extends ProcessorInvoker {
+
+    private final DoubleHandler2Args<Object, ?> handler;
+    private final ToDoubleFunction<Object> arg1;
+    private final Function<Object, Object> arg2;
+
+    /**
+     * NULL if processor does not have merger
+     */
+    private final ProcessorMerger<Object, Object> merger;
+
+    DoubleHandler2ArgsInvoker(DoubleHandler2Args<Object, ?> handler,
+                              ToDoubleFunction<Object> arg1,
+                              Function<Object, Object> arg2,
+                              ProcessorMerger<Object, Object> merger) {
+        this.handler = handler;
+        this.arg1 = arg1;
+        this.arg2 = arg2;
+        this.merger = merger;
+    }
+
+    @Override
+    public CompletableFuture<?> invokeHandler(Object payload) {
+        return handler.handle(arg1.applyAsDouble(payload), arg2.apply(payload));
+    }
+
+    @Override
+    public Enum invokeMerger(Object payload, Object processorResult) {
+        return merger.merge(payload, processorResult);
+    }
+}
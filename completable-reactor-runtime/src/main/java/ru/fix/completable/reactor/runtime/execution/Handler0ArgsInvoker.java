@@ -0,0 +1,36 @@
+package ru.fix.completable.reactor.runtime.execution;
+
+import ru.fix.completable.reactor.runtime.dsl.Handler0Args;
+import ru.fix.completable.reactor.runtime.dsl.ProcessorMerger;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Invokes {@link Handler0Args} handler and merger of single processor.
+ * Copied for each processor by {@link ProcessorInvokerCompiler}, see {@link ProcessorInvoker}.
+ */
+final class Handler0ArgsInvoker extends ProcessorInvoker {
+
+    private final Handler0Args<?> handler;
+
+    /**
+     * NULL if processor does not have merger
+     */
+    private final ProcessorMerger<Object, Object> merger;
+
+    Handler0ArgsInvoker(Handler0Args<?> handler,
+                        ProcessorMerger<Object, Object> merger) {
+        this.handler = handler;
+        this.merger = merger;
+    }
+
+    @Override
+    public CompletableFuture<?> invokeHandler(Object payload) {
+        return handler.handle();
+    }
+
+    @Override
+    public Enum invokeMerger(Object payload, Object processorResult) {
+        return merger.merge(payload, processorResult);
+    }
+}
@@ -0,0 +1,40 @@
+package ru.fix.completable.reactor.runtime.execution;
+
+import ru.fix.completable.reactor.runtime.dsl.Handler1Arg;
+import ru.fix.completable.reactor.runtime.dsl.ProcessorMerger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Invokes {@link Handler1Arg} handler and merger of single processor.
+ * Copied for each processor by {@link ProcessorInvokerCompiler}, see {@link ProcessorInvoker}.
+ */
+final class Handler1ArgInvoker extends ProcessorInvoker {
+
+    private final Handler1Arg<Object, ?> handler;
+    private final Function<Object, Object> arg1;
+
+    /**
+     * NULL if processor does not have merger
+     */
+    private final ProcessorMerger<Object, Object> merger;
+
+    Handler1ArgInvoker(Handler1Arg<Object, ?> handler,
+                       Function<Object, Object> arg1,
+                       ProcessorMerger<Object, Object> merger) {
+        this.handler = handler;
+        this.arg1 = arg1;
+        this.merger = merger;
+    }
+
+    @Override
+    public CompletableFuture<?> invokeHandler(Object payload) {
+        return handler.handle(arg1.apply(payload));
+    }
+
+    @Override
+    public Enum invokeMerger(Object payload, Object processorResult) {
+        return merger.merge(payload, processorResult);
+    }
+}
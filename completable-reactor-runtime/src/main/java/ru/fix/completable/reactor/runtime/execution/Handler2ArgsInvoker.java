@@ -0,0 +1,43 @@
+package ru.fix.completable.reactor.runtime.execution;
+
+import ru.fix.completable.reactor.runtime.dsl.Handler2Args;
+import ru.fix.completable.reactor.runtime.dsl.ProcessorMerger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Invokes {@link Handler2Args} handler and merger of single processor.
+ * Copied for each processor by {@link ProcessorInvokerCompiler}, see {@link ProcessorInvoker}.
+ */
+final class Handler2ArgsInvoker extends ProcessorInvoker {
+
+    private final Handler2Args<Object, Object, ?> handler;
+    private final Function<Object, Object> arg1;
+    private final Function<Object, Object> arg2;
+
+    /**
+     * NULL if processor does not have merger
+     */
+    private final ProcessorMerger<Object, Object> merger;
+
+    Handler2ArgsInvoker(Handler2Args<Object, Object, ?> handler,
+                        Function<Object, Object> arg1,
+                        Function<Object, Object> arg2,
+                        ProcessorMerger<Object, Object> merger) {
+        this.handler = handler;
+        this.arg1 = arg1;
+        this.arg2 = arg2;
+        this.merger = merger;
+    }
+
+    @Override
+    public CompletableFuture<?> invokeHandler(Object payload) {
+        return handler.handle(arg1.apply(payload), arg2.apply(payload));
+    }
+
+    @Override
+    public Enum invokeMerger(Object payload, Object processorResult) {
+        return merger.merge(payload, processorResult);
+    }
+}
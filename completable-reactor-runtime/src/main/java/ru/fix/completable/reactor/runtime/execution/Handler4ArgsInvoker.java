@@ -0,0 +1,53 @@
+package ru.fix.completable.reactor.runtime.execution;
+
+import ru.fix.completable.reactor.runtime.dsl.Handler4Args;
+import ru.fix.completable.reactor.runtime.dsl.ProcessorMerger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Invokes {@link Handler4Args} handler and merger of single processor.
+ * Copied for each processor by {@link ProcessorInvokerCompiler}, see {@link ProcessorInvoker}.
+ */
+final class Handler4ArgsInvoker extends ProcessorInvoker {
+
+    private final Handler4Args<Object, Object, Object, Object, ?> handler;
+    private final Function<Object, Object> arg1;
+    private final Function<Object, Object> arg2;
+    private final Function<Object, Object> arg3;
+    private final Function<Object, Object> arg4;
+
+    /**
+     * NULL if processor does not have merger
+     */
+    private final ProcessorMerger<Object, Object> merger;
+
+    Handler4ArgsInvoker(Handler4Args<Object, Object, Object, Object, ?> handler,
+                        Function<Object, Object> arg1,
+                        Function<Object, Object> arg2,
+                        Function<Object, Object> arg3,
+                        Function<Object, Object> arg4,
+                        ProcessorMerger<Object, Object> merger) {
+        this.handler = handler;
+        this.arg1 = arg1;
+        this.arg2 = arg2;
+        this.arg3 = arg3;
+        this.arg4 = arg4;
+        this.merger = merger;
+    }
+
+    @Override
+    public CompletableFuture<?> invokeHandler(Object payload) {
+        return handler.handle(
+                arg1.apply(payload),
+                arg2.apply(payload),
+                arg3.apply(payload),
+                arg4.apply(payload));
+    }
+
+    @Override
+    public Enum invokeMerger(Object payload, Object processorResult) {
+        return merger.merge(payload, processorResult);
+    }
+}
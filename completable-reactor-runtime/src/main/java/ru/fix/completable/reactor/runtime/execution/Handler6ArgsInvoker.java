@@ -0,0 +1,61 @@
+package ru.fix.completable.reactor.runtime.execution;
+
+import ru.fix.completable.reactor.runtime.dsl.Handler6Args;
+import ru.fix.completable.reactor.runtime.dsl.ProcessorMerger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Invokes {@link Handler6Args} handler and merger of single processor.
+ * Copied for each processor by {@link ProcessorInvokerCompiler}, see {@link ProcessorInvoker}.
+ */
+final class Handler6ArgsInvoker extends ProcessorInvoker {
+
+    private final Handler6Args<Object, Object, Object, Object, Object, Object, ?> handler;
+    private final Function<Object, Object> arg1;
+    private final Function<Object, Object> arg2;
+    private final Function<Object, Object> arg3;
+    private final Function<Object, Object> arg4;
+    private final Function<Object, Object> arg5;
+    private final Function<Object, Object> arg6;
+
+    /**
+     * NULL if processor does not have merger
+     */
+    private final ProcessorMerger<Object, Object> merger;
+
+    Handler6ArgsInvoker(Handler6Args<Object, Object, Object, Object, Object, Object, ?> handler,
+                        Function<Object, Object> arg1,
+                        Function<Object, Object> arg2,
+                        Function<Object, Object> arg3,
+                        Function<Object, Object> arg4,
+                        Function<Object, Object> arg5,
+                        Function<Object, Object> arg6,
+                        ProcessorMerger<Object, Object> merger) {
+        this.handler = handler;
+        this.arg1 = arg1;
+        this.arg2 = arg2;
+        this.arg3 = arg3;
+        this.arg4 = arg4;
+        this.arg5 = arg5;
+        this.arg6 = arg6;
+        this.merger = merger;
+    }
+
+    @Override
+    public CompletableFuture<?> invokeHandler(Object payload) {
+        return handler.handle(
+                arg1.apply(payload),
+                arg2.apply(payload),
+                arg3.apply(payload),
+                arg4.apply(payload),
+                arg5.apply(payload),
+                arg6.apply(payload));
+    }
+
+    @Override
+    public Enum invokeMerger(Object payload, Object processorResult) {
+        return merger.merge(payload, processorResult);
+    }
+}
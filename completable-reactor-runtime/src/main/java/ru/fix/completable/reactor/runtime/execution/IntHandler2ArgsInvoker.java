@@ -0,0 +1,44 @@
+package ru.fix.completable.reactor.runtime.execution;
+
+import ru.fix.completable.reactor.runtime.dsl.IntHandler2Args;
+import ru.fix.completable.reactor.runtime.dsl.ProcessorMerger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Invokes {@link IntHandler2Args} handler and merger of single processor.
+ * Copied for each processor by {@link ProcessorInvokerCompiler}, see {@link ProcessorInvoker}.
+ */
+final class IntHandler2ArgsInvoker extends ProcessorInvoker {
+
+    private final IntHandler2Args<Object, ?> handler;
+    private final ToIntFunction<Object> arg1;
+    private final Function<Object, Object> arg2;
+
+    /**
+     * NULL if processor does not have merger
+     */
+    private final ProcessorMerger<Object, Object> merger;
+
+    IntHandler2ArgsInvoker(IntHandler2Args<Object, ?> handler,
+                           ToIntFunction<Object> arg1,
+                           Function<Object, Object> arg2,
+                           ProcessorMerger<Object, Object> merger) {
+        this.handler = handler;
+        this.arg1 = arg1;
+        this.arg2 = arg2;
+        this.merger = merger;
+    }
+
+    @Override
+    public CompletableFuture<?> invokeHandler(Object payload) {
+        return handler.handle(arg1.applyAsInt(payload), arg2.apply(payload));
+    }
+
+    @Override
+    public Enum invokeMerger(Object payload, Object processorResult) {
+        return merger.merge(payload, processorResult);
+    }
+}
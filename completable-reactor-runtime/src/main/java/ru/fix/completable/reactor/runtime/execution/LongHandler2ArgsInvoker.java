@@ -0,0 +1,44 @@
+package ru.fix.completable.reactor.runtime.execution;
+
+import ru.fix.completable.reactor.runtime.dsl.LongHandler2Args;
+import ru.fix.completable.reactor.runtime.dsl.ProcessorMerger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Invokes {@link LongHandler2Args} handler and merger of single processor.
+ * Copied for each processor by {@link ProcessorInvokerCompiler}, see {@link ProcessorInvoker}.
+ */
+final class LongHandler2ArgsInvoker extends ProcessorInvoker {
+
+    private final LongHandler2Args<Object, ?> handler;
+    private final ToLongFunction<Object> arg1;
+    private final Function<Object, Object> arg2;
+
+    /**
+     * NULL if processor does not have merger
+     */
+    private final ProcessorMerger<Object, Object> merger;
+
+    LongHandler2ArgsInvoker(LongHandler2Args<Object, ?> handler,
+                            ToLongFunction<Object> arg1,
+                            Function<Object, Object> arg2,
+                            ProcessorMerger<Object, Object> merger) {
+        this.handler = handler;
+        this.arg1 = arg1;
+        this.arg2 = arg2;
+        this.merger = merger;
+    }
+
+    @Override
+    public CompletableFuture<?> invokeHandler(Object payload) {
+        return handler.handle(arg1.applyAsLong(payload), arg2.apply(payload));
+    }
+
+    @Override
+    public Enum invokeMerger(Object payload, Object processorResult) {
+        return merger.merge(payload, processorResult);
+    }
+}
@@ -0,0 +1,25 @@
+package ru.fix.completable.reactor.runtime.execution;
+
+import ru.fix.completable.reactor.runtime.internal.dsl.CRMergePointDescription;
+
+/**
+ * Invokes merger of single detached merge point.
+ * Compiled once during graph registration the same way as {@link ProcessorInvoker}:
+ * each merge point gets own copy of invoker class, see {@link ProcessorInvokerCompiler}.
+ */
+public abstract class MergePointInvoker {
+
+    /**
+     * Compiles merger invocation of detached merge point.
+     */
+    public static MergePointInvoker compile(CRMergePointDescription<?> description) {
+        return ProcessorInvokerCompiler.compile(description);
+    }
+
+    /**
+     * Merges payload
+     *
+     * @return merge status
+     */
+    public abstract Enum invokeMerger(Object payload);
+}
@@ -0,0 +1,21 @@
+package ru.fix.completable.reactor.runtime.execution;
+
+import ru.fix.completable.reactor.runtime.dsl.MergePointMerger;
+
+/**
+ * Invokes {@link MergePointMerger} of single detached merge point.
+ * Copied for each merge point by {@link ProcessorInvokerCompiler}, see {@link MergePointInvoker}.
+ */
+final class MergePointMergerInvoker extends MergePointInvoker {
+
+    private final MergePointMerger<Object> merger;
+
+    MergePointMergerInvoker(MergePointMerger<Object> merger) {
+        this.merger = merger;
+    }
+
+    @Override
+    public Enum invokeMerger(Object payload) {
+        return merger.merge(payload);
+    }
+}
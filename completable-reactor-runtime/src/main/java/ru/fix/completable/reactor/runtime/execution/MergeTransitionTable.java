@@ -0,0 +1,146 @@
+package ru.fix.completable.reactor.runtime.execution;
+
+import ru.fix.completable.reactor.runtime.internal.CRReactorGraph;
+
+/**
+ * Precompiled selection of merge point outgoing transitions by merge status.
+ * Maps merge status ordinal to bitmask of active transitions,
+ * where bit {@code i} stands for transition {@code i} of merge point transitions array.
+ * Selection is an array lookup without allocation.
+ * <p>
+ * Statuses of enum type that differs from the type used in merge point transitions
+ * are resolved by scanning transitions.
+ */
+public class MergeTransitionTable {
+
+    /**
+     * Bitmask limits amount of outgoing transitions of single merge point
+     */
+    public static final int MAX_TRANSITIONS = Long.SIZE;
+
+    private final CRReactorGraph.Transition[] transitions;
+
+    /**
+     * Enum type of merge statuses used by transitions. NULL if there is no transitions with merge status
+     * or transitions use statuses of different enum types.
+     */
+    private final Class<?> statusType;
+
+    /**
+     * Active transitions mask indexed by status ordinal, includes {@link #onAnyTransitions}
+     */
+    private final long[] statusTransitions;
+
+    private final long onAnyTransitions;
+
+    private final long terminalTransitions;
+
+    private MergeTransitionTable(CRReactorGraph.Transition[] transitions,
+                                 Class<?> statusType,
+                                 long[] statusTransitions,
+                                 long onAnyTransitions,
+                                 long terminalTransitions) {
+        this.transitions = transitions;
+        this.statusType = statusType;
+        this.statusTransitions = statusTransitions;
+        this.onAnyTransitions = onAnyTransitions;
+        this.terminalTransitions = terminalTransitions;
+    }
+
+    public static MergeTransitionTable compile(String mergePointName, CRReactorGraph.Transition[] transitions) {
+        if (transitions.length > MAX_TRANSITIONS) {
+            throw new IllegalArgumentException(String.format(
+                    "Merge point %s has %d outgoing transitions. Max supported amount is %d.",
+                    mergePointName, transitions.length, MAX_TRANSITIONS));
+        }
+
+        long onAnyTransitions = 0;
+        long terminalTransitions = 0;
+        Class<?> statusType = null;
+        boolean isSingleStatusType = true;
+
+        for (int index = 0; index < transitions.length; index++) {
+            CRReactorGraph.Transition transition = transitions[index];
+            if (transition.isOnAny()) {
+                onAnyTransitions |= 1L << index;
+            }
+            if (transition.isComplete()) {
+                terminalTransitions |= 1L << index;
+            }
+            if (transition.getMergeStatuses() != null) {
+                for (Enum<?> status : transition.getMergeStatuses()) {
+                    if (statusType == null) {
+                        statusType = status.getDeclaringClass();
+                    } else if (statusType != status.getDeclaringClass()) {
+                        isSingleStatusType = false;
+                    }
+                }
+            }
+        }
+
+        if (statusType == null || !isSingleStatusType) {
+            return new MergeTransitionTable(transitions, null, null, onAnyTransitions, terminalTransitions);
+        }
+
+        long[] statusTransitions = new long[statusType.getEnumConstants().length];
+        for (int ordinal = 0; ordinal < statusTransitions.length; ordinal++) {
+            statusTransitions[ordinal] = onAnyTransitions;
+        }
+
+        for (int index = 0; index < transitions.length; index++) {
+            if (transitions[index].getMergeStatuses() != null) {
+                for (Enum<?> status : transitions[index].getMergeStatuses()) {
+                    statusTransitions[status.ordinal()] |= 1L << index;
+                }
+            }
+        }
+
+        return new MergeTransitionTable(
+                transitions,
+                statusType,
+                statusTransitions,
+                onAnyTransitions,
+                terminalTransitions);
+    }
+
+    /**
+     * @param mergeStatus status returned by merger, could be NULL
+     * @return bitmask of transitions that are activated by given status
+     */
+    public long activeTransitions(Enum<?> mergeStatus) {
+        if (mergeStatus == null) {
+            return onAnyTransitions;
+        }
+        if (mergeStatus.getDeclaringClass() == statusType) {
+            return statusTransitions[mergeStatus.ordinal()];
+        }
+
+        /**
+         * Slow path for statuses of mixed types
+         */
+        long result = onAnyTransitions;
+        for (int index = 0; index < transitions.length; index++) {
+            if (transitions[index].getMergeStatuses() != null
+                    && transitions[index].getMergeStatuses().contains(mergeStatus)) {
+                result |= 1L << index;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param transitionIndex index of transition within merge point transitions
+     * @return true if transition is activated by given merge status
+     */
+    public boolean isActive(int transitionIndex, Enum<?> mergeStatus) {
+        return (activeTransitions(mergeStatus) & (1L << transitionIndex)) != 0;
+    }
+
+    /**
+     * @param activeTransitions bitmask returned by {@link #activeTransitions(Enum)}
+     * @return true if any of active transitions completes graph execution
+     */
+    public boolean isTerminal(long activeTransitions) {
+        return (activeTransitions & terminalTransitions) != 0;
+    }
+}
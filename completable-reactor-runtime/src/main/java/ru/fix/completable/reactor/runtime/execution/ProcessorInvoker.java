@@ -0,0 +1,39 @@
+package ru.fix.completable.reactor.runtime.execution;
+
+import ru.fix.completable.reactor.runtime.cloning.ThreadsafeCopyMaker;
+import ru.fix.completable.reactor.runtime.internal.dsl.CRProcessorDescription;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Invokes handler and merger of single processor.
+ * Compiled once during graph registration by {@link #compile(CRProcessorDescription, ThreadsafeCopyMaker)}:
+ * invoker is bound to handler interface, argument functions and merger of the processor,
+ * arguments marked by {@code copyArg} are wrapped by copy maker in advance.
+ * Each processor gets own copy of invoker class, see {@link ProcessorInvokerCompiler}.
+ */
+public abstract class ProcessorInvoker {
+
+    /**
+     * Compiles invocation of processor handler and merger.
+     *
+     * @param threadsafeCopyMaker copies arguments marked by {@code copyArg}
+     * @throws IllegalArgumentException if processor description does not have handler or handler arguments
+     */
+    public static ProcessorInvoker compile(CRProcessorDescription<?> description,
+                                           ThreadsafeCopyMaker threadsafeCopyMaker) {
+        return ProcessorInvokerCompiler.compile(description, threadsafeCopyMaker);
+    }
+
+    /**
+     * Extracts handler arguments from payload and invokes handler
+     */
+    public abstract CompletableFuture<?> invokeHandler(Object payload);
+
+    /**
+     * Merges handler result into payload
+     *
+     * @return merge status
+     */
+    public abstract Enum invokeMerger(Object payload, Object processorResult);
+}
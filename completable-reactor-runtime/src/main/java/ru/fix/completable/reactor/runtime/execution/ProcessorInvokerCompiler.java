@@ -0,0 +1,312 @@
+package ru.fix.completable.reactor.runtime.execution;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.fix.completable.reactor.runtime.cloning.ThreadsafeCopyMaker;
+import ru.fix.completable.reactor.runtime.internal.dsl.CRMergePointDescription;
+import ru.fix.completable.reactor.runtime.internal.dsl.CRProcessorDescription;
+import ru.fix.completable.reactor.runtime.internal.dsl.CRSubgraphDescription;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Compiles {@link ProcessorInvoker}, {@link SubgraphInvoker} and {@link MergePointInvoker} of graph vertices
+ * during graph registration.
+ * <p>
+ * Invoker class is selected by handler interface and bound to handler, merger and argument functions of vertex.
+ * Arguments that should be copied are wrapped by {@link ThreadsafeCopyMaker} once during compilation.
+ * <p>
+ * Vertices with the same handler interface would share invoker class and its megamorphic call sites.
+ * Compiler defines own copy of invoker class for each vertex, so each copy is profiled and compiled by JIT
+ * with single handler, merger and argument functions.
+ * Each copy is defined from the class file of invoker class by its own class loader,
+ * so copies do not rely on JVM internals and are unloaded together with the graph plan.
+ */
+@Slf4j
+final class ProcessorInvokerCompiler {
+
+    private static final Map<Class<?>, byte[]> CLASS_BYTES = new ConcurrentHashMap<>();
+
+    private ProcessorInvokerCompiler() {
+    }
+
+    static ProcessorInvoker compile(CRProcessorDescription<?> description, ThreadsafeCopyMaker threadsafeCopyMaker) {
+        Object merger = description.getMerger();
+
+        if (description.getHandler0() != null) {
+            return newInvoker(Handler0ArgsInvoker.class,
+                    description.getHandler0(),
+                    merger);
+        }
+        if (description.getHandler1() != null) {
+            return newInvoker(Handler1ArgInvoker.class,
+                    description.getHandler1(),
+                    arg(description, 1, 1, threadsafeCopyMaker),
+                    merger);
+        }
+        if (description.getHandler2() != null) {
+            return newInvoker(Handler2ArgsInvoker.class,
+                    description.getHandler2(),
+                    arg(description, 2, 1, threadsafeCopyMaker),
+                    arg(description, 2, 2, threadsafeCopyMaker),
+                    merger);
+        }
+        if (description.getHandler3() != null) {
+            return newInvoker(Handler3ArgsInvoker.class,
+                    description.getHandler3(),
+                    arg(description, 3, 1, threadsafeCopyMaker),
+                    arg(description, 3, 2, threadsafeCopyMaker),
+                    arg(description, 3, 3, threadsafeCopyMaker),
+                    merger);
+        }
+        if (description.getHandler4() != null) {
+            return newInvoker(Handler4ArgsInvoker.class,
+                    description.getHandler4(),
+                    arg(description, 4, 1, threadsafeCopyMaker),
+                    arg(description, 4, 2, threadsafeCopyMaker),
+                    arg(description, 4, 3, threadsafeCopyMaker),
+                    arg(description, 4, 4, threadsafeCopyMaker),
+                    merger);
+        }
+        if (description.getHandler5() != null) {
+            return newInvoker(Handler5ArgsInvoker.class,
+                    description.getHandler5(),
+                    arg(description, 5, 1, threadsafeCopyMaker),
+                    arg(description, 5, 2, threadsafeCopyMaker),
+                    arg(description, 5, 3, threadsafeCopyMaker),
+                    arg(description, 5, 4, threadsafeCopyMaker),
+                    arg(description, 5, 5, threadsafeCopyMaker),
+                    merger);
+        }
+        if (description.getHandler6() != null) {
+            return newInvoker(Handler6ArgsInvoker.class,
+                    description.getHandler6(),
+                    arg(description, 6, 1, threadsafeCopyMaker),
+                    arg(description, 6, 2, threadsafeCopyMaker),
+                    arg(description, 6, 3, threadsafeCopyMaker),
+                    arg(description, 6, 4, threadsafeCopyMaker),
+                    arg(description, 6, 5, threadsafeCopyMaker),
+                    arg(description, 6, 6, threadsafeCopyMaker),
+                    merger);
+        }
+        if (description.getHandler7() != null) {
+            return newInvoker(Handler7ArgsInvoker.class,
+                    description.getHandler7(),
+                    arg(description, 7, 1, threadsafeCopyMaker),
+                    arg(description, 7, 2, threadsafeCopyMaker),
+                    arg(description, 7, 3, threadsafeCopyMaker),
+                    arg(description, 7, 4, threadsafeCopyMaker),
+                    arg(description, 7, 5, threadsafeCopyMaker),
+                    arg(description, 7, 6, threadsafeCopyMaker),
+                    arg(description, 7, 7, threadsafeCopyMaker),
+                    merger);
+        }
+        if (description.getLongHandler1() != null) {
+            return newInvoker(LongHandler1ArgInvoker.class,
+                    description.getLongHandler1(),
+                    longArg(description, 1),
+                    merger);
+        }
+        if (description.getLongHandler2() != null) {
+            return newInvoker(LongHandler2ArgsInvoker.class,
+                    description.getLongHandler2(),
+                    longArg(description, 2),
+                    arg(description, 2, 2, threadsafeCopyMaker),
+                    merger);
+        }
+        if (description.getIntHandler1() != null) {
+            return newInvoker(IntHandler1ArgInvoker.class,
+                    description.getIntHandler1(),
+                    intArg(description, 1),
+                    merger);
+        }
+        if (description.getIntHandler2() != null) {
+            return newInvoker(IntHandler2ArgsInvoker.class,
+                    description.getIntHandler2(),
+                    intArg(description, 2),
+                    arg(description, 2, 2, threadsafeCopyMaker),
+                    merger);
+        }
+        if (description.getDoubleHandler1() != null) {
+            return newInvoker(DoubleHandler1ArgInvoker.class,
+                    description.getDoubleHandler1(),
+                    doubleArg(description, 1),
+                    merger);
+        }
+        if (description.getDoubleHandler2() != null) {
+            return newInvoker(DoubleHandler2ArgsInvoker.class,
+                    description.getDoubleHandler2(),
+                    doubleArg(description, 2),
+                    arg(description, 2, 2, threadsafeCopyMaker),
+                    merger);
+        }
+        throw new IllegalArgumentException("There is no handler in processor description.");
+    }
+
+    @SuppressWarnings("unchecked")
+    static SubgraphInvoker compile(CRSubgraphDescription<?> description, ThreadsafeCopyMaker threadsafeCopyMaker) {
+        Function<Object, Object> arg = (Function<Object, Object>) description.getArg();
+        if (description.isCopyArg()) {
+            Function<Object, Object> copiedArg = arg;
+            arg = payload -> threadsafeCopyMaker.makeThreadsafeCopy(copiedArg.apply(payload));
+        }
+        return newInvoker(SubgraphMergerInvoker.class, arg, description.getMerger());
+    }
+
+    static MergePointInvoker compile(CRMergePointDescription<?> description) {
+        return newInvoker(MergePointMergerInvoker.class, description.getMerger());
+    }
+
+    /**
+     * @return argument function of given position, wrapped by copy maker if argument should be copied
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> arg(CRProcessorDescription<?> description,
+                                                int arity,
+                                                int position,
+                                                ThreadsafeCopyMaker threadsafeCopyMaker) {
+        Function<Object, Object> arg;
+        boolean isCopyArg;
+        switch (position) {
+            case 1:
+                arg = description.getArg1();
+                isCopyArg = description.isCopyArg1();
+                break;
+            case 2:
+                arg = description.getArg2();
+                isCopyArg = description.isCopyArg2();
+                break;
+            case 3:
+                arg = description.getArg3();
+                isCopyArg = description.isCopyArg3();
+                break;
+            case 4:
+                arg = description.getArg4();
+                isCopyArg = description.isCopyArg4();
+                break;
+            case 5:
+                arg = description.getArg5();
+                isCopyArg = description.isCopyArg5();
+                break;
+            case 6:
+                arg = description.getArg6();
+                isCopyArg = description.isCopyArg6();
+                break;
+            default:
+                arg = description.getArg7();
+                isCopyArg = description.isCopyArg7();
+        }
+        requireArg(arg, arity, position);
+
+        if (isCopyArg) {
+            Function<Object, Object> copiedArg = arg;
+            return payload -> threadsafeCopyMaker.makeThreadsafeCopy(copiedArg.apply(payload));
+        }
+        return arg;
+    }
+
+    /**
+     * @return first argument of {@link ru.fix.completable.reactor.runtime.dsl.LongHandler1Arg}
+     * or {@link ru.fix.completable.reactor.runtime.dsl.LongHandler2Args}
+     */
+    @SuppressWarnings("unchecked")
+    private static ToLongFunction<Object> longArg(CRProcessorDescription<?> description, int arity) {
+        return (ToLongFunction<Object>) requireArg(description.getLongArg1(), arity, 1);
+    }
+
+    /**
+     * @return first argument of {@link ru.fix.completable.reactor.runtime.dsl.IntHandler1Arg}
+     * or {@link ru.fix.completable.reactor.runtime.dsl.IntHandler2Args}
+     */
+    @SuppressWarnings("unchecked")
+    private static ToIntFunction<Object> intArg(CRProcessorDescription<?> description, int arity) {
+        return (ToIntFunction<Object>) requireArg(description.getIntArg1(), arity, 1);
+    }
+
+    /**
+     * @return first argument of {@link ru.fix.completable.reactor.runtime.dsl.DoubleHandler1Arg}
+     * or {@link ru.fix.completable.reactor.runtime.dsl.DoubleHandler2Args}
+     */
+    @SuppressWarnings("unchecked")
+    private static ToDoubleFunction<Object> doubleArg(CRProcessorDescription<?> description, int arity) {
+        return (ToDoubleFunction<Object>) requireArg(description.getDoubleArg1(), arity, 1);
+    }
+
+    private static <T> T requireArg(T arg, int arity, int position) {
+        if (arg == null) {
+            throw new IllegalArgumentException(String.format(
+                    "Handler of processor description accepts %d arguments, but argument %d is not passed.",
+                    arity,
+                    position));
+        }
+        return arg;
+    }
+
+    /**
+     * Instantiates own copy of invoker class or shared invoker class if copy could not be defined
+     *
+     * @param constructorArgs arguments of the only constructor of invoker class
+     */
+    private static <InvokerType> InvokerType newInvoker(Class<? extends InvokerType> invokerClass,
+                                                        Object... constructorArgs) {
+        Class<?> processorInvokerClass;
+        try {
+            processorInvokerClass = new InvokerClassLoader(invokerClass.getClassLoader()).define(
+                    invokerClass.getName(),
+                    CLASS_BYTES.computeIfAbsent(invokerClass, ProcessorInvokerCompiler::readClassBytes));
+        } catch (RuntimeException | LinkageError exc) {
+            log.warn("Failed to define invoker class. Shared invoker class {} will be used.",
+                    invokerClass.getSimpleName(), exc);
+            processorInvokerClass = invokerClass;
+        }
+        try {
+            Constructor<?> constructor = processorInvokerClass.getDeclaredConstructors()[0];
+            constructor.setAccessible(true);
+            @SuppressWarnings("unchecked")
+            InvokerType invoker = (InvokerType) constructor.newInstance(constructorArgs);
+            return invoker;
+        } catch (ReflectiveOperationException exc) {
+            throw new IllegalStateException("Failed to instantiate invoker " + invokerClass, exc);
+        }
+    }
+
+    /**
+     * Defines single copy of invoker class.
+     * All other classes, including {@link ProcessorInvoker} and handler interfaces, are loaded by parent class loader.
+     */
+    private static final class InvokerClassLoader extends ClassLoader {
+
+        InvokerClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] classBytes) {
+            return defineClass(name, classBytes, 0, classBytes.length);
+        }
+    }
+
+    private static byte[] readClassBytes(Class<?> type) {
+        try (InputStream input = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+            if (input == null) {
+                throw new IllegalStateException("Class file of " + type + " is not found.");
+            }
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                output.write(buffer, 0, read);
+            }
+            return output.toByteArray();
+        } catch (IOException exc) {
+            throw new IllegalStateException("Failed to read class file of " + type, exc);
+        }
+    }
+}
@@ -1,26 +1,40 @@
 package ru.fix.completable.reactor.runtime.execution;
 
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import ru.fix.commons.profiler.ProfiledCall;
 import ru.fix.commons.profiler.Profiler;
 import ru.fix.completable.reactor.api.ReactorGraphModel;
-import ru.fix.completable.reactor.runtime.ProfilerNames;
 import ru.fix.completable.reactor.runtime.ReactorGraph;
+import ru.fix.completable.reactor.runtime.ReactorGraphBuilder;
 import ru.fix.completable.reactor.runtime.cloning.ThreadsafeCopyMaker;
 import ru.fix.completable.reactor.runtime.debug.DebugSerializer;
 import ru.fix.completable.reactor.runtime.immutability.ImmutabilityChecker;
 import ru.fix.completable.reactor.runtime.immutability.ImmutabilityControlLevel;
 import ru.fix.completable.reactor.runtime.internal.CRProcessingItem;
 import ru.fix.completable.reactor.runtime.internal.CRReactorGraph;
-import ru.fix.completable.reactor.runtime.internal.dsl.CRProcessorDescription;
+import ru.fix.completable.reactor.runtime.timeout.HashedWheelTimer;
 import ru.fix.completable.reactor.runtime.tracing.Tracer;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Supplier;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -35,16 +49,49 @@ public class ReactorGraphExecutionBuilder {
 
     private boolean debugProcessingVertexGraphState = false;
 
+    /**
+     * Executor for all asynchronous stages of execution unless graph overrides it
+     */
+    private volatile Executor executor = ForkJoinPool.commonPool();
+
+    /**
+     * Run transition activations in thread that completed source merge point
+     */
+    private volatile boolean sameThreadTransitions = false;
+
+    /**
+     * Activate start point transitions in thread that submits payload
+     */
+    private volatile boolean sameThreadSubmission = false;
+
     volatile ImmutabilityControlLevel immutabilityControlLevel = ImmutabilityControlLevel.NO_CONTROL;
 
+    /**
+     * Immutability control is applied to one of N graph executions
+     */
+    private volatile int immutabilityCheckSamplingRate = 1;
+
 
     private final SubgraphRunner subgraphRunner;
 
     @FunctionalInterface
     public interface SubgraphRunner {
-        CompletableFuture<?> run(Object paylaod);
+        /**
+         * @param timeoutMs remaining time budget of parent execution and subgraph timeout,
+         *                  0 if subgraph execution is bounded by default execution timeout
+         */
+        CompletableFuture<?> run(Object paylaod, long timeoutMs);
     }
 
+    /**
+     * Processor result that marks timed out handling with fallback merge status
+     */
+    private static final Object HANDLING_TIMEOUT_RESULT = new Object();
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final HashedWheelTimer timeoutTimer = HashedWheelTimer.shared();
+
 
     @Data
     @Accessors(chain = true)
@@ -65,6 +112,17 @@ public class ReactorGraphExecutionBuilder {
 
     private static final MergePayloadContext INVALID_MERGE_PAYLOAD_CONTEXT = new MergePayloadContext();
 
+    /**
+     * Shared dead and terminal contexts. Dead and terminal flows do not carry payload,
+     * so all executions reuse same instances instead of allocating context for each disabled transition.
+     * Shared contexts should never be modified.
+     */
+    private static final MergePayloadContext DEAD_MERGE_PAYLOAD_CONTEXT = new MergePayloadContext()
+            .setDeadTransition(true);
+
+    private static final MergePayloadContext TERMINAL_MERGE_PAYLOAD_CONTEXT = new MergePayloadContext()
+            .setTerminal(true);
+
     @Data
     @Accessors(chain = true)
     static class TransitionPayloadContext {
@@ -83,6 +141,12 @@ public class ReactorGraphExecutionBuilder {
 
     private static final TransitionPayloadContext INVALID_TRANSITION_PAYLOAD_CONTEXT = new TransitionPayloadContext();
 
+    private static final TransitionPayloadContext DEAD_TRANSITION_PAYLOAD_CONTEXT = new TransitionPayloadContext()
+            .setDeadTransition(true);
+
+    private static final TransitionPayloadContext TERMINAL_TRANSITION_PAYLOAD_CONTEXT = new TransitionPayloadContext()
+            .setTerminal(true);
+
     @Data
     @Accessors(chain = true)
     static class HandlePayloadContext {
@@ -102,36 +166,345 @@ public class ReactorGraphExecutionBuilder {
 
     private static final HandlePayloadContext INVALID_HANDLE_PAYLOAD_CONTEXT = new HandlePayloadContext();
 
-    @Data
-    static class TransitionFuture<PayloadContextType> {
-        final CompletableFuture<PayloadContextType> future;
-    }
+    private static final HandlePayloadContext DEAD_HANDLE_PAYLOAD_CONTEXT = new HandlePayloadContext()
+            .setDeadTransition(true);
+
+    private static final HandlePayloadContext TERMINAL_HANDLE_PAYLOAD_CONTEXT = new HandlePayloadContext()
+            .setTerminal(true);
 
     /**
+     * Per request state of {@link ReactorGraphExecutionPlan.Vertex}.
      * <img src="./doc-files/processing-item.png" alt="">
+     * <p>
+     * Incoming flows and results of vertex are stored in slots of execution shared by all vertices.
+     * Pending flow counters and completion flags are packed into single state word updated by CAS,
+     * so vertex does not allocate futures, counters or arrays of its own.
      */
-    @Data
-    @Accessors(chain = true)
     static class ProcessingVertex {
 
-        CRProcessingItem processingItem;
+        /**
+         * Number of incoming processor flows that are not arrived yet.
+         * Last arrived flow joins incoming processor flows.
+         */
+        private static final long PENDING_PROCESSOR_FLOWS_MASK = 0xFFFFL;
+
+        private static final long PENDING_MERGE_FLOW = 1L << 16;
+
+        /**
+         * Number of incoming merge flows that are not arrived yet.
+         * Includes processor handling result for all vertices except detached merge point.
+         * Last arrived flow joins incoming merge flows.
+         */
+        private static final long PENDING_MERGE_FLOWS_MASK = 0xFFFFL << 16;
+
+        private static final long PROCESSOR_COMPLETED = 1L << 32;
+        private static final long MERGE_POINT_COMPLETED = 1L << 33;
+
+        /**
+         * Handling result was processed inline, merge point outgoing transitions are activated in the same thread.
+         * Written before processor result arrival.
+         */
+        private static final long INLINE_EXECUTION = 1L << 34;
+
+        /**
+         * Handling did not complete within processor timeout.
+         * Written before completion of handling future by timeout exception.
+         */
+        private static final long HANDLING_EXPIRED = 1L << 35;
+
+        /**
+         * Handling future is result future of embedded child execution created by the reactor for this vertex,
+         * so it could be cancelled. Written before handling future is published.
+         */
+        private static final long CHILD_EXECUTION = 1L << 36;
+
+        private static final AtomicLongFieldUpdater<ProcessingVertex> STATE =
+                AtomicLongFieldUpdater.newUpdater(ProcessingVertex.class, "state");
+
+        @Getter
+        final ReactorGraphExecutionPlan.Vertex vertex;
+
+        private final AtomicReferenceArray<Object> slots;
+
+        private volatile long state;
+
+        /**
+         * Future returned by processor handler. Used to cancel handling when execution is cancelled.
+         */
+        @Getter
+        @Setter
+        volatile CompletableFuture<?> handlingFuture;
+
+        ProcessingVertex(ReactorGraphExecutionPlan.Vertex vertex, AtomicReferenceArray<Object> slots) {
+            this.vertex = vertex;
+            this.slots = slots;
+            this.state = vertex.getIncomingProcessorFlowCount()
+                    + PENDING_MERGE_FLOW * (vertex.getIncomingMergeFlowCount() + (vertex.isDetachedMergePoint() ? 0 : 1));
+        }
+
+        private int processorFlowSlot(int slot) {
+            return vertex.getSlotOffset() + slot;
+        }
+
+        private int mergeFlowSlot(int slot) {
+            return vertex.getSlotOffset() + vertex.getIncomingProcessorFlowCount() + slot;
+        }
 
-        CRReactorGraph.ProcessingItemInfo processingItemInfo;
+        private int processorResultSlot() {
+            return mergeFlowSlot(vertex.getIncomingMergeFlowCount());
+        }
 
-        final List<TransitionFuture<TransitionPayloadContext>> incomingProcessorFlows = new ArrayList<>();
+        private int mergePointResultSlot() {
+            return processorResultSlot() + 1;
+        }
 
-        final List<TransitionFuture<MergePayloadContext>> incomingMergeFlows = new ArrayList<>();
+        /**
+         * @return true if given flow is the last arrived incoming processor flow
+         * and caller is responsible for joining incoming processor flows.
+         * Flow is ignored if slot is already populated.
+         */
+        boolean arriveProcessorFlow(int slot, TransitionPayloadContext context) {
+            return slots.compareAndSet(processorFlowSlot(slot), null, context)
+                    && (STATE.addAndGet(this, -1) & PENDING_PROCESSOR_FLOWS_MASK) == 0;
+        }
 
-        final CompletableFuture<HandlePayloadContext> processorFuture = new CompletableFuture<>();
+        /**
+         * @return true if given flow is the last arrived incoming merge flow
+         * and caller is responsible for joining incoming merge flows.
+         */
+        boolean arriveMergeFlow(int slot, MergePayloadContext context) {
+            return slots.compareAndSet(mergeFlowSlot(slot), null, context)
+                    && (STATE.addAndGet(this, -PENDING_MERGE_FLOW) & PENDING_MERGE_FLOWS_MASK) == 0;
+        }
 
-        final CompletableFuture<MergePayloadContext> mergePointFuture = new CompletableFuture<>();
+        /**
+         * Stores processor handling result. Result is stored only once.
+         *
+         * @return true if result is stored and its arrival should be completed by {@link #arriveProcessorResult()}
+         */
+        boolean completeProcessor(HandlePayloadContext context) {
+            return slots.compareAndSet(processorResultSlot(), null, context);
+        }
 
         /**
-         * Holds information about outgoing transitions from this merge point.
-         * If during merging process we will receive merge status that match any of terminal transitions
-         * then we should complete mergePointFuture with Terminal MergePayloadContext
+         * Marks processor as completed, processor result is an incoming merge flow.
+         *
+         * @return true if processor handling result is the last arrived incoming merge flow
+         * and caller is responsible for joining incoming merge flows.
          */
-        final List<CRReactorGraph.Transition> mergePointTransition = new ArrayList<>();
+        boolean arriveProcessorResult() {
+            return (STATE.addAndGet(this, PROCESSOR_COMPLETED - PENDING_MERGE_FLOW) & PENDING_MERGE_FLOWS_MASK) == 0;
+        }
+
+        /**
+         * Stores merge point result. Result is stored only once.
+         *
+         * @return true if result is stored and caller is responsible for activation of outgoing transitions.
+         */
+        boolean completeMergePoint(MergePayloadContext context) {
+            if (!slots.compareAndSet(mergePointResultSlot(), null, context)) {
+                return false;
+            }
+            STATE.getAndAdd(this, MERGE_POINT_COMPLETED);
+            return true;
+        }
+
+        TransitionPayloadContext getIncomingProcessorFlow(int slot) {
+            return (TransitionPayloadContext) slots.get(processorFlowSlot(slot));
+        }
+
+        MergePayloadContext getIncomingMergeFlow(int slot) {
+            return (MergePayloadContext) slots.get(mergeFlowSlot(slot));
+        }
+
+        /**
+         * @return processor handling result or NULL if processor is not completed yet
+         */
+        HandlePayloadContext getProcessorResult() {
+            return (HandlePayloadContext) slots.get(processorResultSlot());
+        }
+
+        /**
+         * @return merge point result or NULL if merge point is not completed yet
+         */
+        MergePayloadContext getMergePointResult() {
+            return (MergePayloadContext) slots.get(mergePointResultSlot());
+        }
+
+        boolean isProcessorCompleted() {
+            return (state & PROCESSOR_COMPLETED) != 0;
+        }
+
+        boolean isMergePointCompleted() {
+            return (state & MERGE_POINT_COMPLETED) != 0;
+        }
+
+        boolean isInlineExecution() {
+            return (state & INLINE_EXECUTION) != 0;
+        }
+
+        void setInlineExecution(boolean isInlineExecution) {
+            setFlag(INLINE_EXECUTION, isInlineExecution);
+        }
+
+        boolean isHandlingExpired() {
+            return (state & HANDLING_EXPIRED) != 0;
+        }
+
+        void setHandlingExpired(boolean isHandlingExpired) {
+            setFlag(HANDLING_EXPIRED, isHandlingExpired);
+        }
+
+        boolean isChildExecution() {
+            return (state & CHILD_EXECUTION) != 0;
+        }
+
+        void setChildExecution(boolean isChildExecution) {
+            setFlag(CHILD_EXECUTION, isChildExecution);
+        }
+
+        private void setFlag(long flag, boolean value) {
+            long current;
+            do {
+                current = state;
+            } while (!STATE.compareAndSet(this, current, value ? current | flag : current & ~flag));
+        }
+
+        CRProcessingItem getProcessingItem() {
+            return vertex.getProcessingItem();
+        }
+
+        CRReactorGraph.ProcessingItemInfo getProcessingItemInfo() {
+            return vertex.getProcessingItemInfo();
+        }
+
+        @Override
+        public String toString() {
+            long current = state;
+            return "ProcessingVertex(" + vertex.getProcessingItem().getDebugName()
+                    + ", pendingProcessorFlows=" + (current & PENDING_PROCESSOR_FLOWS_MASK)
+                    + ", pendingMergeFlows=" + ((current & PENDING_MERGE_FLOWS_MASK) >>> 16)
+                    + ", processorCompleted=" + ((current & PROCESSOR_COMPLETED) != 0)
+                    + ", mergePointCompleted=" + ((current & MERGE_POINT_COMPLETED) != 0)
+                    + ", inlineExecution=" + ((current & INLINE_EXECUTION) != 0)
+                    + ", handlingExpired=" + ((current & HANDLING_EXPIRED) != 0)
+                    + ", childExecution=" + ((current & CHILD_EXECUTION) != 0)
+                    + ")";
+        }
+    }
+
+
+    /**
+     * State shared by all vertices of single graph execution.
+     */
+    static class ExecutionState<PayloadType> {
+        /**
+         * Will be completed with payload when terminal graph state would be reached.
+         */
+        final CompletableFuture<PayloadType> resultFuture = new CompletableFuture<>();
+
+        /**
+         * Will be completed when all processors of the execution complete their handling
+         */
+        final CompletableFuture<Void> chainExecutionFuture = new CompletableFuture<>();
+
+        private static final AtomicIntegerFieldUpdater<ExecutionState> PENDING_PROCESSORS =
+                AtomicIntegerFieldUpdater.newUpdater(ExecutionState.class, "pendingProcessors");
+
+        /**
+         * Number of processors and embedded child executions that are not completed yet
+         */
+        private volatile int pendingProcessors;
+
+        final Executor executor;
+
+        /**
+         * Run transition activations in thread that completed source merge point
+         */
+        final boolean sameThreadTransitions;
+
+        /**
+         * Sampled immutability control level of this execution
+         */
+        final ImmutabilityControlLevel immutabilityControlLevel;
+
+        /**
+         * Tracing decision is made once on payload submission.
+         * Field is written before completion of start point transition future,
+         * all handlers and mergers read it after that.
+         */
+        boolean isTraceable;
+
+        /**
+         * Per request state of processing vertices, addressed by plan vertex index.
+         */
+        final ProcessingVertex[] vertices;
+
+        /**
+         * Execution reached terminal state or failed.
+         * Cancellable handlers of outstanding vertices are cancelled,
+         * vertices that are not started yet will not be invoked.
+         * Detached processors are not affected.
+         */
+        volatile boolean isCancelled;
+
+        /**
+         * {@link System#nanoTime()} based deadline of execution or {@link #NO_DEADLINE}
+         */
+        final long deadlineNanos;
+
+        /**
+         * Plan of executed graph
+         */
+        final ReactorGraphExecutionPlan<PayloadType> plan;
+
+        ExecutionState(ReactorGraphExecutionPlan<PayloadType> plan,
+                       Executor executor,
+                       boolean sameThreadTransitions,
+                       ImmutabilityControlLevel immutabilityControlLevel,
+                       ProcessingVertex[] vertices,
+                       int processorCount,
+                       long deadlineNanos) {
+            this.executor = executor;
+            this.sameThreadTransitions = sameThreadTransitions;
+            this.pendingProcessors = processorCount;
+            if (processorCount == 0) {
+                chainExecutionFuture.complete(null);
+            }
+            this.immutabilityControlLevel = immutabilityControlLevel;
+            this.vertices = vertices;
+            this.deadlineNanos = deadlineNanos;
+            this.plan = plan;
+        }
+
+        /**
+         * @return time left until execution deadline in milliseconds, at least 1 ms,
+         * or {@link Long#MAX_VALUE} if execution does not have deadline
+         */
+        long remainingTimeMs() {
+            if (deadlineNanos == NO_DEADLINE) {
+                return Long.MAX_VALUE;
+            }
+            return Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+        }
+
+        /**
+         * Chain execution of this execution is not completed until chain execution of embedded child completes.
+         * Should be invoked by processor that is not completed yet, so pending counter can not reach zero before.
+         */
+        void awaitChildExecution(CompletableFuture<?> childChainExecutionFuture) {
+            PENDING_PROCESSORS.incrementAndGet(this);
+            childChainExecutionFuture.whenComplete((result, throwable) -> processorCompleted());
+        }
+
+        /**
+         * Completes chain execution future when last processor is completed
+         */
+        void processorCompleted() {
+            if (PENDING_PROCESSORS.decrementAndGet(this) == 0) {
+                chainExecutionFuture.complete(null);
+            }
+        }
     }
 
 
@@ -158,663 +531,820 @@ public class ReactorGraphExecutionBuilder {
     }
 
     /**
-     * If this flag is enabled then internal processing graph state will be attached to Execution result.
-     * This allows easy access to execution state during debug.
-     * One of drawbacks of this future is that GC will be prevented form removing internal state objects
-     * until all reference to execution result dies.
-     * <p>
-     * By default this flag is disabled.
-     *
-     * @param debugProcessingVertexGraphState
-     * @return
+     * Immutability check of each handler invocation takes payload snapshot and compares it with payload state
+     * after handling. Sampling allows to keep immutability control enabled under production load.
+     * <p>
+     * By default all executions are checked.
+     *
+     * @param samplingRate immutability control is applied to one of {@code samplingRate} graph executions
+     * @return
+     */
+    public ReactorGraphExecutionBuilder setImmutabilityCheckSamplingRate(int samplingRate) {
+        if (samplingRate < 1) {
+            throw new IllegalArgumentException("Sampling rate should be positive, but was " + samplingRate);
+        }
+        this.immutabilityCheckSamplingRate = samplingRate;
+        return this;
+    }
+
+    /**
+     * @return immutability control level of single graph execution
+     */
+    private ImmutabilityControlLevel sampleImmutabilityControlLevel() {
+        ImmutabilityControlLevel controlLevel = this.immutabilityControlLevel;
+        int samplingRate = this.immutabilityCheckSamplingRate;
+
+        if (controlLevel == ImmutabilityControlLevel.NO_CONTROL
+                || samplingRate == 1
+                || ThreadLocalRandom.current().nextInt(samplingRate) == 0) {
+            return controlLevel;
+        }
+        return ImmutabilityControlLevel.NO_CONTROL;
+    }
+
+    /**
+     * If this flag is enabled then internal processing graph state will be attached to Execution result.
+     * This allows easy access to execution state during debug.
+     * One of drawbacks of this future is that GC will be prevented form removing internal state objects
+     * until all reference to execution result dies.
+     * <p>
+     * By default this flag is disabled.
+     *
+     * @param debugProcessingVertexGraphState
+     * @return
+     */
+    public ReactorGraphExecutionBuilder setDebugProcessingVertexGraphState(boolean debugProcessingVertexGraphState) {
+        this.debugProcessingVertexGraphState = debugProcessingVertexGraphState;
+        return this;
+    }
+
+    /**
+     * @param executor executor used by all asynchronous stages of graph execution.
+     *                 Could be overridden for particular graph by {@link ReactorGraphBuilder#setExecutor(Executor)}
+     * @return
+     */
+    public ReactorGraphExecutionBuilder setExecutor(Executor executor) {
+        Objects.requireNonNull(executor);
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Transition activation is a cheap conversion of merge point result to incoming flow of next vertex.
+     * If this flag is enabled then transitions are activated in the same thread that completed merge point
+     * instead of being submitted to executor.
+     * <p>
+     * By default this flag is disabled.
+     *
+     * @param sameThreadTransitions
+     * @return
+     */
+    public ReactorGraphExecutionBuilder setSameThreadTransitions(boolean sameThreadTransitions) {
+        this.sameThreadTransitions = sameThreadTransitions;
+        return this;
+    }
+
+    /**
+     * If this flag is enabled then payload submission activates start point transitions in the submitting thread
+     * instead of submitting them to executor. Processors of the first wave are invoked by submitting thread,
+     * execution switches to executor at the first handler that returns not yet completed future.
+     * <p>
+     * Handlers of start point processors should not block, otherwise submitting thread is blocked too.
+     * By default this flag is disabled.
+     *
+     * @param sameThreadSubmission
+     * @return
+     */
+    public ReactorGraphExecutionBuilder setSameThreadSubmission(boolean sameThreadSubmission) {
+        this.sameThreadSubmission = sameThreadSubmission;
+        return this;
+    }
+
+    /**
+     * Compile graph into immutable execution plan that is shared between all executions of the graph.
+     *
+     * @param reactorGraph
+     * @param <PayloadType>
+     * @return
+     */
+    public <PayloadType> ReactorGraphExecutionPlan<PayloadType> compile(ReactorGraph<PayloadType> reactorGraph) {
+        return ReactorGraphExecutionPlan.compile((CRReactorGraph<PayloadType>) reactorGraph, threadsafeCopyMaker);
+    }
+
+    /**
+     * Compiles graph and builds execution.
+     * Prefer {@link #build(ReactorGraphExecutionPlan)} with plan compiled once by {@link #compile(ReactorGraph)}
+     *
+     * @param reactorGraph
+     * @param <PayloadType>
+     * @return
+     */
+    public <PayloadType> ReactorGraphExecution<PayloadType> build(ReactorGraph<PayloadType> reactorGraph) {
+        return build(compile(reactorGraph));
+    }
+
+    /**
+     * Builds execution without deadline
+     *
+     * @param plan
+     * @param <PayloadType>
+     * @return
+     */
+    public <PayloadType> ReactorGraphExecution<PayloadType> build(ReactorGraphExecutionPlan<PayloadType> plan) {
+        return build(plan, 0);
+    }
+
+    /**
+     * @param plan
+     * @param timeoutMs execution timeout. Subgraphs started by the execution inherit remaining time budget.
+     *                  0 if execution does not have deadline.
+     * @param <PayloadType>
+     * @return
+     */
+    public <PayloadType> ReactorGraphExecution<PayloadType> build(ReactorGraphExecutionPlan<PayloadType> plan,
+                                                                  long timeoutMs) {
+        return build(
+                plan,
+                plan.getExecutor() != null ? plan.getExecutor() : this.executor,
+                sampleImmutabilityControlLevel(),
+                timeoutMs > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs) : NO_DEADLINE);
+    }
+
+    /**
+     * @param deadlineNanos {@link System#nanoTime()} based deadline of execution or {@link #NO_DEADLINE}
+     */
+    private <PayloadType> ReactorGraphExecution<PayloadType> build(ReactorGraphExecutionPlan<PayloadType> plan,
+                                                                   Executor executor,
+                                                                   ImmutabilityControlLevel immutabilityControlLevel,
+                                                                   long deadlineNanos) {
+
+        final boolean sameThreadTransitions = this.sameThreadTransitions;
+
+        final ProcessingVertex[] processingVertices = new ProcessingVertex[plan.getVertices().length];
+
+        final ExecutionState<PayloadType> execution = new ExecutionState<>(
+                plan,
+                executor,
+                sameThreadTransitions,
+                immutabilityControlLevel,
+                processingVertices,
+                plan.getProcessorCount(),
+                deadlineNanos);
+
+        final CompletableFuture<PayloadType> submitFuture = new CompletableFuture<>();
+
+        final CompletableFuture<PayloadType> executionResultFuture = execution.resultFuture;
+
+        /**
+         * Init Processing Vertices.
+         * All vertices share single slot array of the execution.
+         */
+        final AtomicReferenceArray<Object> slots = new AtomicReferenceArray<>(plan.getSlotCount());
+        for (ReactorGraphExecutionPlan.Vertex planVertex : plan.getVertices()) {
+            processingVertices[planVertex.getIndex()] = new ProcessingVertex(planVertex, slots);
+        }
+
+        if (this.sameThreadSubmission) {
+            /**
+             * Start point transitions are activated directly by thread that completes submit future.
+             * Detached merge points of start point are activated in the same pass.
+             */
+            submitFuture.thenAccept(payload -> activateStartPoint(plan, payload, execution));
+
+        } else {
+            /**
+             * Will be completed on payload submission to processor chain
+             */
+            final CompletableFuture<TransitionPayloadContext> startPointTransitionFuture =
+                    submitFuture.thenApplyAsync(payload -> {
+                        execution.isTraceable = tracer.isTraceable(payload);
+                        return new TransitionPayloadContext().setPayload(payload);
+                    }, executor);
+
+            /**
+             * Activate start point transition.
+             * Start point flow occupies first slot of incoming flows.
+             */
+            for (int index : plan.getStartPointHandleVertices()) {
+                ProcessingVertex target = processingVertices[index];
+
+                activateTransition(
+                        startPointTransitionFuture,
+                        context -> arriveProcessorFlow(target, 0, context, execution),
+                        sameThreadTransitions,
+                        executor);
+            }
+
+            for (int index : plan.getStartPointMergeVertices()) {
+                ProcessingVertex target = processingVertices[index];
+
+                /**
+                 * In case of Detached merge point transition from start point is being converted
+                 * to a {@link MergePayloadContext}
+                 */
+                activateTransition(
+                        startPointTransitionFuture,
+                        context -> arriveMergeFlow(target, 0, startPointMergeActivation(context), execution),
+                        sameThreadTransitions,
+                        executor);
+            }
+        }
+
+        /**
+         * Outgoing flows of vertices are not subscribed in advance.
+         * Completed merge point dispatches its outgoing transitions from plan, see {@link #completeMergePoint}.
+         */
+
+        /**
+         * Handle terminal vertices.
+         * When execution reaches 'complete' vertex or fails all outstanding vertices should be cancelled.
+         * Cancellation does not allocate and does not invoke handlers,
+         * so it is made in the thread that completed execution result.
+         */
+        executionResultFuture.handle((result, throwable) -> {
+            cancelOutstandingVertices(execution);
+            return null;
+        }).exceptionally(throwable -> {
+            log.error("Cancellation of outstanding vertices is failed.", throwable);
+            return null;
+        });
+
+        return ReactorGraphExecution.<PayloadType>builder()
+                .resultFuture(executionResultFuture)
+                .submitFuture(submitFuture)
+                .chainExecutionFuture(execution.chainExecutionFuture)
+                .debugProcessingVertexGraphState(debugProcessingVertexGraphState ?
+                        Arrays.asList(processingVertices) : null)
+                .build();
+    }
+
+    /**
+     * Marks execution as cancelled and completes outstanding vertices.
+     * Empty incoming flow slots are populated by shared dead contexts,
+     * dead state propagates through the rest of the graph in the same thread.
+     * All vertices of the execution are visited, completed ones are skipped after single state read.
+     * <p>
+     * Detached processors that did not receive incoming flow yet are filled by dead contexts too,
+     * so their handlers are never invoked.
+     * Detached processors that are already handling payload are not cancelled,
+     * chain execution future waits for them.
+     */
+    private <PayloadType> void cancelOutstandingVertices(ExecutionState<PayloadType> execution) {
+        execution.isCancelled = true;
+
+        for (ProcessingVertex vertex : execution.vertices) {
+            if (vertex.isMergePointCompleted()) {
+                continue;
+            }
+
+            cancelHandling(vertex);
+
+            int processorFlowCount = vertex.getVertex().getIncomingProcessorFlowCount();
+            for (int slot = 0; slot < processorFlowCount; slot++) {
+                if (vertex.getIncomingProcessorFlow(slot) == null) {
+                    arriveProcessorFlow(vertex, slot, DEAD_TRANSITION_PAYLOAD_CONTEXT, execution);
+                }
+            }
+
+            int mergeFlowCount = vertex.getVertex().getIncomingMergeFlowCount();
+            for (int slot = 0; slot < mergeFlowCount; slot++) {
+                if (vertex.getIncomingMergeFlow(slot) == null) {
+                    arriveMergeFlow(vertex, slot, DEAD_MERGE_PAYLOAD_CONTEXT, execution);
+                }
+            }
+        }
+    }
+
+    /**
+     * Cancels in-flight handler future of the vertex if handler declared that its future could be cancelled
+     * or if it is result future of embedded child execution.
+     * Handler is notified if it listens for cancellation of returned future.
+     * Futures of other handlers and of subgraphs provided by functions could be shared between requests
+     * and are left intact, their results are not merged.
+     * Detached processors and handlers that already timed out are not cancelled.
+     */
+    private static void cancelHandling(ProcessingVertex vertex) {
+        CompletableFuture<?> handlingFuture = vertex.getHandlingFuture();
+        if (handlingFuture != null
+                && (vertex.getVertex().isCancellable() || vertex.isChildExecution())
+                && !handlingFuture.isDone()
+                && !vertex.getVertex().isDetachedProcessor()
+                && !vertex.isHandlingExpired()) {
+            handlingFuture.cancel(true);
+        }
+    }
+
+    /**
+     * Completes private expiration future of the vertex by timeout exception.
+     * Handling future returned by processor handler is not modified.
+     * Embedded child execution of subgraph vertex is cancelled, so it does not keep running without timer
+     * and does not keep parent chain execution pending.
+     */
+    private static void expireHandling(ProcessingVertex vertex,
+                                       CompletableFuture<Object> handlingExpiration,
+                                       long timeoutMs) {
+        CompletableFuture<?> handlingFuture = vertex.getHandlingFuture();
+        if (handlingFuture.isDone()) {
+            return;
+        }
+        vertex.setHandlingExpired(true);
+        handlingExpiration.completeExceptionally(new TimeoutException(String.format(
+                "Handling by processor %s took more than %d ms.",
+                vertex.getProcessingItem().getDebugName(),
+                timeoutMs)));
+        if (vertex.isChildExecution()) {
+            handlingFuture.cancel(true);
+        }
+    }
+
+    private static boolean isCancellation(Throwable throwable) {
+        return throwable instanceof CancellationException
+                || throwable instanceof CompletionException && throwable.getCause() instanceof CancellationException;
+    }
+
+    /**
+     * Activates start point transitions of submitted payload in current thread.
+     * Start point flow occupies first slot of incoming flows.
+     */
+    private <PayloadType> void activateStartPoint(ReactorGraphExecutionPlan<PayloadType> plan,
+                                                  Object payload,
+                                                  ExecutionState<PayloadType> execution) {
+        execution.isTraceable = tracer.isTraceable(payload);
+        TransitionPayloadContext context = new TransitionPayloadContext().setPayload(payload);
+
+        for (int index : plan.getStartPointHandleVertices()) {
+            arriveProcessorFlow(execution.vertices[index], 0, context, execution);
+        }
+        for (int index : plan.getStartPointMergeVertices()) {
+            arriveMergeFlow(execution.vertices[index], 0, startPointMergeActivation(context), execution);
+        }
+    }
+
+    private static <T> void activateTransition(CompletableFuture<T> source,
+                                               Consumer<? super T> arrival,
+                                               boolean sameThreadTransitions,
+                                               Executor executor) {
+        if (sameThreadTransitions) {
+            source.thenAccept(arrival);
+        } else {
+            source.thenAcceptAsync(arrival, executor);
+        }
+    }
+
+    /**
+     * Completes merge point of the vertex and activates its outgoing transitions.
+     * If vertex handling result was processed inline then transitions are activated in the same thread.
+     * Dead and terminal contexts are propagated in the same thread too: whole disabled branch is marked
+     * by single pass over plan transitions without executor submissions.
+     */
+    private <PayloadType> void completeMergePoint(ProcessingVertex vertex,
+                                                  MergePayloadContext context,
+                                                  ExecutionState<PayloadType> execution) {
+        if (!vertex.completeMergePoint(context)) {
+            return;
+        }
+
+        boolean sameThread = execution.sameThreadTransitions
+                || vertex.isInlineExecution()
+                || context == DEAD_MERGE_PAYLOAD_CONTEXT
+                || context == TERMINAL_MERGE_PAYLOAD_CONTEXT;
+
+        for (ReactorGraphExecutionPlan.OutgoingTransition transition : vertex.getVertex().getOutgoingHandleTransitions()) {
+            if (sameThread) {
+                activateHandleTransition(transition, context, execution);
+            } else {
+                execution.executor.execute(() -> activateHandleTransition(transition, context, execution));
+            }
+        }
+
+        for (ReactorGraphExecutionPlan.OutgoingTransition transition : vertex.getVertex().getOutgoingMergeTransitions()) {
+            if (sameThread) {
+                activateMergeTransition(transition, context, execution);
+            } else {
+                execution.executor.execute(() -> activateMergeTransition(transition, context, execution));
+            }
+        }
+    }
+
+    private <PayloadType> void activateHandleTransition(ReactorGraphExecutionPlan.OutgoingTransition transition,
+                                                        MergePayloadContext context,
+                                                        ExecutionState<PayloadType> execution) {
+        Function<MergePayloadContext, TransitionPayloadContext> activation = transition.getActivation();
+        arriveProcessorFlow(
+                execution.vertices[transition.getTargetVertex()],
+                transition.getTargetSlot(),
+                activation.apply(context),
+                execution);
+    }
+
+    private <PayloadType> void activateMergeTransition(ReactorGraphExecutionPlan.OutgoingTransition transition,
+                                                       MergePayloadContext context,
+                                                       ExecutionState<PayloadType> execution) {
+        Function<MergePayloadContext, MergePayloadContext> activation = transition.getActivation();
+        arriveMergeFlow(
+                execution.vertices[transition.getTargetVertex()],
+                transition.getTargetSlot(),
+                activation.apply(context),
+                execution);
+    }
+
+    private <PayloadType> void arriveProcessorFlow(ProcessingVertex vertex,
+                                                   int slot,
+                                                   TransitionPayloadContext context,
+                                                   ExecutionState<PayloadType> execution) {
+        if (vertex.arriveProcessorFlow(slot, context)) {
+            try {
+                joinIncomingProcessorFlows(vertex, execution);
+            } catch (Exception exc) {
+                log.error("Join incoming processor flows failed.", exc);
+            }
+        }
+    }
+
+    private <PayloadType> void arriveMergeFlow(ProcessingVertex vertex,
+                                               int slot,
+                                               MergePayloadContext context,
+                                               ExecutionState<PayloadType> execution) {
+        if (vertex.arriveMergeFlow(slot, context)) {
+            joinIncomingMergeFlowsSafely(vertex, execution);
+        }
+    }
+
+    /**
+     * Completes processor of the vertex and joins incoming merge flows
+     * if processor result is the last arrived merge flow.
+     */
+    private <PayloadType> void completeProcessor(ProcessingVertex vertex,
+                                                 HandlePayloadContext context,
+                                                 ExecutionState<PayloadType> execution) {
+        if (!vertex.completeProcessor(context)) {
+            return;
+        }
+        execution.processorCompleted();
+        if (vertex.arriveProcessorResult()) {
+            joinIncomingMergeFlowsSafely(vertex, execution);
+        }
+    }
+
+    private <PayloadType> void joinIncomingMergeFlowsSafely(ProcessingVertex vertex,
+                                                            ExecutionState<PayloadType> execution) {
+        try {
+            joinIncomingMergeFlows(vertex, execution);
+        } catch (Exception exc) {
+            log.error("Joining incoming merge flows failed.", exc);
+        }
+    }
+
+    private static MergePayloadContext startPointMergeActivation(TransitionPayloadContext transitionPayloadContext) {
+        if (transitionPayloadContext.isTerminal()) {
+            return TERMINAL_MERGE_PAYLOAD_CONTEXT;
+        } else if (transitionPayloadContext.isDeadTransition()) {
+            return DEAD_MERGE_PAYLOAD_CONTEXT;
+        }
+        return new MergePayloadContext()
+                .setDeadTransition(transitionPayloadContext.isDeadTransition())
+                .setTerminal(transitionPayloadContext.isTerminal())
+                .setPayload(transitionPayloadContext.getPayload())
+                .setMergeResult(null);
+    }
+
+    /**
+     * Builds stateless function that converts merge point context to incoming processor flow context
+     * of given handle transition.
      */
-    public ReactorGraphExecutionBuilder setDebugProcessingVertexGraphState(boolean debugProcessingVertexGraphState) {
-        this.debugProcessingVertexGraphState = debugProcessingVertexGraphState;
-        return this;
+    static Function<MergePayloadContext, TransitionPayloadContext> handleTransitionActivation(
+            MergeTransitionTable mergeTransitionTable,
+            int transitionIndex) {
+
+        return context -> {
+            if (context.isTerminal()) {
+                return TERMINAL_TRANSITION_PAYLOAD_CONTEXT;
+
+            } else if (context.isDeadTransition()) {
+                return DEAD_TRANSITION_PAYLOAD_CONTEXT;
+
+            } else if (mergeTransitionTable.isActive(transitionIndex, context.mergeResult)) {
+                return new TransitionPayloadContext()
+                        .setPayload(context.payload);
+            } else {
+                return DEAD_TRANSITION_PAYLOAD_CONTEXT;
+            }
+        };
     }
 
     /**
-     * @param reactorGraph
-     * @param <PayloadType>
-     * @return
+     * Builds stateless function that converts merge point context to incoming merge flow context
+     * of given merge transition.
      */
-    public <PayloadType> ReactorGraphExecution<PayloadType> build(ReactorGraph<PayloadType> reactorGraph) {
+    static Function<MergePayloadContext, MergePayloadContext> mergeTransitionActivation(
+            MergeTransitionTable mergeTransitionTable,
+            int transitionIndex) {
 
-        val crReactorGraph = (CRReactorGraph<PayloadType>) reactorGraph;
+        return context -> {
+            if (context.isTerminal()) {
+                return TERMINAL_MERGE_PAYLOAD_CONTEXT;
 
-        /**
-         * Internal representation of processing graph based on processing vertices.
-         */
-        final Map<CRProcessingItem, ProcessingVertex> processingVertices = new HashMap<>();
+            } else if (context.isDeadTransition()) {
+                return DEAD_MERGE_PAYLOAD_CONTEXT;
 
+            } else if (mergeTransitionTable.isActive(transitionIndex, context.mergeResult)) {
+                return new MergePayloadContext()
+                        .setPayload(context.payload)
+                        .setMergeResult(context.mergeResult);
+            } else {
+                return DEAD_MERGE_PAYLOAD_CONTEXT;
+            }
+        };
+    }
 
-        final CompletableFuture<PayloadType> submitFuture = new CompletableFuture<>();
+    private <PayloadType> void joinIncomingProcessorFlows(ProcessingVertex processingItem,
+                                                          ExecutionState<PayloadType> execution) {
 
-        /**
-         * Will be completed on payload submission to processor chain
-         */
-        final CompletableFuture<ReactorGraphExecutionBuilder.TransitionPayloadContext> startPointTransitionFuture =
-                submitFuture.thenApplyAsync(payload -> new TransitionPayloadContext().setPayload(payload));
+        boolean isInvalid = false;
+        boolean isTerminal = false;
+        int activeFlowCount = 0;
+        TransitionPayloadContext activeFlow = null;
 
-        /**
-         * Will be completed with payload when terminal graph state would be reached.
-         */
-        final CompletableFuture<PayloadType> executionResultFuture = new CompletableFuture<>();
+        int flowCount = processingItem.getVertex().getIncomingProcessorFlowCount();
+        for (int slot = 0; slot < flowCount; slot++) {
+            TransitionPayloadContext context = processingItem.getIncomingProcessorFlow(slot);
+            /**
+             * All incoming flows should be already arrived
+             */
+            if (context == null) {
+                Exception resultException = new Exception(String.format(
+                        "Illegal graph execution state." +
+                                " Incoming flow is not arrived. Processor: %s",
+                        processingItem.getProcessingItem().getDebugName()));
+
+                log.error(resultException.getMessage(), resultException);
+                execution.resultFuture.completeExceptionally(resultException);
+                isInvalid = true;
+
+            } else if (context.isTerminal()) {
+                isTerminal = true;
+
+            } else if (!context.isDeadTransition()) {
+                activeFlowCount++;
+                activeFlow = context;
+            }
+        }
+
+        if (isInvalid) {
+            /**
+             * Invalid graph execution state
+             * Mark as terminal all outgoing flows from processor
+             */
+            completeProcessor(
+                    processingItem,
+                    TERMINAL_HANDLE_PAYLOAD_CONTEXT,
+                    execution);
+
+        } else if (isTerminal) {
+            /**
+             * Terminal state reached.
+             * Mark as terminal all outgoing flows from processor
+             */
+            completeProcessor(processingItem, TERMINAL_HANDLE_PAYLOAD_CONTEXT, execution);
+
+        } else if (activeFlowCount <= 0) {
+            /**
+             * There is no active incoming flow for given processor.
+             * Processor will not be invoked.
+             * All outgoing flows from processor will be marked as dead.
+             */
+            completeProcessor(processingItem, DEAD_HANDLE_PAYLOAD_CONTEXT, execution);
+
+        } else if (activeFlowCount > 1) {
+            /**
+             * Illegal graph state. Too many active incoming flows.
+             * Mark as terminal all outgoing flows
+             * Complete graph with exception
+             */
+            Exception tooManyActiveIncomingFlowsExc = new Exception(String.format(
+                    "There is more than one active incoming flow for processor %s." +
+                            " Reactor can not determinate from which of transitions" +
+                            " take payload." +
+                            " Possible loss of computation results." +
+                            " Possible concurrent modifications of payload.",
+                    processingItem.getProcessingItem().getDebugName()));
+
+            execution.resultFuture.completeExceptionally(tooManyActiveIncomingFlowsExc);
+            completeProcessor(processingItem, TERMINAL_HANDLE_PAYLOAD_CONTEXT, execution);
+
+        } else {
+            handle(processingItem, activeFlow, execution);
+        }
+    }
+
+    private <PayloadType> void joinIncomingMergeFlows(ProcessingVertex vertex,
+                                                      ExecutionState<PayloadType> execution) {
 
         /**
-         * Init Processing Vertices.
+         * Processor result
+         * Could be NULL in case of detached merge point
          */
-        crReactorGraph.getProcessingItems().forEach((proc, info) -> {
-            ProcessingVertex vertex = new ProcessingVertex()
-                    .setProcessingItem(proc)
-                    .setProcessingItemInfo(info);
+        HandlePayloadContext handlePayloadContext = null;
 
-            if (info.getProcessingItemType() == CRReactorGraph.ProcessingItemType.MERGE_POINT) {
+        if (vertex.getProcessingItemInfo().getProcessingItemType()
+                != CRReactorGraph.ProcessingItemType.MERGE_POINT) {
+
+            handlePayloadContext = vertex.getProcessorResult();
+
+            if (handlePayloadContext == null) {
                 /**
-                 * Detached merge point does not uses {@code {@link ProcessingVertex#getProcessorFuture()}
+                 * Processor result is not arrived.
+                 * Merging will not be applied to payload.
+                 * All outgoing flows from merge point will be marked as terminal.
+                 * executionResult completed by exception
                  */
-                vertex.getProcessorFuture().completeExceptionally(new IllegalStateException(
-                        String.format("Detached Merge Point %s should not use processorFuture.",
-                                vertex.getProcessingItem().getDebugName())));
-            }
-
-            processingVertices.put(proc, vertex);
-        });
+                RuntimeException resultException = new RuntimeException(String.format(
+                        "Illegal graph execution state. Processor" +
+                                " is not completed. Processor %s",
+                        vertex.getProcessingItem().getDebugName()));
+                log.error(resultException.getMessage(), resultException);
+                execution.resultFuture.completeExceptionally(resultException);
+
+                completeMergePoint(vertex, TERMINAL_MERGE_PAYLOAD_CONTEXT, execution);
+                return;
 
-        /**
-         * Populate start point transition
-         */
-        for (CRProcessingItem processor : crReactorGraph.getStartPoint().getProcessingItems()) {
-            ProcessingVertex vertex = processingVertices.get(processor);
+            } else if (handlePayloadContext.isTerminal()) {
+                /**
+                 * Processor was marked as terminal during flow by terminal transition.
+                 * Merging will not be applied to payload.
+                 * All outgoing flows from merge point will be marked as terminal.
+                 */
+                completeMergePoint(vertex, TERMINAL_MERGE_PAYLOAD_CONTEXT, execution);
+                return;
 
-            if (vertex.getProcessingItemInfo().getProcessingItemType() == CRReactorGraph.ProcessingItemType.MERGE_POINT) {
+            } else if (handlePayloadContext.isDeadTransition()) {
                 /**
-                 * In case of Detached merge point transition from start point is being converted
-                 * to a {@link MergePayloadContext}
+                 * Processor was disabled during flow by dead transition.
+                 * Merging will not be applied to payload.
+                 * All outgoing flows from merge point will be marked as dead.
                  */
-                vertex.getIncomingMergeFlows().add(new TransitionFuture<>(
-                        startPointTransitionFuture.thenApplyAsync(
-                                transitionPayloadContext ->
-                                        new MergePayloadContext()
-                                                .setDeadTransition(transitionPayloadContext.isDeadTransition())
-                                                .setTerminal(transitionPayloadContext.isTerminal())
-                                                .setPayload(transitionPayloadContext.getPayload())
-                                                .setMergeResult(null))));
-            } else {
-                vertex.getIncomingProcessorFlows()
-                        .add(new TransitionFuture<>(startPointTransitionFuture));
+                completeMergePoint(vertex, DEAD_MERGE_PAYLOAD_CONTEXT, execution);
+                return;
             }
         }
 
         /**
-         * Populate MergePoints
-         */
-        crReactorGraph.getMergePoints()
-                .forEach(mergePoint -> {
-                    ProcessingVertex mergePointVertex = processingVertices.get(mergePoint.asProcessingItem());
-                    mergePoint.getTransitions().forEach(mergePointVertex.getMergePointTransition()::add);
-                });
-
-        /**
-         * Populate transitions to all MergePoints
+         * Incoming merge flows, could be empty for processors Merge Point
          */
-        crReactorGraph.getMergePoints().forEach(mergePoint -> {
-            ProcessingVertex mergePointVertex = processingVertices.get(mergePoint.asProcessingItem());
-            mergePoint.getTransitions().forEach(mergePointVertex.getMergePointTransition()::add);
-        });
-
+        boolean isInvalid = false;
+        boolean isTerminal = false;
+        boolean isDead = false;
+        int activeFlowCount = 0;
+        MergePayloadContext activeFlow = null;
+
+        int flowCount = vertex.getVertex().getIncomingMergeFlowCount();
+        for (int slot = 0; slot < flowCount; slot++) {
+            MergePayloadContext context = vertex.getIncomingMergeFlow(slot);
+            if (context == null) {
+                RuntimeException resultException = new RuntimeException(String.format(
+                        "Illegal graph execution state. Incoming merge flow" +
+                                " is not arrived." +
+                                " ProcessingVertex: %s", vertex));
+                log.error(resultException.getMessage(), resultException);
+                execution.resultFuture.completeExceptionally(resultException);
+                isInvalid = true;
+
+            } else if (context.isTerminal()) {
+                isTerminal = true;
+
+            } else if (context.isDeadTransition()) {
+                isDead = true;
 
-        /**
-         * Populate outgoing flows
-         */
-        for (CRReactorGraph.MergePoint mergePoint : crReactorGraph.getMergePoints()) {
+            } else {
+                activeFlowCount++;
+                activeFlow = context;
+            }
+        }
 
+        if (isInvalid) {
             /**
-             * MergeGroup can contain more that one MergePoint, so we have to wait all merge points to complete before
-             * invoke processors.
-             * We should not wait all merge point to complete if we are invoking other merge point within mergeGroup.
+             * Exception during merging
+             * Mark as terminal all outgoing flows from merge point
              */
-            ProcessingVertex mergePointVertex = processingVertices.get(mergePoint.asProcessingItem());
+            completeMergePoint(vertex, TERMINAL_MERGE_PAYLOAD_CONTEXT, execution);
 
-            CompletableFuture<MergePayloadContext> mergePointFuture = mergePointVertex.getMergePointFuture();
+        } else if (isTerminal) {
+            /**
+             * Terminal state reached.
+             * Mark as terminal all outgoing flows from merge point
+             */
+            completeMergePoint(vertex, TERMINAL_MERGE_PAYLOAD_CONTEXT, execution);
 
-            for (CRReactorGraph.Transition transition : mergePoint.getTransitions()) {
+        } else if (vertex.getProcessingItemInfo().getProcessingItemType()
+                == CRReactorGraph.ProcessingItemType.MERGE_POINT) {
+            /**
+             * Detached merge point
+             */
+            if (activeFlowCount == 0) {
 
                 /**
-                 * Terminal merge point vertex handled synchronously with merging process
-                 * Skip that kind of transition during pre-processing.
+                 * Check that there are at least one incoming transition that marked as dead
                  */
-                if (!transition.isComplete()) {
-                    /**
-                     * Populate outgoing processor flows
-                     * activates when all merge points within merge group is completed
-                     */
-                    if (transition.getHandleBy() != null) {
-                        CRProcessingItem proc = transition.getHandleBy();
-
-                        processingVertices.get(proc).getIncomingProcessorFlows().add(
-                                new TransitionFuture<>(
-                                        mergePointFuture.thenApplyAsync(
-                                                context -> {
-                                                    if (context.isTerminal()) {
-                                                        return new TransitionPayloadContext().setTerminal(true);
-
-                                                    } else if (context.isDeadTransition()) {
-                                                        return new TransitionPayloadContext().setDeadTransition(true);
-
-                                                    } else if (transition.isOnAny()
-                                                            || transition.getMergeStatuses()
-                                                            .contains(context.mergeResult)) {
-
-                                                        return new TransitionPayloadContext()
-                                                                .setPayload(context.payload);
-                                                    } else {
-                                                        return new TransitionPayloadContext()
-                                                                .setPayload(context.payload)
-                                                                .setDeadTransition(true);
-                                                    }
-                                                }
-                                        ).exceptionally(exc -> {
-                                            log.error("Failed to activate");
-                                            return null;
-                                        })
-                                )
-                        );
-
-                    }
-
+                if (isDead) {
                     /**
-                     * Populate outgoing merge flows
+                     * Detached MergePoint marked as Dead, because there are no active incoming
+                     * flows and there is at least one incoming dead transition
+                     * Mark as dead all outgoing flows from merge point
                      */
-                    if (transition.getMerge() != null) {
-                        CRProcessingItem proc = transition.getMerge();
-
-                        ProcessingVertex transitionDestinationVertex = processingVertices.get(proc);
-
-                        transitionDestinationVertex.getIncomingMergeFlows().add(
-                                new TransitionFuture<>(
-                                        mergePointFuture.thenApplyAsync(
-                                                context -> {
-                                                    if (context.isTerminal()) {
-                                                        return new MergePayloadContext().setTerminal(true);
-
-                                                    } else if (context.isDeadTransition()) {
-                                                        return new MergePayloadContext().setDeadTransition(true);
-
-                                                    } else if (transition.isOnAny() ||
-                                                            transition.getMergeStatuses()
-                                                                    .contains(context.mergeResult)) {
-
-                                                        return new MergePayloadContext()
-                                                                .setPayload(context.payload)
-                                                                .setMergeResult(context.mergeResult);
-                                                    } else {
-                                                        return new MergePayloadContext()
-                                                                .setDeadTransition(true);
-                                                    }
-                                                }
-                                        )
-
-                                )
-                        );
-
-                    }
+                    completeMergePoint(vertex, DEAD_MERGE_PAYLOAD_CONTEXT, execution);
+                } else {
+                    throw new IllegalStateException(String.format(
+                            "There is no incoming merge flows for detached merge point %s." +
+                                    " At least dead incoming transition expected.",
+                            vertex.getProcessingItem().getDebugName()));
                 }
-            }
-        }
-
-        /**
-         * Join incoming processor flows to single processor invocation
-         */
-        processingVertices.forEach((processor, processingItem) -> {
 
-            if (processingItem.getProcessingItemInfo().getProcessingItemType()
-                    == CRReactorGraph.ProcessingItemType.MERGE_POINT) {
+            } else if (activeFlowCount > 1) {
                 /**
-                 * Detached merge point does not have graph processor, only merge point.
-                 * No processor invocation is needed
+                 * Illegal graph state. Too many active incoming flows.
+                 * Mark as terminal all outgoing flows from merge point
+                 * Complete graph with exception
                  */
-                if (processingItem.getIncomingProcessorFlows().size() != 0) {
-                    throw new IllegalStateException(String.format(
-                            "Invalid graph state. Detached merge point %s have more than 0 incoming flows.",
-                            processor.getDebugName()));
-                }
-                return;
-            }
-
-            if (processingItem.getIncomingProcessorFlows().size() <= 0) {
-                throw new IllegalArgumentException(String.format(
-                        "Invalid graph descriptor. Processor %s does not have incoming flows." +
-                                " Probably missing handleBy directive for this processor.",
-                        processor.getDebugName()));
-            }
-
-            CompletableFuture.allOf(
-                    processingItem.getIncomingProcessorFlows().stream()
-                            .map(TransitionFuture::getFuture)
-                            .toArray(CompletableFuture[]::new)
-            )
-
-                    .thenRunAsync(() -> {
-
-                                List<TransitionPayloadContext> incomingFlows = processingItem
-                                        .getIncomingProcessorFlows()
-                                        .stream()
-                                        .map(future -> {
-                                            try {
-                                                /**
-                                                 * Future should be already complete
-                                                 */
-                                                if (!future.getFuture().isDone()) {
-                                                    Exception resultException = new Exception(String.format(
-                                                            "Illegal graph execution state." +
-                                                                    " Future is not completed. Processor: %s",
-                                                            processingItem.getProcessingItem().getDebugName()));
-
-                                                    log.error(resultException.getMessage(), resultException);
-                                                    executionResultFuture.completeExceptionally(resultException);
-                                                    return INVALID_TRANSITION_PAYLOAD_CONTEXT;
-                                                } else {
-                                                    return future.getFuture().get();
-                                                }
-                                            } catch (Exception exc) {
-                                                Exception resultException = new Exception(String.format(
-                                                        "Failed to get incoming processor flow future result" +
-                                                                " for processor: %s",
-                                                        processingItem.getProcessingItem().getDebugName()), exc);
-                                                log.error(resultException.getMessage(), resultException);
-                                                executionResultFuture.completeExceptionally(resultException);
-
-                                                return INVALID_TRANSITION_PAYLOAD_CONTEXT;
-                                            }
-                                        })
-                                        .collect(Collectors.toList());
-
-                                if (incomingFlows.stream().anyMatch(
-                                        context -> context == INVALID_TRANSITION_PAYLOAD_CONTEXT)) {
-                                    /**
-                                     * Invalid graph execution state
-                                     * Mark as terminal all outgoing flows from processor
-                                     */
-                                    processingItem.getProcessorFuture().complete(
-                                            new HandlePayloadContext()
-                                                    .setTerminal(true));
-
-                                } else if (incomingFlows.stream().anyMatch(TransitionPayloadContext::isTerminal)) {
-                                    /**
-                                     * Terminal state reached.
-                                     * Mark as terminal all outgoing flows from processor
-                                     */
-                                    processingItem.getProcessorFuture().complete(new HandlePayloadContext()
-                                            .setTerminal(true));
-
-                                } else {
-                                    List<TransitionPayloadContext> activeIncomingFlows = incomingFlows.stream()
-                                            .filter(context -> !context.isDeadTransition())
-                                            .collect(Collectors.toList());
-
-                                    if (activeIncomingFlows.size() <= 0) {
-                                        /**
-                                         * There is no active incoming flow for given processor.
-                                         * Processor will not be invoked.
-                                         * All outgoing flows from processor will be marked as dead.
-                                         */
-                                        processingItem.getProcessorFuture().complete(new HandlePayloadContext()
-                                                .setDeadTransition(true));
-                                    } else {
-                                        if (activeIncomingFlows.size() > 1) {
-
-                                            /**
-                                             * Illegal graph state. Too many active incoming flows.
-                                             * Mark as terminal all outgoing flows
-                                             * Complete graph with exception
-                                             */
-                                            Exception tooManyActiveIncomingFlowsExc = new Exception(String.format(
-                                                    "There is more than one active incoming flow for processor %s." +
-                                                            " Reactor can not determinate from which of transitions" +
-                                                            " take payload." +
-                                                            " Possible loss of computation results." +
-                                                            " Possible concurrent modifications of payload.",
-                                                    processingItem.getProcessingItem().getDebugName()));
-
-                                            executionResultFuture.completeExceptionally(tooManyActiveIncomingFlowsExc);
-                                            processingItem.getProcessorFuture().complete(new HandlePayloadContext()
-                                                    .setTerminal(true));
-
-                                        } else {
-
-                                            handle(processingItem, activeIncomingFlows.get(0), executionResultFuture);
-                                        }
-                                    }
-                                }
-                            }
-                    )
-                    .exceptionally(throwable -> {
-                        log.error("Join incoming processor flows failed.", throwable);
-                        return null;
-                    });
-
-        });//processingVertices
-
-        /**
-         * Join incoming merge flows and processor handing future with single merging invocation
-         */
-        processingVertices.forEach((processor, vertex) -> {
+                Exception tooManyActiveIncomingFlowsExc = new Exception(String.format(
+                        "There is more than one active incoming flow for routing point %s." +
+                                " Reactor can not determinate from which of transitions take" +
+                                " payload." +
+                                " Possible loss of computation results." +
+                                " Possible concurrent modifications of payload.",
+                        vertex.getProcessingItem().getDebugName()));
 
-            List<CompletableFuture> incomingFlows = new ArrayList<>();
-            vertex.getIncomingMergeFlows()
-                    .stream()
-                    .map(TransitionFuture::getFuture)
-                    .forEach(incomingFlows::add);
+                execution.resultFuture.completeExceptionally(tooManyActiveIncomingFlowsExc);
+                completeMergePoint(vertex, TERMINAL_MERGE_PAYLOAD_CONTEXT, execution);
 
-            if (vertex.getProcessingItemInfo().getProcessingItemType() !=
-                    CRReactorGraph.ProcessingItemType.MERGE_POINT) {
+            } else {
                 /**
-                 * Ignore processor future for detached merge point
-                 * And use it for all other cases
+                 * Single active incoming merge flow
                  */
-                incomingFlows.add(vertex.getProcessorFuture());
+                merge(vertex,
+                        Optional.empty(),
+                        activeFlow.getPayload(),
+                        execution);
             }
+        } else {
+            /**
+             * Processors MergePoint
+             */
+            if (flowCount == 0) {
+                /**
+                 * No incoming merge flows, only one flow from processors handle
+                 */
+                merge(vertex,
+                        handlePayloadContext.getProcessorResult(),
+                        handlePayloadContext.getPayload(),
+                        execution);
 
-            CompletableFuture.allOf(incomingFlows.toArray(new CompletableFuture[incomingFlows.size()]))
-                    .thenRunAsync(() -> {
-
-                        /**
-                         * Processor result, could be INVALID_HANDLE_PAYLOAD_CONTEXT in case of exception
-                         * Could be NULL in case of detached merge point
-                         */
-                        HandlePayloadContext handlePayloadContext = null;
-
-                        if (vertex.getProcessingItemInfo().getProcessingItemType()
-                                != CRReactorGraph.ProcessingItemType.MERGE_POINT) {
-
-                            handlePayloadContext = Optional.of(vertex.getProcessorFuture())
-                                    .map(future -> {
-                                        try {
-                                            if (!future.isDone()) {
-                                                RuntimeException resultException = new RuntimeException(String.format(
-                                                        "Illegal graph execution state. Processor future" +
-                                                                " is not completed. Processor %s",
-                                                        vertex.getProcessingItem().getDebugName()));
-                                                log.error(resultException.getMessage(), resultException);
-                                                executionResultFuture.completeExceptionally(resultException);
-
-                                                return INVALID_HANDLE_PAYLOAD_CONTEXT;
-                                            } else {
-                                                return future.get();
-                                            }
-                                        } catch (Exception exc) {
-                                            RuntimeException resultException = new RuntimeException(String.format(
-                                                    "Failed to get processor future result for processor: %s",
-                                                    vertex.getProcessingItem().getDebugName()), exc);
-
-                                            log.error(resultException.getMessage(), resultException);
-                                            executionResultFuture.completeExceptionally(resultException);
-
-                                            return INVALID_HANDLE_PAYLOAD_CONTEXT;
-                                        }
-                                    })
-                                    .orElse(INVALID_HANDLE_PAYLOAD_CONTEXT);
-
-                            if (handlePayloadContext == INVALID_HANDLE_PAYLOAD_CONTEXT) {
-                                /**
-                                 * Failed to get processor result.
-                                 * Merging will not be applied to payload.
-                                 * All outgoing flows from merge point will be marked as terminal.
-                                 * executionResult completed by exception
-                                 */
-                                vertex.getMergePointFuture().complete(new MergePayloadContext().setTerminal(true));
-                                return;
-
-                            } else if (handlePayloadContext.isTerminal()) {
-                                /**
-                                 * Processor was marked as terminal during flow by terminal transition.
-                                 * Merging will not be applied to payload.
-                                 * All outgoing flows from merge point will be marked as terminal.
-                                 */
-                                vertex.getMergePointFuture().complete(new MergePayloadContext().setTerminal(true));
-                                return;
-
-                            } else if (handlePayloadContext.isDeadTransition()) {
-                                /**
-                                 * Processor was disabled during flow by dead transition.
-                                 * Merging will not be applied to payload.
-                                 * All outgoing flows from merge point will be marked as dead.
-                                 */
-                                vertex.getMergePointFuture().complete(new MergePayloadContext().setDeadTransition(true));
-                                return;
-                            }
-                        }
-
-                        /**
-                         * Incoming merge flows, could be empty for processors Merge Point
-                         */
-                        List<MergePayloadContext> incomingMergeFlows = vertex.getIncomingMergeFlows().stream()
-                                .map(future -> {
-                                    try {
-                                        if (!future.getFuture().isDone()) {
-
-                                            RuntimeException resultException = new RuntimeException(String.format(
-                                                    "Illegal graph execution state. Incoming merge future" +
-                                                            " is not complete." +
-                                                            " ProcessingVertex: %s", vertex));
-                                            log.error(resultException.getMessage(), resultException);
-                                            executionResultFuture.completeExceptionally(resultException);
-                                            return INVALID_MERGE_PAYLOAD_CONTEXT;
-                                        } else {
-                                            return future.getFuture().get();
-                                        }
-                                    } catch (Exception exc) {
-                                        RuntimeException resultException = new RuntimeException(String.format(
-                                                "Failed to get incoming merge flow future result for processor: %s",
-                                                vertex.getProcessingItem().getDebugName()), exc);
-
-                                        log.error(resultException.getMessage(), resultException);
-                                        executionResultFuture.completeExceptionally(resultException);
-                                        return INVALID_MERGE_PAYLOAD_CONTEXT;
-                                    }
-                                }).collect(Collectors.toList());
-
-                        if (incomingMergeFlows.stream().anyMatch(context -> context == INVALID_MERGE_PAYLOAD_CONTEXT)) {
-                            /**
-                             * Exception during merging
-                             * Mark as terminal all outgoing flows from merge point
-                             */
-                            vertex.getMergePointFuture().complete(new MergePayloadContext().setTerminal(true));
-
-                        } else if (incomingMergeFlows.stream().anyMatch(MergePayloadContext::isTerminal)) {
-                            /**
-                             * Terminal state reached.
-                             * Mark as terminal all outgoing flows from merge point
-                             */
-                            vertex.getMergePointFuture().complete(new MergePayloadContext().setTerminal(true));
-
-                        } else {
-
-                            final List<MergePayloadContext> activeIncomingMergeFlows = incomingMergeFlows.stream()
-                                    .filter(context -> !context.isDeadTransition())
-                                    .collect(Collectors.toList());
-
-                            if (vertex.getProcessingItemInfo().getProcessingItemType()
-                                    == CRReactorGraph.ProcessingItemType.MERGE_POINT) {
-                                /**
-                                 * Detached merge point
-                                 */
-                                if (activeIncomingMergeFlows.size() == 0) {
-
-                                    /**
-                                     * Check that there are at least one incoming transition that marked as dead
-                                     */
-                                    if (incomingMergeFlows.stream().anyMatch(MergePayloadContext::isDeadTransition)) {
-                                        /**
-                                         * Detached MergePoint marked as Dead, because there are no active incoming
-                                         * flows and there is at least one incoming dead transition
-                                         * Mark as dead all outgoing flows from merge point
-                                         */
-                                        vertex.getMergePointFuture().complete(
-                                                new MergePayloadContext()
-                                                        .setDeadTransition(true));
-                                    } else {
-                                        throw new IllegalStateException(String.format(
-                                                "There is no incoming merge flows for detached merge point %s." +
-                                                        " At least dead incoming transition expected.",
-                                                vertex.getProcessingItem().getDebugName()));
-                                    }
-
-                                } else {
-                                    if (activeIncomingMergeFlows.size() > 1) {
-                                        /**
-                                         * Illegal graph state. Too many active incoming flows.
-                                         * Mark as terminal all outgoing flows from merge point
-                                         * Complete graph with exception
-                                         */
-                                        Exception tooManyActiveIncomingFlowsExc = new Exception(String.format(
-                                                "There is more than one active incoming flow for routing point %s." +
-                                                        " Reactor can not determinate from which of transitions take" +
-                                                        " payload." +
-                                                        " Possible loss of computation results." +
-                                                        " Possible concurrent modifications of payload.",
-                                                vertex.getProcessingItem().getDebugName()));
-
-                                        executionResultFuture.completeExceptionally(tooManyActiveIncomingFlowsExc);
-                                        vertex.getMergePointFuture().complete(
-                                                new MergePayloadContext()
-                                                        .setTerminal(true));
-
-                                    } else {
-                                        /**
-                                         * Single active incoming merge flow
-                                         */
-                                        merge(vertex,
-                                                Optional.empty(),
-                                                activeIncomingMergeFlows.get(0).getPayload(),
-                                                executionResultFuture);
-                                    }
-                                }
-                            } else {
-                                /**
-                                 * Processors MergePoint
-                                 */
-                                if (incomingMergeFlows.size() == 0) {
-                                    /**
-                                     * No incoming merge flows, only one flow from processors handle
-                                     */
-                                    merge(vertex,
-                                            handlePayloadContext.getProcessorResult(),
-                                            handlePayloadContext.getPayload(),
-                                            executionResultFuture);
-                                } else {
-                                    /**
-                                     * Incoming merge flows exists. But some of them can be marked as dead.
-                                     */
-                                    if (activeIncomingMergeFlows.size() == 0) {
-                                        /**
-                                         * There is no active incoming merge flow for given merge point.
-                                         * Mark merge point as dead.
-                                         */
-                                        vertex.getMergePointFuture().complete(new MergePayloadContext()
-
-                                                .setDeadTransition(true));
-
-                                    } else {
-
-                                        if (activeIncomingMergeFlows.size() > 1) {
-                                            /**
-                                             * Illegal graph state. Too many active incoming flows.
-                                             * Mark as terminal all outgoing flows from merge point
-                                             * Complete graph with exception
-                                             */
-                                            Exception tooManyActiveIncomingFlowsExc = new Exception(String.format(
-                                                    "There is more than one active incoming flow for merge point for" +
-                                                            " processor %s." +
-                                                            " Reactor can not determinate from which of transitions" +
-                                                            " take payload." +
-                                                            " Possible loss of computation results." +
-                                                            " Possible concurrent modifications of payload.",
-                                                    vertex.getProcessingItem().getDebugName()));
-
-                                            executionResultFuture.completeExceptionally(tooManyActiveIncomingFlowsExc);
-                                            vertex.getMergePointFuture().complete(
-                                                    new MergePayloadContext()
-                                                            .setTerminal(true));
-
-                                        } else {
-
-                                            merge(vertex,
-                                                    handlePayloadContext.getProcessorResult(),
-                                                    activeIncomingMergeFlows.get(0).getPayload(),
-                                                    executionResultFuture);
-                                        }
-                                    }
-                                }
-
-                            }
-                        }
-                    })
-                    .exceptionally(throwable -> {
-                        log.error("Joining incoming merge flows failed.", throwable);
-                        return null;
-                    });
-
-        });//processingVertices
-
-        /**
-         * Handle terminal vertices.
-         * When execution reaches 'complete' vertex all transitions should be marked dead and complete.
-         */
-        executionResultFuture.thenRunAsync(() -> {
-            processingVertices.entrySet().stream()
-                    .map(Map.Entry::getValue)
-                    .map(ProcessingVertex::getIncomingProcessorFlows)
-                    .flatMap(Collection::stream)
-                    .map(TransitionFuture::getFuture)
-                    .forEach(future -> future.complete(new TransitionPayloadContext().setDeadTransition(true)));
-
-            processingVertices.entrySet().stream()
-                    .map(Map.Entry::getValue)
-                    .map(ProcessingVertex::getIncomingProcessorFlows)
-                    .flatMap(Collection::stream)
-                    .map(TransitionFuture::getFuture)
-                    .forEach(future -> future.complete(new TransitionPayloadContext().setDeadTransition(true)));
-        }).exceptionally(throwable -> {
-            log.error("Marking transitions as dead is failed.", throwable);
-            return null;
-        });
+            } else if (activeFlowCount == 0) {
+                /**
+                 * Incoming merge flows exists, but all of them are marked as dead.
+                 * Mark merge point as dead.
+                 */
+                completeMergePoint(vertex, DEAD_MERGE_PAYLOAD_CONTEXT, execution);
 
-        /**
-         * Collect chain execution processor handling futures
-         * Processors futures holds handle invocation result or dead context.
-         * Exception is an detached merge point which processorFuture is not used
-         * Then all processors futures completes chainExecutionFuture completes too.
-         */
-        CompletableFuture<Void> chainExecutionFuture = CompletableFuture.allOf(
-                processingVertices.entrySet().stream()
-                        .map(Map.Entry::getValue)
-                        //detached merge point does not have processor future
-                        .filter(vertex -> vertex.getProcessingItemInfo().getProcessingItemType() !=
-                                CRReactorGraph.ProcessingItemType.MERGE_POINT)
-                        .map(ProcessingVertex::getProcessorFuture)
-                        .toArray(CompletableFuture[]::new)
-        );
+            } else if (activeFlowCount > 1) {
+                /**
+                 * Illegal graph state. Too many active incoming flows.
+                 * Mark as terminal all outgoing flows from merge point
+                 * Complete graph with exception
+                 */
+                Exception tooManyActiveIncomingFlowsExc = new Exception(String.format(
+                        "There is more than one active incoming flow for merge point for" +
+                                " processor %s." +
+                                " Reactor can not determinate from which of transitions" +
+                                " take payload." +
+                                " Possible loss of computation results." +
+                                " Possible concurrent modifications of payload.",
+                        vertex.getProcessingItem().getDebugName()));
+
+                execution.resultFuture.completeExceptionally(tooManyActiveIncomingFlowsExc);
+                completeMergePoint(vertex, TERMINAL_MERGE_PAYLOAD_CONTEXT, execution);
 
-        return ReactorGraphExecution.<PayloadType>builder()
-                .resultFuture(executionResultFuture)
-                .submitFuture(submitFuture)
-                .chainExecutionFuture(chainExecutionFuture)
-                .debugProcessingVertexGraphState(debugProcessingVertexGraphState ? processingVertices.values() : null)
-                .build();
+            } else {
+                merge(vertex,
+                        handlePayloadContext.getProcessorResult(),
+                        activeFlow.getPayload(),
+                        execution);
+            }
+        }
     }
 
     private CompletableFuture<?> invokeHandlingMethod(
-            CRReactorGraph.ProcessingItemInfo processorInfo,
-            CRProcessingItem processingItem,
-            Object payload) {
+            ProcessingVertex processingVertex,
+            Object payload,
+            ExecutionState<?> execution) {
+
+        CRReactorGraph.ProcessingItemInfo processorInfo = processingVertex.getProcessingItemInfo();
+        CRProcessingItem processingItem = processingVertex.getProcessingItem();
 
         switch (processorInfo.getProcessingItemType()) {
             case PROCESSOR:
-                return invokeProcessorHandlingMethod(processorInfo, processingItem, payload);
+                return invokeProcessorHandlingMethod(processingVertex, payload);
             case SUBGRAPH:
-                return invokeSubgraphHandlingMethod(processorInfo, payload);
+                return invokeSubgraphHandlingMethod(processingVertex, payload, execution);
             default:
                 throw new IllegalStateException(
                         String.format("Processing item %s of type %s not supported",
@@ -824,151 +1354,69 @@ public class ReactorGraphExecutionBuilder {
     }
 
     private CompletableFuture<?> invokeSubgraphHandlingMethod(
-            CRReactorGraph.ProcessingItemInfo processorInfo,
-            Object payload) {
+            ProcessingVertex processingVertex,
+            Object payload,
+            ExecutionState<?> execution) {
+
+        Object param = processingVertex.getVertex().getSubgraphInvoker().invokeArg(payload);
+
+        long subgraphTimeoutMs = processingVertex.getVertex().getHandlingTimeoutMs();
+
+        ReactorGraphExecutionPlan<?> subgraphPlan = execution.plan.getSubgraphPlan(processingVertex.getVertex());
+        if (subgraphPlan != null) {
+            /**
+             * Subgraph is executed as embedded child execution.
+             * It shares deadline, executor and immutability control level of parent execution.
+             * Parent cancels child execution by cancellation of subgraph handling future.
+             */
+            long deadlineNanos = execution.deadlineNanos;
+            if (subgraphTimeoutMs > 0) {
+                long subgraphDeadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(subgraphTimeoutMs);
+                if (deadlineNanos == NO_DEADLINE || subgraphDeadlineNanos - deadlineNanos < 0) {
+                    deadlineNanos = subgraphDeadlineNanos;
+                }
+            }
+
+            ReactorGraphExecution<Object> childExecution = build(
+                    (ReactorGraphExecutionPlan<Object>) subgraphPlan,
+                    subgraphPlan.getExecutor() != null ? subgraphPlan.getExecutor() : execution.executor,
+                    execution.immutabilityControlLevel,
+                    deadlineNanos);
+
+            /**
+             * Detached processors of child keep parent chain execution pending
+             */
+            execution.awaitChildExecution(childExecution.getChainExecutionFuture());
+            processingVertex.setChildExecution(true);
 
-        Object param = processorInfo.getSubgraphDescription().getArg().apply(payload);
-        if (processorInfo.getSubgraphDescription().isCopyArg()) {
-            param = threadsafeCopyMaker.makeThreadsafeCopy(param);
+            childExecution.getSubmitFuture().complete(param);
+            return childExecution.getResultFuture();
         }
 
-        return subgraphRunner.run(param);
+        /**
+         * Subgraph inherits remaining time budget of parent execution
+         */
+        long timeoutMs = execution.remainingTimeMs();
+        if (subgraphTimeoutMs > 0) {
+            timeoutMs = Math.min(timeoutMs, subgraphTimeoutMs);
+        }
+        return subgraphRunner.run(param, timeoutMs == Long.MAX_VALUE ? 0 : timeoutMs);
     }
 
     private CompletableFuture<?> invokeProcessorHandlingMethod(
-            CRReactorGraph.ProcessingItemInfo processorInfo,
-            CRProcessingItem processingItem,
+            ProcessingVertex processingVertex,
             Object payload) {
 
-        CRProcessorDescription description = processorInfo.getDescription();
-
         try {
-
-            Object param1 = null;
-            Object param2 = null;
-            Object param3 = null;
-            Object param4 = null;
-            Object param5 = null;
-            Object param6 = null;
-            Object param7 = null;
-
-            if (description.getArg1() != null) {
-                param1 = description.getArg1().apply(payload);
-                if (description.isCopyArg1()) {
-                    param1 = threadsafeCopyMaker.makeThreadsafeCopy(param1);
-                }
-            }
-            if (description.getArg2() != null) {
-                param2 = description.getArg2().apply(payload);
-                if (description.isCopyArg2()) {
-                    param2 = threadsafeCopyMaker.makeThreadsafeCopy(param2);
-                }
-            }
-            if (description.getArg3() != null) {
-                param3 = description.getArg3().apply(payload);
-                if (description.isCopyArg3()) {
-                    param3 = threadsafeCopyMaker.makeThreadsafeCopy(param3);
-                }
-            }
-            if (description.getArg4() != null) {
-                param4 = description.getArg4().apply(payload);
-                if (description.isCopyArg4()) {
-                    param4 = threadsafeCopyMaker.makeThreadsafeCopy(param4);
-                }
-            }
-            if (description.getArg5() != null) {
-                param5 = description.getArg5().apply(payload);
-                if (description.isCopyArg5()) {
-                    param5 = threadsafeCopyMaker.makeThreadsafeCopy(param5);
-                }
-            }
-            if (description.getArg6() != null) {
-                param6 = description.getArg6().apply(payload);
-                if (description.isCopyArg6()) {
-                    param6 = threadsafeCopyMaker.makeThreadsafeCopy(param6);
-                }
-            }
-            if (description.getArg7() != null) {
-                param7 = description.getArg7().apply(payload);
-                if (description.isCopyArg7()) {
-                    param7 = threadsafeCopyMaker.makeThreadsafeCopy(param7);
-                }
-            }
-
-
-            if (description.getHandler0() != null) {
-                return (CompletableFuture) description.getHandler0().handle();
-
-            } else if (description.getHandler1() != null) {
-                return (CompletableFuture) description.getHandler1().handle(param1);
-
-
-            } else if (description.getHandler2() != null) {
-                return (CompletableFuture) description.getHandler2().handle(
-                        param1,
-                        param2
-                );
-            } else if (description.getHandler3() != null) {
-                return (CompletableFuture) description.getHandler3().handle(
-                        param1,
-                        param2,
-                        param3
-                );
-
-            } else if (description.getHandler4() != null) {
-                return (CompletableFuture) description.getHandler4().handle(
-                        param1,
-                        param2,
-                        param3,
-                        param4
-                );
-
-            } else if (description.getHandler5() != null) {
-                return (CompletableFuture) description.getHandler5().handle(
-                        param1,
-                        param2,
-                        param3,
-                        param4,
-                        param5
-                );
-            } else if (description.getHandler6() != null) {
-                return (CompletableFuture) description.getHandler6().handle(
-                        param1,
-                        param2,
-                        param3,
-                        param4,
-                        param5,
-                        param6
-                );
-            } else if (description.getHandler7() != null) {
-                return (CompletableFuture) description.getHandler7().handle(
-                        param1,
-                        param2,
-                        param3,
-                        param4,
-                        param5,
-                        param6,
-                        param7
-                );
-            } else {
-                CompletableFuture result = new CompletableFuture();
-                result.completeExceptionally(
-                        new IllegalArgumentException(
-                                String.format("There is no handler in processor %s for payload %s %s",
-                                        processingItem.getDebugName(),
-                                        payload.getClass(),
-                                        debugSerializer.dumpObject(payload))));
-                return result;
-            }
+            return processingVertex.getVertex().getProcessorInvoker().invokeHandler(payload);
 
         } catch (Exception exc) {
             CompletableFuture result = new CompletableFuture();
             result.completeExceptionally(
                     new IllegalArgumentException(
-                            String.format("Exception during handling in processor %s for payload %s %s",
-                                    processingItem.getDebugName(),
-                                    payload.getClass(),
-                                    debugSerializer.dumpObject(payload)),
+                            String.format("Exception during handling in processor %s for payload %s",
+                                    processingVertex.getProcessingItem().getDebugName(),
+                                    payload.getClass()),
                             exc));
             return result;
         }
@@ -977,7 +1425,7 @@ public class ReactorGraphExecutionBuilder {
 
     private <PayloadType> void handle(ProcessingVertex processingVertex,
                                       TransitionPayloadContext payloadContext,
-                                      CompletableFuture<PayloadType> executionResultFuture) {
+                                      ExecutionState<PayloadType> execution) {
 
         CRReactorGraph.ProcessingItemInfo processorInfo = processingVertex.getProcessingItemInfo();
         Object payload = payloadContext.getPayload();
@@ -992,11 +1440,18 @@ public class ReactorGraphExecutionBuilder {
                     processorInfo.getProcessingItemType()));
         }
 
-        ProfiledCall handleCall = profiler.profiledCall(
-                ProfilerNames.PROCESSOR_HANDLE + processingVertex.getProcessingItem().getProfilingName())
+        if (execution.isCancelled && !processingVertex.getVertex().isDetachedProcessor()) {
+            /**
+             * Execution is already completed, handling result would not be merged.
+             */
+            completeProcessor(processingVertex, TERMINAL_HANDLE_PAYLOAD_CONTEXT, execution);
+            return;
+        }
+
+        ProfiledCall handleCall = profiler.profiledCall(processingVertex.getVertex().getHandleProfilingName())
                 .start();
 
-        boolean isTraceablePayload = tracer.isTraceable(payload);
+        boolean isTraceablePayload = execution.isTraceable;
         Object handleTracingMarker = isTraceablePayload ?
                 tracer.beforeHandle(processingVertex.getProcessingItem().getIdentity(), payload) :
                 null;
@@ -1008,9 +1463,9 @@ public class ReactorGraphExecutionBuilder {
 
         /**
          * Immutability check ensures that there is no payload modification during handling.
+         * Control level is sampled once per graph execution.
          */
-        final ImmutabilityControlLevel controlLevel = this.immutabilityControlLevel;
-
+        final ImmutabilityControlLevel controlLevel = execution.immutabilityControlLevel;
         ImmutabilityChecker.Snapshot payloadSnapshot;
 
         try {
@@ -1020,7 +1475,7 @@ public class ReactorGraphExecutionBuilder {
                  */
                 payloadSnapshot = immutabilityChecker.takeSnapshot(payload);
 
-                handlingResult = invokeHandlingMethod(processorInfo, processingVertex.getProcessingItem(), payload);
+                handlingResult = invokeHandlingMethod(processingVertex, payload, execution);
 
             } else {
                 /**
@@ -1028,64 +1483,118 @@ public class ReactorGraphExecutionBuilder {
                  */
                 payloadSnapshot = null;
 
-                handlingResult = invokeHandlingMethod(processorInfo, processingVertex.getProcessingItem(), payload);
+                handlingResult = invokeHandlingMethod(processingVertex, payload, execution);
             }
         } catch (Exception handlingException) {
             RuntimeException exc = new RuntimeException(
                     String.format(
-                            "Failed handling by processor %s for payload %s %s. Handling method raised exception: %s.",
+                            "Failed handling by processor %s for payload %s. Handling method raised exception: %s.",
                             processingVertex.getProcessingItem().getDebugName(),
                             payload.getClass(),
-                            debugSerializer.dumpObject(payload),
                             handlingException),
                     handlingException);
 
-            log.error(exc.getMessage(), exc);
-            executionResultFuture.completeExceptionally(exc);
-            processingVertex.getProcessorFuture().complete(new HandlePayloadContext().setTerminal(true));
+            log.error("{} Payload: {}", exc.getMessage(), debugSerializer.lazyDump(payload), exc);
+            execution.resultFuture.completeExceptionally(exc);
+            completeProcessor(
+                    processingVertex,
+                    TERMINAL_HANDLE_PAYLOAD_CONTEXT,
+                    execution);
             return;
         }
 
         if (handlingResult == null) {
             RuntimeException exc = new RuntimeException(
                     String.format(
-                            "Failed handling by processor %s for payload %s %s. Handling method returned NULL." +
+                            "Failed handling by processor %s for payload %s. Handling method returned NULL." +
                                     " Instance of CompletableFuture expected.",
                             processingVertex.getProcessingItem().getDebugName(),
-                            payload.getClass(),
-                            debugSerializer.dumpObject(payload)));
-
-            log.error(exc.getMessage(), exc);
-            executionResultFuture.completeExceptionally(exc);
-            processingVertex.getProcessorFuture().complete(new HandlePayloadContext().setTerminal(true));
+                            payload.getClass()));
+
+            log.error("{} Payload: {}", exc.getMessage(), debugSerializer.lazyDump(payload), exc);
+            execution.resultFuture.completeExceptionally(exc);
+            completeProcessor(
+                    processingVertex,
+                    TERMINAL_HANDLE_PAYLOAD_CONTEXT,
+                    execution);
             return;
         }
 
-        handlingResult.handleAsync((res, thr) -> {
+        /**
+         * Inline processor or handler that returned already completed future continues in current thread:
+         * handling result, merge and outgoing transitions are not submitted to executor.
+         */
+        boolean isInline = processingVertex.getVertex().isInline() || handlingResult.isDone();
+        processingVertex.setInlineExecution(isInline);
+
+        processingVertex.setHandlingFuture(handlingResult);
+        if (execution.isCancelled) {
+            /**
+             * Execution was cancelled or expired during handler invocation.
+             * Handler future is cancelled only if processor declared cancellation.
+             */
+            cancelHandling(processingVertex);
+        }
+
+        long handlingTimeoutMs = processingVertex.getVertex().getHandlingTimeoutMs();
+        HashedWheelTimer.Timeout handlingTimeout;
+        CompletableFuture<?> observedHandlingResult;
+        if (handlingTimeoutMs > 0 && !handlingResult.isDone()) {
+            /**
+             * Handling result races against private expiration future completed by timer,
+             * so that timeout does not complete future owned by processor handler
+             */
+            CompletableFuture<Object> handlingExpiration = new CompletableFuture<>();
+            handlingTimeout = timeoutTimer.schedule(
+                    () -> execution.executor.execute(
+                            () -> expireHandling(processingVertex, handlingExpiration, handlingTimeoutMs)),
+                    handlingTimeoutMs,
+                    TimeUnit.MILLISECONDS);
+            observedHandlingResult = ((CompletableFuture<Object>) handlingResult)
+                    .applyToEither(handlingExpiration, Function.identity());
+        } else {
+            handlingTimeout = null;
+            observedHandlingResult = handlingResult;
+        }
+
+        BiFunction<Object, Throwable, Void> afterHandle = (res, thr) -> {
             handleCall.stop();
 
+            if (handlingTimeout != null) {
+                handlingTimeout.cancel();
+            }
+
             if (isTraceablePayload) {
                 tracer.afterHandle(handleTracingMarker, handleTracingIdentity, res, thr);
             }
 
+            if (thr != null && execution.isCancelled && isCancellation(thr)) {
+                /**
+                 * Handling was cancelled together with execution
+                 */
+                completeProcessor(processingVertex, TERMINAL_HANDLE_PAYLOAD_CONTEXT, execution);
+                return null;
+            }
+
             if (controlLevel != ImmutabilityControlLevel.NO_CONTROL) {
 
                 Optional<String> diff = immutabilityChecker.diff(payloadSnapshot, payload);
                 if (diff.isPresent()) {
                     String message = String.format("Concurrent modification of payload %s detected. Diff: %s.",
-                            debugSerializer.dumpObject(payload),
+                            payload.getClass(),
                             diff.get());
 
                     switch (controlLevel) {
                         case LOG_ERROR:
-                            log.error(message);
+                            log.error("{} Payload: {}", message, debugSerializer.lazyDump(payload));
                             break;
                         case LOG_WARN:
-                            log.warn(message);
+                            log.warn("{} Payload: {}", message, debugSerializer.lazyDump(payload));
                             break;
                         case EXCEPTION:
                             RuntimeException immutabilityException = new RuntimeException(message);
-                            log.error(message, immutabilityException);
+                            log.error("{} Payload: {}", message, debugSerializer.lazyDump(payload),
+                                    immutabilityException);
 
                             if (thr == null) {
                                 log.error(
@@ -1100,26 +1609,49 @@ public class ReactorGraphExecutionBuilder {
                 }
             }
 
-            if (thr != null) {
+            if (thr != null
+                    && processingVertex.isHandlingExpired()
+                    && processingVertex.getVertex().getHandlingTimeoutStatus() != null) {
+                /**
+                 * Handling timed out, merge point will use fallback status
+                 */
+                log.warn("Handling by processor {} timed out after {} ms. Fallback status {} is used.",
+                        processingVertex.getProcessingItem().getDebugName(),
+                        handlingTimeoutMs,
+                        processingVertex.getVertex().getHandlingTimeoutStatus());
+
+                completeProcessor(processingVertex, new HandlePayloadContext()
+                        .setPayload(payload)
+                        .setProcessorResult(HANDLING_TIMEOUT_RESULT), execution);
+
+            } else if (thr != null) {
                 RuntimeException exc = new RuntimeException(
                         String.format(
-                                "Failed handling by processor %s for payload %s %s",
+                                "Failed handling by processor %s for payload %s",
                                 processingVertex.getProcessingItem().getDebugName(),
-                                payload.getClass(),
-                                debugSerializer.dumpObject(payload)),
+                                payload.getClass()),
                         thr);
 
-                log.error(exc.getMessage(), exc);
-                executionResultFuture.completeExceptionally(exc);
+                log.error("{} Payload: {}", exc.getMessage(), debugSerializer.lazyDump(payload), exc);
+                execution.resultFuture.completeExceptionally(exc);
 
-                processingVertex.getProcessorFuture().complete(new HandlePayloadContext().setTerminal(true));
+                completeProcessor(
+                        processingVertex,
+                        TERMINAL_HANDLE_PAYLOAD_CONTEXT,
+                        execution);
             } else {
-                processingVertex.getProcessorFuture().complete(new HandlePayloadContext()
+                completeProcessor(processingVertex, new HandlePayloadContext()
                         .setPayload(payload)
-                        .setProcessorResult(res));
+                        .setProcessorResult(res), execution);
             }
             return null;
-        }).exceptionally(exc -> {
+        };
+
+        CompletableFuture<Void> afterHandleFuture = isInline ?
+                observedHandlingResult.handle(afterHandle) :
+                observedHandlingResult.handleAsync(afterHandle, execution.executor);
+
+        afterHandleFuture.exceptionally(exc -> {
             log.error("Failed to execute afterHandle block for {}",
                     Optional.of(processingVertex)
                             .map(ProcessingVertex::getProcessingItem)
@@ -1130,70 +1662,75 @@ public class ReactorGraphExecutionBuilder {
     }
 
     /**
-     * @param processingVertex
-     * @param processorResult       empty in case of detached merge point
-     * @param payload
-     * @param executionResultFuture
-     * @param <PayloadType>
+     * Invokes merger of the vertex or returns fallback status if handling timed out
+     *
+     * @return merge status
      */
-    private <PayloadType> void merge(ProcessingVertex processingVertex,
+    private static Enum invokeMerger(ProcessingVertex processingVertex,
                                      Object processorResult,
                                      Object payload,
-                                     CompletableFuture<PayloadType> executionResultFuture) {
+                                     ExecutionState<?> execution) {
 
         CRReactorGraph.ProcessingItemInfo processorInfo = processingVertex.getProcessingItemInfo();
 
-        Supplier<Enum> mergerInvocation;
-
         switch (processorInfo.getProcessingItemType()) {
             case PROCESSOR:
-                if (processorInfo.getDescription().getMerger() == null) {
-                    /**
-                     * This Processor does not have merger
-                     */
-                    processingVertex.getMergePointFuture().complete(new MergePayloadContext().setDeadTransition(true));
-                    return;
-                } else {
-                    mergerInvocation = () -> (Enum) processorInfo.getDescription().getMerger().merge(
-                            payload,
-                            processorResult);
+                if (processorResult == HANDLING_TIMEOUT_RESULT) {
+                    return processingVertex.getVertex().getHandlingTimeoutStatus();
                 }
-                break;
+                return processingVertex.getVertex().getProcessorInvoker().invokeMerger(payload, processorResult);
             case SUBGRAPH:
-                if (processorInfo.getSubgraphDescription().getMerger() == null) {
-                    /**
-                     * This Subgraph does not have merger
-                     */
-                    processingVertex.getMergePointFuture().complete(new MergePayloadContext().setDeadTransition(true));
-                    return;
-                } else {
-                    mergerInvocation = () -> (Enum) processorInfo.getSubgraphDescription().getMerger().merge(
-                            payload,
-                            processorResult);
+                if (processorResult == HANDLING_TIMEOUT_RESULT) {
+                    return processingVertex.getVertex().getHandlingTimeoutStatus();
                 }
-                break;
+                return processingVertex.getVertex().getSubgraphInvoker().invokeMerger(payload, processorResult);
             case MERGE_POINT:
-                mergerInvocation = () -> (Enum) processorInfo.getDetachedMergePointDescription()
-                        .getMerger()
-                        .merge(payload);
-                break;
-
+                return processingVertex.getVertex().getMergePointInvoker().invokeMerger(payload);
             default:
                 throw new IllegalArgumentException(String.format("Unknown processor type: %s",
                         processorInfo.getProcessingItemType()));
         }
+    }
+
+    /**
+     * @param processingVertex
+     * @param processorResult       empty in case of detached merge point
+     * @param payload
+     * @param execution
+     * @param <PayloadType>
+     */
+    private <PayloadType> void merge(ProcessingVertex processingVertex,
+                                     Object processorResult,
+                                     Object payload,
+                                     ExecutionState<PayloadType> execution) {
+
+        if (execution.isCancelled) {
+            /**
+             * Execution result is already completed or expired.
+             * Handling result arrived after cancellation is not merged into payload.
+             */
+            completeMergePoint(processingVertex, TERMINAL_MERGE_PAYLOAD_CONTEXT, execution);
+            return;
+        }
 
+        if (processingVertex.getVertex().isDetachedProcessor()) {
+            /**
+             * This Processor or Subgraph does not have merger
+             */
+            completeMergePoint(processingVertex, DEAD_MERGE_PAYLOAD_CONTEXT, execution);
+            return;
+        }
 
+        MergePayloadContext mergePointResult;
         try {
-            ProfiledCall mergeCall = profiler.profiledCall(
-                    ProfilerNames.PROCESSOR_MERGE + processingVertex.getProcessingItem().getProfilingName())
+            ProfiledCall mergeCall = profiler.profiledCall(processingVertex.getVertex().getMergeProfilingName())
                     .start();
-            boolean isTraceablePayload = tracer.isTraceable(payload);
+            boolean isTraceablePayload = execution.isTraceable;
             Object mergeTracingMarker = isTraceablePayload ?
                     tracer.beforeMerge(processingVertex.getProcessingItem().getIdentity(), payload, processorResult) :
                     null;
 
-            Enum mergeStatus = mergerInvocation.get();
+            Enum mergeStatus = invokeMerger(processingVertex, processorResult, payload, execution);
 
             mergeCall.stop();
 
@@ -1204,17 +1741,16 @@ public class ReactorGraphExecutionBuilder {
             /**
              * Select outgoing transitions that matches mergeStatus
              */
-            List<CRReactorGraph.Transition> activeTransitions = processingVertex.getMergePointTransition().stream()
-                    .filter(transition -> transition.isOnAny() || transition.getMergeStatuses().contains(mergeStatus))
-                    .collect(Collectors.toList());
+            MergeTransitionTable mergeTransitionTable = processingVertex.getVertex().getMergeTransitionTable();
+            long activeTransitions = mergeTransitionTable.activeTransitions(mergeStatus);
 
-            if (activeTransitions.size() <= 0) {
+            if (activeTransitions == 0) {
                 throw new IllegalStateException(String.format("Merger function returned %s.%s status." +
                                 " But merge point of processor %s does not have matching transition for this status." +
                                 " Expected status from merger function one of: %s",
                         mergeStatus.getDeclaringClass(), mergeStatus,
                         processingVertex.getProcessingItem().getDebugName(),
-                        processingVertex.getMergePointTransition().stream()
+                        Arrays.stream(processingVertex.getVertex().getMergePointTransitions())
                                 .map(CRReactorGraph.Transition::getDebugDescription)
                                 .collect(Collectors.joining(",", "{", "}"))));
             }
@@ -1222,17 +1758,17 @@ public class ReactorGraphExecutionBuilder {
             /**
              * check if this merge point have terminal transitions that matches merge status
              */
-            if (activeTransitions.stream().anyMatch(CRReactorGraph.Transition::isComplete)) {
+            if (mergeTransitionTable.isTerminal(activeTransitions)) {
 
                 /**
                  * Handle terminal transition by completing execution result
                  */
-                if (!executionResultFuture.complete((PayloadType) payload)) {
+                if (!execution.resultFuture.complete((PayloadType) payload)) {
 
                     Object previousResult = null;
                     try {
-                        if (executionResultFuture.isDone()) {
-                            previousResult = executionResultFuture.get();
+                        if (execution.resultFuture.isDone()) {
+                            previousResult = execution.resultFuture.get();
                         } else {
                             log.error("Illegal graph execution state." +
                                     " Completion failed for new result," +
@@ -1245,8 +1781,8 @@ public class ReactorGraphExecutionBuilder {
                     log.error("Processing chain was completed by at least two different terminal steps." +
                                     " Already completed with result {}." +
                                     " New completion result {} in merge point for processor {}",
-                            debugSerializer.dumpObject(previousResult),
-                            debugSerializer.dumpObject(payload),
+                            debugSerializer.lazyDump(previousResult),
+                            debugSerializer.lazyDump(payload),
                             processingVertex.getProcessingItem().getDebugName());
                 }
 
@@ -1254,30 +1790,32 @@ public class ReactorGraphExecutionBuilder {
                  * Terminal state reached. Execution result completed.
                  * Throw poison pill - terminal context. All following merge points should be deactivated.
                  */
-                processingVertex.getMergePointFuture().complete(new MergePayloadContext()
-                        .setPayload(null)
-                        .setMergeResult(mergeStatus)
-                        .setTerminal(true));
+                mergePointResult = TERMINAL_MERGE_PAYLOAD_CONTEXT;
             } else {
                 /**
                  * There is no terminal state reached after merging.
                  */
-                processingVertex.getMergePointFuture().complete(new MergePayloadContext()
+                mergePointResult = new MergePayloadContext()
                         .setPayload(payload)
-                        .setMergeResult(mergeStatus));
+                        .setMergeResult(mergeStatus);
             }
 
         } catch (Exception exc) {
             log.error("Failed to merge payload {} {} by processing item {} for result {}",
                     payload.getClass(),
-                    debugSerializer.dumpObject(payload),
+                    debugSerializer.lazyDump(payload),
                     processingVertex.getProcessingItem().getDebugName(),
-                    debugSerializer.dumpObject(processorResult),
+                    debugSerializer.lazyDump(processorResult),
                     exc);
 
-            executionResultFuture.completeExceptionally(exc);
+            execution.resultFuture.completeExceptionally(exc);
 
-            processingVertex.getMergePointFuture().complete(new MergePayloadContext().setDeadTransition(true));
+            mergePointResult = DEAD_MERGE_PAYLOAD_CONTEXT;
         }
+
+        /**
+         * Outgoing transitions are activated outside of merger exception handling
+         */
+        completeMergePoint(processingVertex, mergePointResult, execution);
     }
 }
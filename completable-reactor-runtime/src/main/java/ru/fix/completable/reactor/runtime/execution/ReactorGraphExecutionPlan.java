@@ -0,0 +1,456 @@
+package ru.fix.completable.reactor.runtime.execution;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import ru.fix.completable.reactor.runtime.ProfilerNames;
+import ru.fix.completable.reactor.runtime.cloning.ThreadsafeCopyMaker;
+import ru.fix.completable.reactor.runtime.internal.CRProcessingItem;
+import ru.fix.completable.reactor.runtime.internal.CRReactorGraph;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Immutable index based representation of {@link CRReactorGraph}.
+ * Compiled once during graph registration and shared between all executions of the graph.
+ * Vertices are published with final fields, only links to plans of registered subgraphs change after compilation.
+ * Each submission only allocates per request state that is addressed by vertex indexes of this plan.
+ */
+@Getter
+public class ReactorGraphExecutionPlan<PayloadType> {
+
+    /**
+     * Transition from merge point of one vertex to handling or merging of another vertex.
+     */
+    @Getter
+    public static class OutgoingTransition {
+        final CRReactorGraph.Transition transition;
+        /**
+         * Index of target vertex within {@link ReactorGraphExecutionPlan#getVertices()}
+         */
+        final int targetVertex;
+        /**
+         * Position of this transition among incoming flows of target vertex
+         */
+        final int targetSlot;
+        /**
+         * Stateless conversion of source merge point context to target incoming flow context.
+         * {@code Function<MergePayloadContext, TransitionPayloadContext>} for handle transitions and
+         * {@code Function<MergePayloadContext, MergePayloadContext>} for merge transitions.
+         */
+        final Function activation;
+
+        OutgoingTransition(CRReactorGraph.Transition transition, int targetVertex, int targetSlot, Function activation) {
+            this.transition = transition;
+            this.targetVertex = targetVertex;
+            this.targetSlot = targetSlot;
+            this.activation = activation;
+        }
+    }
+
+    @Getter
+    public static class Vertex {
+        final int index;
+        final CRProcessingItem processingItem;
+        final CRReactorGraph.ProcessingItemInfo processingItemInfo;
+        final boolean isDetachedMergePoint;
+
+        /**
+         * Processor declared by {@code ProcessorDescriptionBuilder#inline()}
+         */
+        final boolean isInline;
+
+        /**
+         * Processor or subgraph without merger.
+         * It is invoked for side effects only and keeps running after terminal state of execution is reached.
+         */
+        final boolean isDetachedProcessor;
+
+        /**
+         * Handling future could be cancelled when execution completes before handling.
+         * Processor declares it by {@code ProcessorDescriptionBuilder#withCancellation()}.
+         * Subgraph vertex is not cancellable by declaration: subgraph could be provided by function
+         * that returns its own future. Result future of embedded child execution is created by the reactor
+         * and is cancelled by execution state of the vertex.
+         */
+        final boolean isCancellable;
+
+        /**
+         * Max duration of processor handling or subgraph execution in milliseconds, 0 if not limited
+         */
+        final long handlingTimeoutMs;
+
+        /**
+         * Merge status used instead of merger result when handling timed out.
+         * NULL if handling timeout fails graph execution.
+         */
+        final Enum handlingTimeoutStatus;
+
+        /**
+         * Handler and merger invocation compiled for processor vertex, NULL for subgraphs and detached merge points
+         */
+        final ProcessorInvoker processorInvoker;
+
+        /**
+         * Argument and merger invocation compiled for subgraph vertex, NULL for processors and detached merge points
+         */
+        final SubgraphInvoker subgraphInvoker;
+
+        /**
+         * Merger invocation compiled for detached merge point, NULL for processors and subgraphs
+         */
+        final MergePointInvoker mergePointInvoker;
+
+        /**
+         * Profiler metric names resolved once during graph registration
+         */
+        final String handleProfilingName;
+        final String mergeProfilingName;
+
+        /**
+         * Fan-in of processor handling invocation
+         */
+        final int incomingProcessorFlowCount;
+
+        /**
+         * Fan-in of merge point invocation, does not include processor handling flow
+         */
+        final int incomingMergeFlowCount;
+
+        /**
+         * Outgoing transitions of this vertex merge point.
+         * Includes terminal transitions that does not have target vertex.
+         */
+        final CRReactorGraph.Transition[] mergePointTransitions;
+
+        /**
+         * Selection of {@link #mergePointTransitions} by merge status
+         */
+        final MergeTransitionTable mergeTransitionTable;
+
+        final OutgoingTransition[] outgoingHandleTransitions;
+        final OutgoingTransition[] outgoingMergeTransitions;
+
+        /**
+         * Position of vertex region within execution slots, see {@link ReactorGraphExecutionPlan#getSlotCount()}.
+         * Region holds incoming processor flows, incoming merge flows, processor result and merge point result.
+         */
+        final int slotOffset;
+
+        private Vertex(VertexBuilder builder, int slotOffset, ThreadsafeCopyMaker threadsafeCopyMaker) {
+            this.index = builder.index;
+            this.processingItem = builder.processingItem;
+            this.processingItemInfo = builder.processingItemInfo;
+            this.isDetachedMergePoint = builder.isDetachedMergePoint;
+            this.isInline =
+                    processingItemInfo.getProcessingItemType() == CRReactorGraph.ProcessingItemType.PROCESSOR
+                            && processingItemInfo.getDescription().isInline();
+            this.isDetachedProcessor = !isDetachedMergePoint && !processingItemInfo.isMergerExist();
+            switch (processingItemInfo.getProcessingItemType()) {
+                case PROCESSOR:
+                    this.handlingTimeoutMs = toMillis(processingItemInfo.getDescription().getTimeout());
+                    this.handlingTimeoutStatus = processingItemInfo.getDescription().getTimeoutStatus();
+                    this.processorInvoker = ProcessorInvoker.compile(
+                            processingItemInfo.getDescription(),
+                            threadsafeCopyMaker);
+                    this.subgraphInvoker = null;
+                    this.mergePointInvoker = null;
+                    this.isCancellable = processingItemInfo.getDescription().isCancellable();
+                    break;
+                case SUBGRAPH:
+                    this.handlingTimeoutMs = toMillis(processingItemInfo.getSubgraphDescription().getTimeout());
+                    this.handlingTimeoutStatus = processingItemInfo.getSubgraphDescription().getTimeoutStatus();
+                    this.processorInvoker = null;
+                    this.subgraphInvoker = SubgraphInvoker.compile(
+                            processingItemInfo.getSubgraphDescription(),
+                            threadsafeCopyMaker);
+                    this.mergePointInvoker = null;
+                    this.isCancellable = false;
+                    break;
+                default:
+                    this.handlingTimeoutMs = 0;
+                    this.handlingTimeoutStatus = null;
+                    this.processorInvoker = null;
+                    this.subgraphInvoker = null;
+                    this.mergePointInvoker = MergePointInvoker.compile(
+                            processingItemInfo.getDetachedMergePointDescription());
+                    this.isCancellable = false;
+            }
+            this.handleProfilingName = ProfilerNames.PROCESSOR_HANDLE + processingItem.getProfilingName();
+            this.mergeProfilingName = ProfilerNames.PROCESSOR_MERGE + processingItem.getProfilingName();
+            this.incomingProcessorFlowCount = builder.incomingProcessorFlowCount;
+            this.incomingMergeFlowCount = builder.incomingMergeFlowCount;
+            this.mergePointTransitions = builder.mergePointTransitions;
+            this.mergeTransitionTable = builder.mergeTransitionTable;
+            this.outgoingHandleTransitions = builder.outgoingHandleTransitions;
+            this.outgoingMergeTransitions = builder.outgoingMergeTransitions;
+            this.slotOffset = slotOffset;
+        }
+    }
+
+    /**
+     * Collects vertex structure during plan compilation.
+     * Vertex is created from builder when all transitions of the graph are resolved.
+     */
+    private static class VertexBuilder {
+        final int index;
+        final CRProcessingItem processingItem;
+        final CRReactorGraph.ProcessingItemInfo processingItemInfo;
+        final boolean isDetachedMergePoint;
+
+        int incomingProcessorFlowCount;
+        int incomingMergeFlowCount;
+
+        CRReactorGraph.Transition[] mergePointTransitions = new CRReactorGraph.Transition[0];
+        MergeTransitionTable mergeTransitionTable;
+        OutgoingTransition[] outgoingHandleTransitions = new OutgoingTransition[0];
+        OutgoingTransition[] outgoingMergeTransitions = new OutgoingTransition[0];
+
+        VertexBuilder(int index, CRProcessingItem processingItem, CRReactorGraph.ProcessingItemInfo processingItemInfo) {
+            this.index = index;
+            this.processingItem = processingItem;
+            this.processingItemInfo = processingItemInfo;
+            this.isDetachedMergePoint =
+                    processingItemInfo.getProcessingItemType() == CRReactorGraph.ProcessingItemType.MERGE_POINT;
+        }
+    }
+
+    /**
+     * Incoming flow counters of vertex are packed into 16 bits of vertex state word
+     */
+    static final int MAX_FLOW_COUNT = 0xFFFF - 1;
+
+    private static long toMillis(Duration timeout) {
+        return timeout == null ? 0 : Math.max(1, timeout.toMillis());
+    }
+
+    final CRReactorGraph<PayloadType> graph;
+
+    /**
+     * Profiler metric name of payload execution resolved once during graph registration
+     */
+    final String payloadProfilingName;
+
+    /**
+     * Graph specific executor or NULL if reactor executor should be used
+     */
+    final Executor executor;
+
+    final Vertex[] vertices;
+
+    /**
+     * Processor and subgraph vertices that handle payload submitted to start point.
+     */
+    final int[] startPointHandleVertices;
+
+    /**
+     * Detached merge point vertices that merge payload submitted to start point.
+     */
+    final int[] startPointMergeVertices;
+
+    /**
+     * Size of per request slot array that holds incoming flows and results of all vertices
+     */
+    final int slotCount;
+
+    /**
+     * Number of vertices that complete chain execution by processor result.
+     * Detached merge points do not have processor.
+     */
+    final int processorCount;
+
+    /**
+     * Plans of registered subgraphs addressed by vertex index.
+     * Subgraphs can be registered after parent graph, so links are the only part of the plan
+     * that is modified after compilation, see {@link #linkSubgraphs(Function)}.
+     */
+    @Getter(AccessLevel.NONE)
+    private final AtomicReferenceArray<ReactorGraphExecutionPlan<?>> subgraphPlans;
+
+    private ReactorGraphExecutionPlan(CRReactorGraph<PayloadType> graph,
+                                      Vertex[] vertices,
+                                      int[] startPointHandleVertices,
+                                      int[] startPointMergeVertices,
+                                      int slotCount,
+                                      int processorCount) {
+        this.graph = graph;
+        this.payloadProfilingName = ProfilerNames.PAYLOAD + graph.getPayloadClass().getSimpleName();
+        this.executor = graph.getExecutor();
+        this.vertices = vertices;
+        this.startPointHandleVertices = startPointHandleVertices;
+        this.startPointMergeVertices = startPointMergeVertices;
+        this.slotCount = slotCount;
+        this.processorCount = processorCount;
+        this.subgraphPlans = new AtomicReferenceArray<>(vertices.length);
+    }
+
+    public Class<PayloadType> getPayloadClass() {
+        return graph.getPayloadClass();
+    }
+
+    /**
+     * Links subgraph vertices of this plan to plans of registered subgraphs.
+     * Linked subgraph is executed as embedded child execution of parent graph execution.
+     *
+     * @param registeredPlans returns plan registered for given payload type or NULL
+     */
+    public void linkSubgraphs(Function<Class<?>, ReactorGraphExecutionPlan<?>> registeredPlans) {
+        for (Vertex vertex : vertices) {
+            if (vertex.processingItemInfo.getProcessingItemType() == CRReactorGraph.ProcessingItemType.SUBGRAPH) {
+                subgraphPlans.set(
+                        vertex.index,
+                        registeredPlans.apply(vertex.processingItemInfo.getSubgraphDescription().getSubgraphPayload()));
+            }
+        }
+    }
+
+    /**
+     * @return plan of subgraph executed by given vertex, linked during graph registration.
+     * NULL if vertex is not a subgraph or subgraph is not registered as reactor graph,
+     * e.g. it is mocked by functional graph implementation.
+     */
+    public ReactorGraphExecutionPlan<?> getSubgraphPlan(Vertex vertex) {
+        return subgraphPlans.get(vertex.index);
+    }
+
+    /**
+     * @param threadsafeCopyMaker copies processor arguments marked by {@code copyArg}
+     */
+    public static <PayloadType> ReactorGraphExecutionPlan<PayloadType> compile(
+            CRReactorGraph<PayloadType> graph,
+            ThreadsafeCopyMaker threadsafeCopyMaker) {
+
+        Map<CRProcessingItem, VertexBuilder> itemVertices = new HashMap<>();
+        VertexBuilder[] builders = new VertexBuilder[graph.getProcessingItems().size()];
+
+        graph.getProcessingItems().forEach((item, info) -> {
+            VertexBuilder vertex = new VertexBuilder(itemVertices.size(), item, info);
+            builders[vertex.index] = vertex;
+            itemVertices.put(item, vertex);
+        });
+
+        /**
+         * Start point flows always occupy first slots of target vertex incoming flows
+         */
+        List<Integer> startPointHandleVertices = new ArrayList<>();
+        List<Integer> startPointMergeVertices = new ArrayList<>();
+
+        for (CRProcessingItem item : graph.getStartPoint().getProcessingItems()) {
+            VertexBuilder vertex = itemVertices.get(item);
+            if (vertex.isDetachedMergePoint) {
+                vertex.incomingMergeFlowCount++;
+                startPointMergeVertices.add(vertex.index);
+            } else {
+                vertex.incomingProcessorFlowCount++;
+                startPointHandleVertices.add(vertex.index);
+            }
+        }
+
+        for (CRReactorGraph.MergePoint mergePoint : graph.getMergePoints()) {
+            VertexBuilder source = itemVertices.get(mergePoint.asProcessingItem());
+
+            List<OutgoingTransition> handleTransitions = new ArrayList<>();
+            List<OutgoingTransition> mergeTransitions = new ArrayList<>();
+
+            source.mergePointTransitions = mergePoint.getTransitions()
+                    .toArray(new CRReactorGraph.Transition[mergePoint.getTransitions().size()]);
+            source.mergeTransitionTable = MergeTransitionTable.compile(
+                    source.processingItem.getDebugName(),
+                    source.mergePointTransitions);
+
+            for (int transitionIndex = 0; transitionIndex < source.mergePointTransitions.length; transitionIndex++) {
+                CRReactorGraph.Transition transition = source.mergePointTransitions[transitionIndex];
+
+                /**
+                 * Terminal transition handled synchronously with merging process
+                 * and does not have target vertex.
+                 */
+                if (transition.isComplete()) {
+                    continue;
+                }
+
+                if (transition.getHandleBy() != null) {
+                    VertexBuilder target = itemVertices.get(transition.getHandleBy());
+                    handleTransitions.add(new OutgoingTransition(
+                            transition,
+                            target.index,
+                            target.incomingProcessorFlowCount++,
+                            ReactorGraphExecutionBuilder.handleTransitionActivation(
+                                    source.mergeTransitionTable,
+                                    transitionIndex)));
+                }
+
+                if (transition.getMerge() != null) {
+                    VertexBuilder target = itemVertices.get(transition.getMerge());
+                    mergeTransitions.add(new OutgoingTransition(
+                            transition,
+                            target.index,
+                            target.incomingMergeFlowCount++,
+                            ReactorGraphExecutionBuilder.mergeTransitionActivation(
+                                    source.mergeTransitionTable,
+                                    transitionIndex)));
+                }
+            }
+
+            source.outgoingHandleTransitions = handleTransitions
+                    .toArray(new OutgoingTransition[handleTransitions.size()]);
+            source.outgoingMergeTransitions = mergeTransitions
+                    .toArray(new OutgoingTransition[mergeTransitions.size()]);
+        }
+
+        Vertex[] vertices = new Vertex[builders.length];
+        int slotCount = 0;
+        int processorCount = 0;
+
+        for (VertexBuilder vertex : builders) {
+            if (vertex.incomingProcessorFlowCount > MAX_FLOW_COUNT || vertex.incomingMergeFlowCount > MAX_FLOW_COUNT) {
+                throw new IllegalArgumentException(String.format(
+                        "Invalid graph descriptor. Processor %s has more than %d incoming flows.",
+                        vertex.processingItem.getDebugName(),
+                        MAX_FLOW_COUNT));
+            }
+
+            if (vertex.isDetachedMergePoint) {
+                /**
+                 * Detached merge point does not have graph processor, only merge point.
+                 */
+                if (vertex.incomingProcessorFlowCount != 0) {
+                    throw new IllegalStateException(String.format(
+                            "Invalid graph state. Detached merge point %s have more than 0 incoming flows.",
+                            vertex.processingItem.getDebugName()));
+                }
+            } else if (vertex.incomingProcessorFlowCount <= 0) {
+                throw new IllegalArgumentException(String.format(
+                        "Invalid graph descriptor. Processor %s does not have incoming flows." +
+                                " Probably missing handleBy directive for this processor.",
+                        vertex.processingItem.getDebugName()));
+            }
+
+            if (vertex.mergeTransitionTable == null) {
+                /**
+                 * Vertex without merge point does not have outgoing transitions
+                 */
+                vertex.mergeTransitionTable = MergeTransitionTable.compile(
+                        vertex.processingItem.getDebugName(),
+                        vertex.mergePointTransitions);
+            }
+
+            vertices[vertex.index] = new Vertex(vertex, slotCount, threadsafeCopyMaker);
+            slotCount += vertex.incomingProcessorFlowCount + vertex.incomingMergeFlowCount + 2;
+            if (!vertex.isDetachedMergePoint) {
+                processorCount++;
+            }
+        }
+
+        return new ReactorGraphExecutionPlan<>(
+                graph,
+                vertices,
+                startPointHandleVertices.stream().mapToInt(Integer::intValue).toArray(),
+                startPointMergeVertices.stream().mapToInt(Integer::intValue).toArray(),
+                slotCount,
+                processorCount);
+    }
+}
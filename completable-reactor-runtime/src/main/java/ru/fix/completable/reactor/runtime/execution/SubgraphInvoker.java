@@ -0,0 +1,34 @@
+package ru.fix.completable.reactor.runtime.execution;
+
+import ru.fix.completable.reactor.runtime.cloning.ThreadsafeCopyMaker;
+import ru.fix.completable.reactor.runtime.internal.dsl.CRSubgraphDescription;
+
+/**
+ * Extracts argument and invokes merger of single subgraph vertex.
+ * Compiled once during graph registration the same way as {@link ProcessorInvoker}:
+ * each subgraph vertex gets own copy of invoker class, see {@link ProcessorInvokerCompiler}.
+ */
+public abstract class SubgraphInvoker {
+
+    /**
+     * Compiles argument extraction and merger invocation of subgraph.
+     *
+     * @param threadsafeCopyMaker copies argument if subgraph is declared with {@code copyArg}
+     */
+    public static SubgraphInvoker compile(CRSubgraphDescription<?> description,
+                                          ThreadsafeCopyMaker threadsafeCopyMaker) {
+        return ProcessorInvokerCompiler.compile(description, threadsafeCopyMaker);
+    }
+
+    /**
+     * Extracts subgraph payload from parent payload
+     */
+    public abstract Object invokeArg(Object payload);
+
+    /**
+     * Merges subgraph result into parent payload
+     *
+     * @return merge status
+     */
+    public abstract Enum invokeMerger(Object payload, Object subgraphResult);
+}
@@ -0,0 +1,35 @@
+package ru.fix.completable.reactor.runtime.execution;
+
+import ru.fix.completable.reactor.runtime.dsl.SubgraphMerger;
+
+import java.util.function.Function;
+
+/**
+ * Extracts argument and invokes {@link SubgraphMerger} of single subgraph vertex.
+ * Copied for each subgraph vertex by {@link ProcessorInvokerCompiler}, see {@link SubgraphInvoker}.
+ */
+final class SubgraphMergerInvoker extends SubgraphInvoker {
+
+    private final Function<Object, Object> arg;
+
+    /**
+     * NULL if subgraph does not have merger
+     */
+    private final SubgraphMerger<Object, Object> merger;
+
+    SubgraphMergerInvoker(Function<Object, Object> arg,
+                          SubgraphMerger<Object, Object> merger) {
+        this.arg = arg;
+        this.merger = merger;
+    }
+
+    @Override
+    public Object invokeArg(Object payload) {
+        return arg.apply(payload);
+    }
+
+    @Override
+    public Enum invokeMerger(Object payload, Object subgraphResult) {
+        return merger.merge(payload, subgraphResult);
+    }
+}
@@ -1,26 +1,346 @@
 package ru.fix.completable.reactor.runtime.immutability;
 
-import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import ru.fix.completable.reactor.runtime.cloning.ImmutableTypes;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
 
 /**
+ * Walks object graph by reflection and detects its modification.
+ * <p>
+ * Field accessors are resolved once per class into {@link MethodHandle}s.
+ * Snapshot holds structural hash of object graph and its tree representation.
+ * {@link #diff(Snapshot, Object)} recalculates structural hash of current object state without
+ * building a tree and builds full diff only if hashes do not match.
+ * <p>
+ * Immutable values (see {@link ImmutableTypes}) are compared by equality, other objects are compared by identity
+ * and by their content. Object graph is traversed up to {@link #getMaxDepth()} levels,
+ * deeper objects and cyclic references are compared by identity only.
+ *
  * @author Kamil Asfandiyarov
  */
+@Slf4j
 public class ReflectionImmutabilityChecker implements ImmutabilityChecker {
 
-    static class ReflectionSnapshot implements Snapshot{
+    private static final int DEFAULT_MAX_DEPTH = 16;
+
+    /**
+     * Limits size of diff description
+     */
+    private static final int MAX_DIFF_COUNT = 16;
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final class FieldAccessor {
+        final String name;
+        /**
+         * {@code (Object)Object}
+         */
+        final MethodHandle getter;
+
+        FieldAccessor(String name, MethodHandle getter) {
+            this.name = name;
+            this.getter = getter;
+        }
+
+        Object get(Object object) {
+            try {
+                return getter.invokeExact(object);
+            } catch (Throwable thr) {
+                throw new IllegalStateException(String.format(
+                        "Failed to read field %s of %s", name, object.getClass()), thr);
+            }
+        }
+    }
+
+    private static final ClassValue<FieldAccessor[]> fieldAccessors = new ClassValue<FieldAccessor[]>() {
+        @Override
+        protected FieldAccessor[] computeValue(Class<?> type) {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            List<FieldAccessor> accessors = new ArrayList<>();
+
+            for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                        continue;
+                    }
+                    try {
+                        field.setAccessible(true);
+                        accessors.add(new FieldAccessor(
+                                field.getName(),
+                                lookup.unreflectGetter(field).asType(GETTER_TYPE)));
+                    } catch (Exception exc) {
+                        log.debug("Field {} of {} is not accessible and will not be checked.", field, clazz, exc);
+                    }
+                }
+            }
+            return accessors.toArray(new FieldAccessor[accessors.size()]);
+        }
+    };
+
+    private static final ClassValue<Boolean> immutableTypes = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return ImmutableTypes.isImmutable(type);
+        }
+    };
+
+    /**
+     * Node of object graph snapshot
+     */
+    static final class Node {
+        /**
+         * Immutable value, primitive array copy or reference to mutable object
+         */
+        final Object value;
+        /**
+         * NULL for leaf nodes
+         */
+        final String[] childNames;
+        final Node[] children;
+
+        Node(Object value, String[] childNames, Node[] children) {
+            this.value = value;
+            this.childNames = childNames;
+            this.children = children;
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+    }
+
+    static final class ReflectionSnapshot implements Snapshot {
+        final int hash;
+        final Node root;
+
+        ReflectionSnapshot(int hash, Node root) {
+            this.hash = hash;
+            this.root = root;
+        }
+    }
+
+    private final int maxDepth;
 
+    public ReflectionImmutabilityChecker() {
+        this(DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * @param maxDepth how deep object graph is traversed
+     */
+    public ReflectionImmutabilityChecker(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
     }
 
     @Override
     public <T> ReflectionSnapshot takeSnapshot(T pojo) {
-        return new ReflectionSnapshot();
+        Node root = snapshot(pojo, 0, new IdentityHashMap<>());
+        return new ReflectionSnapshot(hash(pojo, 0, new IdentityHashMap<>()), root);
     }
 
     @Override
     public <T> Optional<String> diff(Snapshot pojoSnapshot, T pojo) {
+        ReflectionSnapshot snapshot = (ReflectionSnapshot) pojoSnapshot;
+
         /**
-         * Compare versions here
+         * Fast path: structural hash of unmodified object is the same
          */
-        return Optional.empty();
+        if (snapshot.hash == hash(pojo, 0, new IdentityHashMap<>())) {
+            return Optional.empty();
+        }
+
+        List<String> differences = new ArrayList<>();
+        compare("", snapshot.root, snapshot(pojo, 0, new IdentityHashMap<>()), differences);
+
+        if (differences.isEmpty()) {
+            /**
+             * Hash of unordered collection or of object with custom hashCode changed without visible difference
+             */
+            return Optional.empty();
+        }
+        return Optional.of(String.join("; ", differences));
+    }
+
+    private boolean isLeafValue(Object value) {
+        return value == null || immutableTypes.get(value.getClass()) || isPrimitiveArray(value);
+    }
+
+    private static boolean isPrimitiveArray(Object value) {
+        return value.getClass().isArray() && value.getClass().getComponentType().isPrimitive();
+    }
+
+    private int hash(Object value, int depth, IdentityHashMap<Object, Object> visited) {
+        if (value == null) {
+            return 0;
+        }
+        if (immutableTypes.get(value.getClass())) {
+            return value.hashCode();
+        }
+        if (isPrimitiveArray(value)) {
+            return primitiveArrayHash(value);
+        }
+
+        int result = System.identityHashCode(value);
+        if (depth >= maxDepth || visited.put(value, value) != null) {
+            return result;
+        }
+
+        if (value instanceof Object[]) {
+            for (Object element : (Object[]) value) {
+                result = 31 * result + hash(element, depth + 1, visited);
+            }
+        } else if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                result = 31 * result + hash(element, depth + 1, visited);
+            }
+        } else if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                result = 31 * result + hash(entry.getKey(), depth + 1, visited);
+                result = 31 * result + hash(entry.getValue(), depth + 1, visited);
+            }
+        } else {
+            for (FieldAccessor accessor : fieldAccessors.get(value.getClass())) {
+                result = 31 * result + hash(accessor.get(value), depth + 1, visited);
+            }
+        }
+        return result;
+    }
+
+    private Node snapshot(Object value, int depth, IdentityHashMap<Object, Object> visited) {
+        if (isLeafValue(value)) {
+            return new Node(value != null && isPrimitiveArray(value) ? copyPrimitiveArray(value) : value, null, null);
+        }
+
+        if (depth >= maxDepth || visited.put(value, value) != null) {
+            return new Node(value, null, null);
+        }
+
+        List<String> names = new ArrayList<>();
+        List<Node> children = new ArrayList<>();
+
+        if (value instanceof Object[]) {
+            Object[] array = (Object[]) value;
+            for (int i = 0; i < array.length; i++) {
+                names.add("[" + i + "]");
+                children.add(snapshot(array[i], depth + 1, visited));
+            }
+        } else if (value instanceof Collection) {
+            int i = 0;
+            for (Object element : (Collection<?>) value) {
+                names.add("[" + i++ + "]");
+                children.add(snapshot(element, depth + 1, visited));
+            }
+        } else if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                names.add("[" + entry.getKey() + "]");
+                children.add(snapshot(entry.getValue(), depth + 1, visited));
+            }
+        } else {
+            for (FieldAccessor accessor : fieldAccessors.get(value.getClass())) {
+                names.add("." + accessor.name);
+                children.add(snapshot(accessor.get(value), depth + 1, visited));
+            }
+        }
+
+        return new Node(value, names.toArray(new String[names.size()]), children.toArray(new Node[children.size()]));
+    }
+
+    private static void compare(String path, Node before, Node after, List<String> differences) {
+        if (differences.size() >= MAX_DIFF_COUNT) {
+            return;
+        }
+
+        if (before.isLeaf() || after.isLeaf()) {
+            boolean isEqual = before.isLeaf() && after.isLeaf() && isLeafValueEqual(before.value, after.value);
+            if (!isEqual) {
+                differences.add(String.format("%s: %s -> %s", pathName(path), describe(before), describe(after)));
+            }
+            return;
+        }
+
+        if (before.value != after.value) {
+            differences.add(String.format("%s: %s -> %s", pathName(path), describe(before), describe(after)));
+            return;
+        }
+
+        if (!Arrays.equals(before.childNames, after.childNames)) {
+            differences.add(String.format("%s: content changed from %s to %s",
+                    pathName(path),
+                    Arrays.toString(before.childNames),
+                    Arrays.toString(after.childNames)));
+            return;
+        }
+
+        for (int i = 0; i < before.children.length; i++) {
+            compare(path + before.childNames[i], before.children[i], after.children[i], differences);
+        }
+    }
+
+    private static boolean isLeafValueEqual(Object before, Object after) {
+        if (before == null || after == null) {
+            return before == after;
+        }
+        if (immutableTypes.get(before.getClass()) || isPrimitiveArray(before)) {
+            return Objects.deepEquals(before, after);
+        }
+        /**
+         * Cyclic reference or object deeper than max depth
+         */
+        return before == after;
+    }
+
+    private static String pathName(String path) {
+        return path.isEmpty() ? "payload" : "payload" + path;
+    }
+
+    private static String describe(Node node) {
+        Object value = node.value;
+        if (value == null) {
+            return "null";
+        }
+        if (isPrimitiveArray(value)) {
+            return value.getClass().getComponentType().getName() + "[" + java.lang.reflect.Array.getLength(value) + "]";
+        }
+        if (immutableTypes.get(value.getClass())) {
+            return String.valueOf(value);
+        }
+        return value.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(value));
+    }
+
+    private static Object copyPrimitiveArray(Object array) {
+        int length = java.lang.reflect.Array.getLength(array);
+        Object copy = java.lang.reflect.Array.newInstance(array.getClass().getComponentType(), length);
+        System.arraycopy(array, 0, copy, 0, length);
+        return copy;
+    }
+
+    private static int primitiveArrayHash(Object array) {
+        if (array instanceof int[]) {
+            return Arrays.hashCode((int[]) array);
+        } else if (array instanceof long[]) {
+            return Arrays.hashCode((long[]) array);
+        } else if (array instanceof byte[]) {
+            return Arrays.hashCode((byte[]) array);
+        } else if (array instanceof char[]) {
+            return Arrays.hashCode((char[]) array);
+        } else if (array instanceof short[]) {
+            return Arrays.hashCode((short[]) array);
+        } else if (array instanceof boolean[]) {
+            return Arrays.hashCode((boolean[]) array);
+        } else if (array instanceof float[]) {
+            return Arrays.hashCode((float[]) array);
+        } else {
+            return Arrays.hashCode((double[]) array);
+        }
     }
 }
@@ -13,6 +13,7 @@ import ru.fix.completable.reactor.runtime.dsl.MergePointBuilder;
 import ru.fix.completable.reactor.runtime.internal.dsl.*;
 
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 /**
@@ -210,7 +211,7 @@ public class CRReactorGraph<PayloadType> implements ReactorGraph<PayloadType> {
 
         ReactorGraphModel.Source coordinatesSource;
 
-        boolean isMergerExist() {
+        public boolean isMergerExist() {
             switch (processingItemType) {
                 case PROCESSOR:
                     return description.getMerger() != null;
@@ -305,6 +306,11 @@ public class CRReactorGraph<PayloadType> implements ReactorGraph<PayloadType> {
      */
     ReactorGraphModel.Source buildGraphSource;
 
+    /**
+     * Executor that overrides reactor executor for this graph. NULL if reactor executor should be used.
+     */
+    Executor executor;
+
     @Getter
     final Map<CRProcessingItem, ProcessingItemInfo> processingItems = new HashMap<>();
 
@@ -0,0 +1,65 @@
+package ru.fix.completable.reactor.runtime.internal.dsl;
+
+import ru.fix.completable.reactor.runtime.dsl.DoubleHandler1Arg;
+import ru.fix.completable.reactor.runtime.dsl.DoubleHandlerBuilder1;
+import ru.fix.completable.reactor.runtime.dsl.DoubleHandlerBuilder2;
+import ru.fix.completable.reactor.runtime.dsl.ProcessorMergerBuilder;
+
+import java.util.function.Function;
+
+public class CRDoubleHandlerBuilder1<PayloadType> implements DoubleHandlerBuilder1<PayloadType> {
+
+    final CRProcessorDescription<PayloadType> processorDescription;
+
+    CRDoubleHandlerBuilder1(CRProcessorDescription<PayloadType> processorDescription) {
+        this.processorDescription = processorDescription;
+    }
+
+    @Override
+    public <Arg2> DoubleHandlerBuilder2<PayloadType, Arg2> passArg(Function<PayloadType, Arg2> arg) {
+        processorDescription.arg2 = arg;
+        return new CRDoubleHandlerBuilder2<>(processorDescription);
+    }
+
+    @Override
+    public <Arg2> DoubleHandlerBuilder2<PayloadType, Arg2> copyArg(Function<PayloadType, Arg2> arg) {
+        processorDescription.arg2 = arg;
+        processorDescription.isCopyArg2 = true;
+        return new CRDoubleHandlerBuilder2<>(processorDescription);
+    }
+
+    @Override
+    public <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            DoubleHandler1Arg<ProcessorResult> handler) {
+
+        return withHandler(null, null, handler);
+    }
+
+    @Override
+    public <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            String title,
+            DoubleHandler1Arg<ProcessorResult> handler) {
+
+        return withHandler(title, null, handler);
+    }
+
+    @Override
+    public <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            String title,
+            String[] docs,
+            DoubleHandler1Arg<ProcessorResult> handler) {
+
+        processorDescription.doubleHandler1 = handler;
+        BuilderReflector.initializeProcessorDescription(handler, processorDescription);
+
+        if(title != null) {
+            processorDescription.setHandlerTitle(title);
+        }
+
+        if(docs != null){
+            processorDescription.setHandlerDocs(docs);
+        }
+
+        return new CRProcessorMergerBuilder<>(processorDescription);
+    }
+}
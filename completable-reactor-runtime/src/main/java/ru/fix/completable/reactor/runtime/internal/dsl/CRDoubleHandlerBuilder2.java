@@ -0,0 +1,49 @@
+package ru.fix.completable.reactor.runtime.internal.dsl;
+
+import ru.fix.completable.reactor.runtime.dsl.DoubleHandler2Args;
+import ru.fix.completable.reactor.runtime.dsl.DoubleHandlerBuilder2;
+import ru.fix.completable.reactor.runtime.dsl.ProcessorMergerBuilder;
+
+public class CRDoubleHandlerBuilder2<PayloadType, Arg2> implements DoubleHandlerBuilder2<PayloadType, Arg2> {
+
+    final CRProcessorDescription<PayloadType> processorDescription;
+
+    CRDoubleHandlerBuilder2(CRProcessorDescription<PayloadType> processorDescription) {
+        this.processorDescription = processorDescription;
+    }
+
+    @Override
+    public <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            DoubleHandler2Args<Arg2, ProcessorResult> handler) {
+
+        return withHandler(null, null, handler);
+    }
+
+    @Override
+    public <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            String title,
+            DoubleHandler2Args<Arg2, ProcessorResult> handler) {
+
+        return withHandler(title, null, handler);
+    }
+
+    @Override
+    public <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            String title,
+            String[] docs,
+            DoubleHandler2Args<Arg2, ProcessorResult> handler) {
+
+        processorDescription.doubleHandler2 = handler;
+        BuilderReflector.initializeProcessorDescription(handler, processorDescription);
+
+        if(title != null) {
+            processorDescription.setHandlerTitle(title);
+        }
+
+        if(docs != null){
+            processorDescription.setHandlerDocs(docs);
+        }
+
+        return new CRProcessorMergerBuilder<>(processorDescription);
+    }
+}
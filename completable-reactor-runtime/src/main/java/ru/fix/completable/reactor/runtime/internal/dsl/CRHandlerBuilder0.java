@@ -5,6 +5,9 @@ import ru.fix.completable.reactor.runtime.dsl.HandlerBuilder0;
 import ru.fix.completable.reactor.runtime.dsl.ProcessorMergerBuilder;
 
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * @author Kamil Asfandiyarov
@@ -30,6 +33,24 @@ public class CRHandlerBuilder0<PayloadType> implements HandlerBuilder0<PayloadTy
         return new CRHandlerBuilder1<>(processorDescription);
     }
 
+    @Override
+    public CRLongHandlerBuilder1<PayloadType> passLongArg(ToLongFunction<PayloadType> arg) {
+        processorDescription.longArg1 = arg;
+        return new CRLongHandlerBuilder1<>(processorDescription);
+    }
+
+    @Override
+    public CRIntHandlerBuilder1<PayloadType> passIntArg(ToIntFunction<PayloadType> arg) {
+        processorDescription.intArg1 = arg;
+        return new CRIntHandlerBuilder1<>(processorDescription);
+    }
+
+    @Override
+    public CRDoubleHandlerBuilder1<PayloadType> passDoubleArg(ToDoubleFunction<PayloadType> arg) {
+        processorDescription.doubleArg1 = arg;
+        return new CRDoubleHandlerBuilder1<>(processorDescription);
+    }
+
     @Override
     public <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
             Handler0Args<ProcessorResult> handler) {
@@ -0,0 +1,65 @@
+package ru.fix.completable.reactor.runtime.internal.dsl;
+
+import ru.fix.completable.reactor.runtime.dsl.IntHandler1Arg;
+import ru.fix.completable.reactor.runtime.dsl.IntHandlerBuilder1;
+import ru.fix.completable.reactor.runtime.dsl.IntHandlerBuilder2;
+import ru.fix.completable.reactor.runtime.dsl.ProcessorMergerBuilder;
+
+import java.util.function.Function;
+
+public class CRIntHandlerBuilder1<PayloadType> implements IntHandlerBuilder1<PayloadType> {
+
+    final CRProcessorDescription<PayloadType> processorDescription;
+
+    CRIntHandlerBuilder1(CRProcessorDescription<PayloadType> processorDescription) {
+        this.processorDescription = processorDescription;
+    }
+
+    @Override
+    public <Arg2> IntHandlerBuilder2<PayloadType, Arg2> passArg(Function<PayloadType, Arg2> arg) {
+        processorDescription.arg2 = arg;
+        return new CRIntHandlerBuilder2<>(processorDescription);
+    }
+
+    @Override
+    public <Arg2> IntHandlerBuilder2<PayloadType, Arg2> copyArg(Function<PayloadType, Arg2> arg) {
+        processorDescription.arg2 = arg;
+        processorDescription.isCopyArg2 = true;
+        return new CRIntHandlerBuilder2<>(processorDescription);
+    }
+
+    @Override
+    public <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            IntHandler1Arg<ProcessorResult> handler) {
+
+        return withHandler(null, null, handler);
+    }
+
+    @Override
+    public <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            String title,
+            IntHandler1Arg<ProcessorResult> handler) {
+
+        return withHandler(title, null, handler);
+    }
+
+    @Override
+    public <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            String title,
+            String[] docs,
+            IntHandler1Arg<ProcessorResult> handler) {
+
+        processorDescription.intHandler1 = handler;
+        BuilderReflector.initializeProcessorDescription(handler, processorDescription);
+
+        if(title != null) {
+            processorDescription.setHandlerTitle(title);
+        }
+
+        if(docs != null){
+            processorDescription.setHandlerDocs(docs);
+        }
+
+        return new CRProcessorMergerBuilder<>(processorDescription);
+    }
+}
@@ -0,0 +1,49 @@
+package ru.fix.completable.reactor.runtime.internal.dsl;
+
+import ru.fix.completable.reactor.runtime.dsl.IntHandler2Args;
+import ru.fix.completable.reactor.runtime.dsl.IntHandlerBuilder2;
+import ru.fix.completable.reactor.runtime.dsl.ProcessorMergerBuilder;
+
+public class CRIntHandlerBuilder2<PayloadType, Arg2> implements IntHandlerBuilder2<PayloadType, Arg2> {
+
+    final CRProcessorDescription<PayloadType> processorDescription;
+
+    CRIntHandlerBuilder2(CRProcessorDescription<PayloadType> processorDescription) {
+        this.processorDescription = processorDescription;
+    }
+
+    @Override
+    public <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            IntHandler2Args<Arg2, ProcessorResult> handler) {
+
+        return withHandler(null, null, handler);
+    }
+
+    @Override
+    public <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            String title,
+            IntHandler2Args<Arg2, ProcessorResult> handler) {
+
+        return withHandler(title, null, handler);
+    }
+
+    @Override
+    public <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            String title,
+            String[] docs,
+            IntHandler2Args<Arg2, ProcessorResult> handler) {
+
+        processorDescription.intHandler2 = handler;
+        BuilderReflector.initializeProcessorDescription(handler, processorDescription);
+
+        if(title != null) {
+            processorDescription.setHandlerTitle(title);
+        }
+
+        if(docs != null){
+            processorDescription.setHandlerDocs(docs);
+        }
+
+        return new CRProcessorMergerBuilder<>(processorDescription);
+    }
+}
@@ -0,0 +1,65 @@
+package ru.fix.completable.reactor.runtime.internal.dsl;
+
+import ru.fix.completable.reactor.runtime.dsl.LongHandler1Arg;
+import ru.fix.completable.reactor.runtime.dsl.LongHandlerBuilder1;
+import ru.fix.completable.reactor.runtime.dsl.LongHandlerBuilder2;
+import ru.fix.completable.reactor.runtime.dsl.ProcessorMergerBuilder;
+
+import java.util.function.Function;
+
+public class CRLongHandlerBuilder1<PayloadType> implements LongHandlerBuilder1<PayloadType> {
+
+    final CRProcessorDescription<PayloadType> processorDescription;
+
+    CRLongHandlerBuilder1(CRProcessorDescription<PayloadType> processorDescription) {
+        this.processorDescription = processorDescription;
+    }
+
+    @Override
+    public <Arg2> LongHandlerBuilder2<PayloadType, Arg2> passArg(Function<PayloadType, Arg2> arg) {
+        processorDescription.arg2 = arg;
+        return new CRLongHandlerBuilder2<>(processorDescription);
+    }
+
+    @Override
+    public <Arg2> LongHandlerBuilder2<PayloadType, Arg2> copyArg(Function<PayloadType, Arg2> arg) {
+        processorDescription.arg2 = arg;
+        processorDescription.isCopyArg2 = true;
+        return new CRLongHandlerBuilder2<>(processorDescription);
+    }
+
+    @Override
+    public <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            LongHandler1Arg<ProcessorResult> handler) {
+
+        return withHandler(null, null, handler);
+    }
+
+    @Override
+    public <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            String title,
+            LongHandler1Arg<ProcessorResult> handler) {
+
+        return withHandler(title, null, handler);
+    }
+
+    @Override
+    public <ProcessorResult> ProcessorMergerBuilder<PayloadType, ProcessorResult> withHandler(
+            String title,
+            String[] docs,
+            LongHandler1Arg<ProcessorResult> handler) {
+
+        processorDescription.longHandler1 = handler;
+        BuilderReflector.initializeProcessorDescription(handler, processorDescription);
+
+        if(title != null) {
+            processorDescription.setHandlerTitle(title);
+        }
+
+        if(docs != null){
+            processorDescription.setHandlerDocs(docs);
+        }
+
+        return new CRProcessorMergerBuilder<>(processorDescription);
+    }
+}
@@ -4,7 +4,11 @@ import lombok.Data;
 import ru.fix.completable.reactor.api.ReactorGraphModel;
 import ru.fix.completable.reactor.runtime.dsl.*;
 
+import java.time.Duration;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * @author Kamil Asfandiyarov
@@ -51,6 +55,21 @@ public class CRProcessorDescription<PayloadType> implements ProcessorDescription
      */
     Function arg7;
 
+    /**
+     * First argument of {@link #longHandler1} or {@link #longHandler2}
+     */
+    ToLongFunction<PayloadType> longArg1;
+
+    /**
+     * First argument of {@link #intHandler1} or {@link #intHandler2}
+     */
+    ToIntFunction<PayloadType> intArg1;
+
+    /**
+     * First argument of {@link #doubleHandler1} or {@link #doubleHandler2}
+     */
+    ToDoubleFunction<PayloadType> doubleArg1;
+
     boolean isCopyArg1 = false;
     boolean isCopyArg2 = false;
     boolean isCopyArg3 = false;
@@ -59,6 +78,26 @@ public class CRProcessorDescription<PayloadType> implements ProcessorDescription
     boolean isCopyArg6 = false;
     boolean isCopyArg7 = false;
 
+    /**
+     * Handling result is merged in the thread that completed handler future
+     */
+    boolean isInline = false;
+
+    /**
+     * Handler future is cancelled when execution completes before handling
+     */
+    boolean isCancellable = false;
+
+    /**
+     * Max duration of handling. NULL if handling is bounded by execution timeout only.
+     */
+    Duration timeout;
+
+    /**
+     * Merge status used when handling timed out. NULL if timeout fails graph execution.
+     */
+    Enum timeoutStatus;
+
     /**
      * {@code Handler0Args<Processor, ProcessorResult>}
      */
@@ -99,6 +138,16 @@ public class CRProcessorDescription<PayloadType> implements ProcessorDescription
      */
     Handler7Args handler7;
 
+    /**
+     * Handlers with primitive first argument, second argument is extracted by {@link #arg2}
+     */
+    LongHandler1Arg longHandler1;
+    LongHandler2Args longHandler2;
+    IntHandler1Arg intHandler1;
+    IntHandler2Args intHandler2;
+    DoubleHandler1Arg doubleHandler1;
+    DoubleHandler2Args doubleHandler2;
+
     /**
      * Source where {@code handleBy} method was used
      */
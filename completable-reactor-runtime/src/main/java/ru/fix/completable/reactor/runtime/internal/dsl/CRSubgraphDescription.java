@@ -6,6 +6,7 @@ import ru.fix.completable.reactor.runtime.dsl.Subgraph;
 import ru.fix.completable.reactor.runtime.dsl.SubgraphDescription;
 import ru.fix.completable.reactor.runtime.dsl.SubgraphMerger;
 
+import java.time.Duration;
 import java.util.function.Function;
 
 /**
@@ -49,6 +50,16 @@ public class CRSubgraphDescription<PayloadType> implements SubgraphDescription<P
 
     boolean isCopyArg = false;
 
+    /**
+     * Max duration of subgraph execution. NULL if it is bounded by parent execution deadline only.
+     */
+    Duration timeout;
+
+    /**
+     * Merge status used when subgraph execution timed out. NULL if timeout fails graph execution.
+     */
+    Enum timeoutStatus;
+
 
     public CRSubgraphDescription(Class<?> subgraphPayload) {
         this.subgraphPayload = subgraphPayload;
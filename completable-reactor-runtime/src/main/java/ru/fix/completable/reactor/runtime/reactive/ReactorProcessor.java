@@ -0,0 +1,321 @@
+package ru.fix.completable.reactor.runtime.reactive;
+
+import org.reactivestreams.Processor;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import ru.fix.completable.reactor.runtime.CompletableReactor;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Reactive Streams adapter that submits upstream payloads to {@link CompletableReactor}
+ * and publishes execution results downstream.
+ * <p>
+ * Upstream items are requested only while amount of payloads that are executed or wait for downstream demand
+ * is below the window. So memory used by processor is bounded by the window
+ * and reactor load is driven by downstream demand.
+ * <p>
+ * Results are published in submission order or in completion order, see {@link Order}.
+ * Failed execution terminates the stream: upstream is cancelled and downstream receives the failure.
+ * Upstream failure is published after results that are already completed and ready to be published,
+ * results of executions that are still running are dropped.
+ *
+ * <pre><code>
+ * publisher.subscribe(processor);
+ * processor.subscribe(subscriber);
+ * </code></pre>
+ */
+public class ReactorProcessor<PayloadType> implements Processor<PayloadType, PayloadType> {
+
+    public enum Order {
+        /**
+         * Results are published in order of payload submission
+         */
+        ORDERED,
+        /**
+         * Results are published as soon as execution completes
+         */
+        UNORDERED
+    }
+
+    private final CompletableReactor reactor;
+    private final int window;
+    private final Order order;
+
+    /**
+     * Executions in submission order, used in {@link Order#ORDERED} mode
+     */
+    private final Queue<CompletableFuture<PayloadType>> submitted = new ConcurrentLinkedQueue<>();
+    /**
+     * Executions in completion order, used in {@link Order#UNORDERED} mode
+     */
+    private final Queue<CompletableFuture<PayloadType>> completed = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Payloads received from upstream and not yet published downstream
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+    /**
+     * Items requested from upstream and not yet received
+     */
+    private final AtomicLong upstreamRequested = new AtomicLong();
+    /**
+     * Downstream demand
+     */
+    private final AtomicLong requested = new AtomicLong();
+
+    private final AtomicReference<Subscription> upstream = new AtomicReference<>();
+    private final AtomicReference<Subscriber<? super PayloadType>> downstream = new AtomicReference<>();
+
+    private volatile boolean upstreamDone;
+    private volatile Throwable upstreamError;
+    private volatile boolean terminated;
+
+    /**
+     * Serializes downstream signals and upstream requests, see {@link #drain()}
+     */
+    private final AtomicInteger drainWip = new AtomicInteger();
+
+    /**
+     * @param window max amount of payloads that are executed by reactor or wait for downstream demand
+     */
+    public ReactorProcessor(CompletableReactor reactor, int window, Order order) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window should be positive, but was " + window);
+        }
+        this.reactor = Objects.requireNonNull(reactor);
+        this.window = window;
+        this.order = Objects.requireNonNull(order);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        if (!upstream.compareAndSet(null, subscription)) {
+            subscription.cancel();
+            return;
+        }
+        if (terminated) {
+            subscription.cancel();
+            return;
+        }
+        drain();
+    }
+
+    @Override
+    public void onNext(PayloadType payload) {
+        Objects.requireNonNull(payload);
+        if (terminated) {
+            return;
+        }
+        inFlight.incrementAndGet();
+        upstreamRequested.decrementAndGet();
+
+        CompletableFuture<PayloadType> result;
+        try {
+            result = reactor.submit(payload).getResultFuture();
+        } catch (Exception exc) {
+            result = new CompletableFuture<>();
+            result.completeExceptionally(exc);
+        }
+
+        if (order == Order.ORDERED) {
+            submitted.add(result);
+            result.whenComplete((any, thr) -> drain());
+        } else {
+            CompletableFuture<PayloadType> execution = result;
+            result.whenComplete((any, thr) -> {
+                completed.add(execution);
+                drain();
+            });
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable);
+        upstreamError = throwable;
+        upstreamDone = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super PayloadType> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!downstream.compareAndSet(null, subscriber)) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException(
+                    "ReactorProcessor supports single subscriber only."));
+            return;
+        }
+
+        subscriber.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    cancel();
+                    subscriber.onError(new IllegalArgumentException(
+                            "Requested amount should be positive, but was " + n));
+                    return;
+                }
+                addDemand(n);
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                terminated = true;
+                Subscription subscription = upstream.get();
+                if (subscription != null) {
+                    subscription.cancel();
+                }
+            }
+        });
+        drain();
+    }
+
+    private void addDemand(long amount) {
+        long current;
+        long next;
+        do {
+            current = requested.get();
+            if (current == Long.MAX_VALUE) {
+                return;
+            }
+            next = current + amount;
+            if (next < 0) {
+                next = Long.MAX_VALUE;
+            }
+        } while (!requested.compareAndSet(current, next));
+    }
+
+    /**
+     * @return completed execution that is ready to be published or NULL
+     */
+    private CompletableFuture<PayloadType> pollReady() {
+        if (order == Order.ORDERED) {
+            CompletableFuture<PayloadType> head = submitted.peek();
+            if (head != null && head.isDone()) {
+                return submitted.poll();
+            }
+            return null;
+        } else {
+            return completed.poll();
+        }
+    }
+
+    /**
+     * @return true if there is completed execution that is ready to be published
+     */
+    private boolean hasReady() {
+        if (order == Order.ORDERED) {
+            CompletableFuture<PayloadType> head = submitted.peek();
+            return head != null && head.isDone();
+        } else {
+            return !completed.isEmpty();
+        }
+    }
+
+    /**
+     * Publishes ready results, terminates downstream and requests upstream items.
+     * Only one thread drains at a time, concurrent invocations make active thread repeat the loop.
+     */
+    private void drain() {
+        if (drainWip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            Subscriber<? super PayloadType> subscriber = downstream.get();
+
+            if (subscriber != null && !terminated) {
+                long demand = requested.get();
+                long emitted = 0;
+
+                while (emitted != demand && !terminated) {
+                    CompletableFuture<PayloadType> ready = pollReady();
+                    if (ready == null) {
+                        break;
+                    }
+
+                    PayloadType result;
+                    try {
+                        result = ready.join();
+                    } catch (CompletionException exc) {
+                        terminate(subscriber, exc.getCause() != null ? exc.getCause() : exc);
+                        break;
+                    } catch (Exception exc) {
+                        terminate(subscriber, exc);
+                        break;
+                    }
+
+                    inFlight.decrementAndGet();
+                    subscriber.onNext(result);
+                    emitted++;
+                }
+
+                if (emitted > 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+
+                if (!terminated && upstreamDone) {
+                    Throwable error = upstreamError;
+                    if (error != null) {
+                        /**
+                         * Ready results wait for downstream demand, upstream error is published after them
+                         */
+                        if (!hasReady()) {
+                            terminated = true;
+                            subscriber.onError(error);
+                        }
+                    } else if (inFlight.get() == 0) {
+                        terminated = true;
+                        subscriber.onComplete();
+                    }
+                }
+
+                Subscription subscription = upstream.get();
+                if (!terminated && !upstreamDone && subscription != null) {
+                    long credit = window - inFlight.get() - upstreamRequested.get();
+                    if (credit > 0) {
+                        upstreamRequested.addAndGet(credit);
+                        subscription.request(credit);
+                    }
+                }
+            }
+
+            missed = drainWip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void terminate(Subscriber<? super PayloadType> subscriber, Throwable throwable) {
+        terminated = true;
+        Subscription subscription = upstream.get();
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        subscriber.onError(throwable);
+    }
+}
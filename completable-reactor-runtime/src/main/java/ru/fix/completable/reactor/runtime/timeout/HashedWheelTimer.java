@@ -0,0 +1,335 @@
+package ru.fix.completable.reactor.runtime.timeout;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Hashed timing wheel with O(1) schedule and cancel operations.
+ * <p>
+ * Scheduled timeouts are placed into lock free queue and transferred into wheel buckets by single ticker thread.
+ * Timeouts with deadline further than one wheel revolution stay in their bucket with remaining rounds counter.
+ * Cancellation marks timeout as cancelled, ticker thread unlinks it from the bucket on next tick.
+ * <p>
+ * Expired tasks are executed by ticker thread and should be fast and non blocking.
+ * Timer resolution is a tick duration, timeout never expires earlier than its deadline.
+ */
+public class HashedWheelTimer implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    public static final long DEFAULT_TICK_DURATION_MS = 10;
+    public static final int DEFAULT_WHEEL_SIZE = 4096;
+
+    /**
+     * Limits amount of timeouts transferred into wheel during single tick
+     * so ticker thread does not stuck under heavy schedule rate
+     */
+    private static final int MAX_TRANSFER_PER_TICK = 100_000;
+
+    private static final int STATE_INIT = 0;
+    private static final int STATE_CANCELLED = 1;
+    private static final int STATE_EXPIRED = 2;
+
+    public interface Timeout {
+        /**
+         * @return true if timeout was cancelled by this invocation, false if it is already expired or cancelled
+         */
+        boolean cancel();
+
+        boolean isCancelled();
+
+        boolean isExpired();
+    }
+
+    private static class Holder {
+        static final HashedWheelTimer SHARED = new HashedWheelTimer(
+                "completable-reactor-timeout-wheel",
+                DEFAULT_TICK_DURATION_MS,
+                DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Process wide timer with single ticker thread shared between all reactors.
+     * Should not be closed.
+     */
+    public static HashedWheelTimer shared() {
+        return Holder.SHARED;
+    }
+
+    private final class WheelTimeout implements Timeout {
+        private final Runnable task;
+
+        /**
+         * Nanoseconds relative to {@link #startTime}
+         */
+        private final long deadline;
+
+        volatile int state = STATE_INIT;
+
+        /**
+         * Following fields accessed only by ticker thread
+         */
+        long remainingRounds;
+        WheelTimeout next;
+        WheelTimeout prev;
+        Bucket bucket;
+
+        WheelTimeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE_UPDATER.compareAndSet(this, STATE_INIT, STATE_CANCELLED)) {
+                return false;
+            }
+            cancelledTimeouts.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == STATE_CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state == STATE_EXPIRED;
+        }
+
+        void expire() {
+            if (!STATE_UPDATER.compareAndSet(this, STATE_INIT, STATE_EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable thr) {
+                log.error("Timeout task {} raised an exception.", task, thr);
+            }
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<WheelTimeout> STATE_UPDATER =
+            (AtomicIntegerFieldUpdater) AtomicIntegerFieldUpdater.newUpdater(WheelTimeout.class, "state");
+
+    /**
+     * Doubly linked list of timeouts, accessed only by ticker thread
+     */
+    private static final class Bucket {
+        WheelTimeout head;
+        WheelTimeout tail;
+
+        void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        WheelTimeout remove(WheelTimeout timeout) {
+            WheelTimeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            return next;
+        }
+
+        void expireTimeouts(long deadline) {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                if (timeout.remainingRounds <= 0) {
+                    WheelTimeout next = remove(timeout);
+                    if (timeout.deadline <= deadline) {
+                        timeout.expire();
+                    } else {
+                        log.error("Timeout deadline {} is placed into wrong bucket with deadline {}.",
+                                timeout.deadline, deadline);
+                    }
+                    timeout = next;
+                } else if (timeout.isCancelled()) {
+                    timeout = remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                    timeout = timeout.next;
+                }
+            }
+        }
+    }
+
+    private final long tickDuration;
+    private final Bucket[] wheel;
+    private final int mask;
+
+    private final Queue<WheelTimeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+
+    private final long startTime = System.nanoTime();
+
+    private final Thread ticker;
+
+    private volatile boolean isClosed = false;
+
+    /**
+     * Accessed only by ticker thread
+     */
+    private long tick;
+
+    /**
+     * @param threadName    name of ticker thread
+     * @param tickDurationMs timer resolution
+     * @param wheelSize     amount of buckets, rounded up to power of two
+     */
+    public HashedWheelTimer(String threadName, long tickDurationMs, int wheelSize) {
+        if (tickDurationMs <= 0) {
+            throw new IllegalArgumentException("tickDurationMs must be greater than 0: " + tickDurationMs);
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("wheelSize must be in range (0, 2^30]: " + wheelSize);
+        }
+
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+
+        this.tickDuration = TimeUnit.MILLISECONDS.toNanos(tickDurationMs);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+
+        this.ticker = new Thread(this::run, threadName);
+        this.ticker.setDaemon(true);
+        this.ticker.start();
+    }
+
+    /**
+     * Schedules task for single execution after given delay.
+     *
+     * @param task  fast non blocking task that will be executed by ticker thread
+     * @param delay delay of execution
+     * @param unit  delay time unit
+     * @return timeout handle that allows to cancel task execution
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (isClosed) {
+            throw new IllegalStateException("Timer is closed.");
+        }
+
+        long deadline = System.nanoTime() + unit.toNanos(Math.max(delay, 0)) - startTime;
+        /**
+         * Guard against overflow
+         */
+        if (delay > 0 && deadline < 0) {
+            deadline = Long.MAX_VALUE;
+        }
+
+        WheelTimeout timeout = new WheelTimeout(task, deadline);
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stops ticker thread. Timeouts that are not expired yet will never be executed.
+     */
+    @Override
+    public void close() {
+        isClosed = true;
+        ticker.interrupt();
+    }
+
+    private void run() {
+        while (!isClosed) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                continue;
+            }
+
+            try {
+                removeCancelledTimeouts();
+                transferPendingTimeouts();
+                wheel[(int) (tick & mask)].expireTimeouts(deadline);
+            } catch (Throwable thr) {
+                log.error("Failed to process tick {} of timer.", tick, thr);
+            }
+            tick++;
+        }
+    }
+
+    /**
+     * @return current time relative to {@link #startTime} or -1 if sleep was interrupted
+     */
+    private long waitForNextTick() {
+        long deadline = tickDuration * (tick + 1);
+
+        while (true) {
+            long currentTime = System.nanoTime() - startTime;
+            long sleepTimeNs = deadline - currentTime;
+
+            if (sleepTimeNs <= 0) {
+                return currentTime;
+            }
+
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepTimeNs);
+            } catch (InterruptedException exc) {
+                if (isClosed) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        WheelTimeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+            WheelTimeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.isCancelled()) {
+                continue;
+            }
+
+            long calculatedTick = timeout.deadline / tickDuration;
+            timeout.remainingRounds = (calculatedTick - tick) / wheel.length;
+
+            /**
+             * Timeout with deadline in the past is scheduled to current tick
+             */
+            long ticks = Math.max(calculatedTick, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package ru.fix.completable.reactor.runtime.tests;
+
+import org.junit.Test;
+import ru.fix.completable.reactor.runtime.admission.AdmissionController;
+import ru.fix.completable.reactor.runtime.admission.OverloadPolicy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.*;
+
+public class AdmissionControllerTest {
+
+    @Test
+    public void try_acquire_respects_global_and_quota_limits() throws Exception {
+        AdmissionController controller = new AdmissionController().setLimit(2);
+        AdmissionController.Quota quota1 = new AdmissionController.Quota().setLimit(1);
+        AdmissionController.Quota quota2 = new AdmissionController.Quota();
+
+        assertTrue(controller.tryAcquire(quota1));
+        assertFalse(controller.tryAcquire(quota1));
+        assertTrue(controller.tryAcquire(quota2));
+        assertFalse(controller.tryAcquire(quota2));
+
+        controller.release(quota1);
+        assertTrue(controller.tryAcquire(quota2));
+        assertEquals(2, controller.getAdmitted());
+    }
+
+    @Test
+    public void queued_request_admitted_after_release() throws Exception {
+        AdmissionController controller = new AdmissionController()
+                .setLimit(1)
+                .setOverloadPolicy(OverloadPolicy.QUEUE)
+                .setMaxQueueSize(1);
+        AdmissionController.Quota quota = new AdmissionController.Quota();
+
+        assertTrue(controller.acquireAsync(quota).isDone());
+
+        CompletableFuture<Void> queued = controller.acquireAsync(quota);
+        assertFalse(queued.isDone());
+
+        CompletableFuture<Void> rejected = controller.acquireAsync(quota);
+        assertRejected(rejected);
+
+        controller.release(quota);
+        assertTrue(queued.isDone());
+        assertEquals(1, controller.getAdmitted());
+        assertEquals(0, controller.getQueueSize());
+    }
+
+    @Test
+    public void queued_request_does_not_block_requests_with_other_quota() throws Exception {
+        AdmissionController controller = new AdmissionController().setLimit(2);
+        AdmissionController.Quota limitedQuota = new AdmissionController.Quota().setLimit(1);
+        AdmissionController.Quota quota = new AdmissionController.Quota();
+
+        assertTrue(controller.tryAcquire(limitedQuota));
+        assertTrue(controller.tryAcquire(quota));
+
+        CompletableFuture<Void> limited = controller.acquireAsync(limitedQuota);
+        CompletableFuture<Void> other = controller.acquireAsync(quota);
+
+        controller.release(quota);
+        assertFalse(limited.isDone());
+        assertTrue(other.isDone());
+
+        controller.release(limitedQuota);
+        assertTrue(limited.isDone());
+    }
+
+    @Test
+    public void waiters_of_different_quotas_are_admitted_in_fifo_order() throws Exception {
+        AdmissionController controller = new AdmissionController().setLimit(1);
+        AdmissionController.Quota quota1 = new AdmissionController.Quota();
+        AdmissionController.Quota quota2 = new AdmissionController.Quota();
+
+        assertTrue(controller.tryAcquire(quota1));
+
+        CompletableFuture<Void> first = controller.acquireAsync(quota2);
+        CompletableFuture<Void> second = controller.acquireAsync(quota1);
+        CompletableFuture<Void> third = controller.acquireAsync(quota2);
+
+        controller.release(quota1);
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+        assertFalse(third.isDone());
+
+        controller.release(quota2);
+        assertTrue(second.isDone());
+        assertFalse(third.isDone());
+
+        controller.release(quota1);
+        assertTrue(third.isDone());
+        assertEquals(0, controller.getQueueSize());
+    }
+
+    @Test
+    public void raised_quota_limit_admits_waiters() throws Exception {
+        AdmissionController controller = new AdmissionController();
+        AdmissionController.Quota quota = new AdmissionController.Quota().setLimit(1);
+
+        assertTrue(controller.tryAcquire(quota));
+
+        CompletableFuture<Void> queued = controller.acquireAsync(quota);
+        assertFalse(queued.isDone());
+
+        quota.setLimit(2);
+        assertTrue(queued.isDone());
+        assertEquals(2, quota.getAdmitted());
+        assertEquals(0, controller.getQueueSize());
+    }
+
+    @Test
+    public void reject_and_shed_policies() throws Exception {
+        AdmissionController controller = new AdmissionController()
+                .setLimit(1)
+                .setOverloadPolicy(OverloadPolicy.REJECT);
+        AdmissionController.Quota quota = new AdmissionController.Quota();
+
+        assertTrue(controller.tryAcquire(quota));
+        assertRejected(controller.acquireAsync(quota));
+
+        controller.setOverloadPolicy(OverloadPolicy.SHED).setMaxQueueSize(1);
+
+        CompletableFuture<Void> oldest = controller.acquireAsync(quota);
+        CompletableFuture<Void> newest = controller.acquireAsync(quota);
+
+        assertRejected(oldest);
+        assertFalse(newest.isDone());
+
+        controller.release(quota);
+        assertTrue(newest.isDone());
+    }
+
+    @Test
+    public void cancelled_waiter_leaves_queue() throws Exception {
+        AdmissionController controller = new AdmissionController().setLimit(1);
+        AdmissionController.Quota quota = new AdmissionController.Quota();
+
+        assertTrue(controller.tryAcquire(quota));
+
+        CompletableFuture<Void> cancelled = controller.acquireAsync(quota);
+        CompletableFuture<Void> queued = controller.acquireAsync(quota);
+        assertEquals(2, controller.getQueueSize());
+
+        cancelled.cancel(false);
+        assertEquals(1, controller.getQueueSize());
+
+        controller.release(quota);
+        assertTrue(queued.isDone());
+        assertEquals(1, controller.getAdmitted());
+        assertEquals(0, controller.getQueueSize());
+    }
+
+    private static void assertRejected(CompletableFuture<Void> future) throws Exception {
+        assertTrue(future.isCompletedExceptionally());
+        try {
+            future.get();
+            fail();
+        } catch (ExecutionException exc) {
+            assertTrue(exc.getCause() instanceof RejectedExecutionException);
+        }
+    }
+}
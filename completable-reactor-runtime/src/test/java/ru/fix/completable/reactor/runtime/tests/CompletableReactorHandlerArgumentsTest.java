@@ -511,4 +511,325 @@ public class CompletableReactorHandlerArgumentsTest {
                 .get(5, TimeUnit.SECONDS)
                 .getData());
     }
+
+    @Test
+    public void primitive_arguments_test() throws Exception {
+
+        @Reactored("Payload with id")
+        @Data
+        class Payload {
+            long id = 7;
+            String data;
+        }
+
+        class Service {
+            @Reactored("method with unboxed long argument")
+            public CompletableFuture<String> foo(long id, String prefix) {
+                return CompletableFuture.completedFuture(prefix + id);
+            }
+        }
+
+        final Service service = new Service();
+
+        class Config {
+            ReactorGraphBuilder graphBuilder = new ReactorGraphBuilder(this);
+
+            Processor<Payload> processor = graphBuilder.processor()
+                    .forPayload(Payload.class)
+                    .passLongArg(Payload::getId)
+                    .passArg(pld -> "id")
+                    .withHandler(service::foo)
+                    .withMerger((payload, result) -> {
+                        payload.data = result;
+                        return CompletableReactorTest.Status.OK;
+                    })
+                    .buildProcessor();
+
+
+            ReactorGraph<Payload> graph() {
+                return graphBuilder.payload(Payload.class)
+                        .handle(processor)
+
+                        .mergePoint(processor)
+                        .onAny()
+                        .complete()
+                        .coordinates()
+                        .buildGraph();
+            }
+        }
+
+        reactor.registerReactorGraph(new Config().graph());
+
+        assertEquals("id7", reactor.submit(new Payload())
+                .getResultFuture()
+                .get(5, TimeUnit.SECONDS)
+                .getData());
+    }
+
+    @Test
+    public void single_long_argument_test() throws Exception {
+
+        @Reactored("Payload with value")
+        @Data
+        class Payload {
+            long value = 7;
+            String data;
+        }
+
+        class Service {
+            @Reactored("method with single unboxed long argument")
+            public CompletableFuture<String> foo(long value) {
+                return CompletableFuture.completedFuture("" + value);
+            }
+        }
+
+        final Service service = new Service();
+
+        class Config {
+            ReactorGraphBuilder graphBuilder = new ReactorGraphBuilder(this);
+
+            Processor<Payload> processor = graphBuilder.processor()
+                    .forPayload(Payload.class)
+                    .passLongArg(Payload::getValue)
+                    .withHandler(service::foo)
+                    .withMerger((payload, result) -> {
+                        payload.data = result;
+                        return CompletableReactorTest.Status.OK;
+                    })
+                    .buildProcessor();
+
+
+            ReactorGraph<Payload> graph() {
+                return graphBuilder.payload(Payload.class)
+                        .handle(processor)
+
+                        .mergePoint(processor)
+                        .onAny()
+                        .complete()
+                        .coordinates()
+                        .buildGraph();
+            }
+        }
+
+        reactor.registerReactorGraph(new Config().graph());
+
+        assertEquals("7", reactor.submit(new Payload())
+                .getResultFuture()
+                .get(5, TimeUnit.SECONDS)
+                .getData());
+    }
+
+    @Test
+    public void single_int_argument_test() throws Exception {
+
+        @Reactored("Payload with value")
+        @Data
+        class Payload {
+            int value = 5;
+            String data;
+        }
+
+        class Service {
+            @Reactored("method with single unboxed int argument")
+            public CompletableFuture<String> foo(int value) {
+                return CompletableFuture.completedFuture("" + value);
+            }
+        }
+
+        final Service service = new Service();
+
+        class Config {
+            ReactorGraphBuilder graphBuilder = new ReactorGraphBuilder(this);
+
+            Processor<Payload> processor = graphBuilder.processor()
+                    .forPayload(Payload.class)
+                    .passIntArg(Payload::getValue)
+                    .withHandler(service::foo)
+                    .withMerger((payload, result) -> {
+                        payload.data = result;
+                        return CompletableReactorTest.Status.OK;
+                    })
+                    .buildProcessor();
+
+
+            ReactorGraph<Payload> graph() {
+                return graphBuilder.payload(Payload.class)
+                        .handle(processor)
+
+                        .mergePoint(processor)
+                        .onAny()
+                        .complete()
+                        .coordinates()
+                        .buildGraph();
+            }
+        }
+
+        reactor.registerReactorGraph(new Config().graph());
+
+        assertEquals("5", reactor.submit(new Payload())
+                .getResultFuture()
+                .get(5, TimeUnit.SECONDS)
+                .getData());
+    }
+
+    @Test
+    public void int_arguments_test() throws Exception {
+
+        @Reactored("Payload with value")
+        @Data
+        class Payload {
+            int value = 5;
+            String data;
+        }
+
+        class Service {
+            @Reactored("method with unboxed int argument and object argument")
+            public CompletableFuture<String> foo(int value, String prefix) {
+                return CompletableFuture.completedFuture(prefix + value);
+            }
+        }
+
+        final Service service = new Service();
+
+        class Config {
+            ReactorGraphBuilder graphBuilder = new ReactorGraphBuilder(this);
+
+            Processor<Payload> processor = graphBuilder.processor()
+                    .forPayload(Payload.class)
+                    .passIntArg(Payload::getValue)
+                    .passArg(pld -> "value")
+                    .withHandler(service::foo)
+                    .withMerger((payload, result) -> {
+                        payload.data = result;
+                        return CompletableReactorTest.Status.OK;
+                    })
+                    .buildProcessor();
+
+
+            ReactorGraph<Payload> graph() {
+                return graphBuilder.payload(Payload.class)
+                        .handle(processor)
+
+                        .mergePoint(processor)
+                        .onAny()
+                        .complete()
+                        .coordinates()
+                        .buildGraph();
+            }
+        }
+
+        reactor.registerReactorGraph(new Config().graph());
+
+        assertEquals("value5", reactor.submit(new Payload())
+                .getResultFuture()
+                .get(5, TimeUnit.SECONDS)
+                .getData());
+    }
+
+    @Test
+    public void single_double_argument_test() throws Exception {
+
+        @Reactored("Payload with value")
+        @Data
+        class Payload {
+            double value = 2.5;
+            String data;
+        }
+
+        class Service {
+            @Reactored("method with single unboxed double argument")
+            public CompletableFuture<String> foo(double value) {
+                return CompletableFuture.completedFuture("" + value);
+            }
+        }
+
+        final Service service = new Service();
+
+        class Config {
+            ReactorGraphBuilder graphBuilder = new ReactorGraphBuilder(this);
+
+            Processor<Payload> processor = graphBuilder.processor()
+                    .forPayload(Payload.class)
+                    .passDoubleArg(Payload::getValue)
+                    .withHandler(service::foo)
+                    .withMerger((payload, result) -> {
+                        payload.data = result;
+                        return CompletableReactorTest.Status.OK;
+                    })
+                    .buildProcessor();
+
+
+            ReactorGraph<Payload> graph() {
+                return graphBuilder.payload(Payload.class)
+                        .handle(processor)
+
+                        .mergePoint(processor)
+                        .onAny()
+                        .complete()
+                        .coordinates()
+                        .buildGraph();
+            }
+        }
+
+        reactor.registerReactorGraph(new Config().graph());
+
+        assertEquals("2.5", reactor.submit(new Payload())
+                .getResultFuture()
+                .get(5, TimeUnit.SECONDS)
+                .getData());
+    }
+
+    @Test
+    public void double_arguments_test() throws Exception {
+
+        @Reactored("Payload with value")
+        @Data
+        class Payload {
+            double value = 2.5;
+            String data;
+        }
+
+        class Service {
+            @Reactored("method with unboxed double argument and object argument")
+            public CompletableFuture<String> foo(double value, String prefix) {
+                return CompletableFuture.completedFuture(prefix + value);
+            }
+        }
+
+        final Service service = new Service();
+
+        class Config {
+            ReactorGraphBuilder graphBuilder = new ReactorGraphBuilder(this);
+
+            Processor<Payload> processor = graphBuilder.processor()
+                    .forPayload(Payload.class)
+                    .passDoubleArg(Payload::getValue)
+                    .passArg(pld -> "value")
+                    .withHandler(service::foo)
+                    .withMerger((payload, result) -> {
+                        payload.data = result;
+                        return CompletableReactorTest.Status.OK;
+                    })
+                    .buildProcessor();
+
+
+            ReactorGraph<Payload> graph() {
+                return graphBuilder.payload(Payload.class)
+                        .handle(processor)
+
+                        .mergePoint(processor)
+                        .onAny()
+                        .complete()
+                        .coordinates()
+                        .buildGraph();
+            }
+        }
+
+        reactor.registerReactorGraph(new Config().graph());
+
+        assertEquals("value2.5", reactor.submit(new Payload())
+                .getResultFuture()
+                .get(5, TimeUnit.SECONDS)
+                .getData());
+    }
 }
@@ -18,13 +18,20 @@ import ru.fix.completable.reactor.runtime.dsl.MergePoint;
 import ru.fix.completable.reactor.runtime.dsl.Processor;
 import ru.fix.completable.reactor.runtime.dsl.Subgraph;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -355,6 +362,90 @@ public class CompletableReactorTest {
         assertEquals(Arrays.asList(1, 11, 12, 13, 2, 3), resultPaylaod.getIdSequence());
     }
 
+    @Reactored({
+            "Subgraph with detached processor that is executed as embedded child execution."
+    })
+    static class EmbeddedSubgraphPayload extends IdListPayload {
+    }
+
+    @Reactored({
+            "Test will check that chain execution of parent graph and reactor close",
+            " wait for detached processor of embedded subgraph.",
+            "Expected result: {21}"
+    })
+    static class EmbeddingParentPayload extends IdListPayload {
+    }
+
+    @Test
+    public void embedded_subgraph_detached_processor_keeps_parent_chain_pending() throws Exception {
+
+        IdProcessor detachedProcessor = new IdProcessor(22).withLaunchingLatch();
+
+        class Config {
+            ReactorGraphBuilder builder = new ReactorGraphBuilder(this);
+
+            Processor<IdListPayload> idProcessor21 = buildProcessor(builder, new IdProcessor(21));
+
+            Processor<EmbeddedSubgraphPayload> idProcessor22 = builder.processor()
+                    .forPayload(EmbeddedSubgraphPayload.class)
+                    .withHandler(detachedProcessor::handle)
+                    .withoutMerger()
+                    .buildProcessor();
+
+            ReactorGraph<EmbeddedSubgraphPayload> childGraph() {
+                return builder.payload(EmbeddedSubgraphPayload.class)
+                        .handle(idProcessor21)
+                        .handle(idProcessor22)
+
+                        .mergePoint(idProcessor21).onAny().complete()
+
+                        .coordinates()
+                        .buildGraph();
+            }
+
+            Subgraph<EmbeddingParentPayload> subgraphProcessor = builder.subgraph(EmbeddedSubgraphPayload.class)
+                    .forPayload(EmbeddingParentPayload.class)
+                    .passArg(payload -> new EmbeddedSubgraphPayload())
+                    .withMerger((payload, result) -> {
+                        payload.getIdSequence().addAll(result.getIdSequence());
+                        return Status.OK;
+                    })
+                    .buildSubgraph();
+
+            ReactorGraph<EmbeddingParentPayload> parentGraph() {
+                return builder.payload(EmbeddingParentPayload.class)
+                        .handle(subgraphProcessor)
+
+                        .mergePoint(subgraphProcessor).onAny().complete()
+
+                        .coordinates()
+                        .buildGraph();
+            }
+        }
+
+        Config config = new Config();
+        reactor.registerReactorGraph(config.childGraph());
+        reactor.registerReactorGraph(config.parentGraph());
+
+        CompletableReactor.Execution<EmbeddingParentPayload> result = reactor.submit(new EmbeddingParentPayload());
+
+        assertEquals(Arrays.asList(21), result.getResultFuture().get(5, TimeUnit.SECONDS).getIdSequence());
+
+        CompletableFuture<Void> closeFuture = reactor.closeAsync();
+
+        assertFalse("parent chain waits for detached processor of subgraph",
+                result.getChainExecutionFuture().isDone());
+        assertFalse("reactor close waits for detached processor of subgraph", closeFuture.isDone());
+        assertFalse("embedded subgraph is not submitted to reactor",
+                reactor.buildStatisticsReport().getPayloadStatisticsReports()
+                        .containsKey(EmbeddedSubgraphPayload.class));
+
+        detachedProcessor.launch();
+
+        result.getChainExecutionFuture().get(5, TimeUnit.SECONDS);
+        closeFuture.get(5, TimeUnit.SECONDS);
+    }
+
     @Reactored({
             "Test demonstrates usage of mocked processor instead of real one.",
             "Test will check that single processor id end up at payloads idList.",
@@ -1182,4 +1273,1144 @@ public class CompletableReactorTest {
 
         assertEquals(Arrays.asList(1), resultPayload.getIdSequence());
     }
-}
\ No newline at end of file
+
+    @Reactored({
+            "Test will check that graph execution runs on executor provided to reactor",
+            " and that graph level executor overrides it.",
+            "Expected result: {1, 2}"
+    })
+    static class CustomExecutorPayload extends IdListPayload {
+    }
+
+    @Test
+    public void custom_executor() throws Exception {
+
+        class Config {
+            final ReactorGraphBuilder builder = new ReactorGraphBuilder(this);
+
+            Processor<IdListPayload> idProcessor1 = buildProcessor(builder, new IdProcessor(1));
+            Processor<IdListPayload> idProcessor2 = buildProcessor(builder, new IdProcessor(2));
+
+            ReactorGraph buildGraph() {
+                return builder.payload(CustomExecutorPayload.class)
+                        .handle(idProcessor1)
+                        .handle(idProcessor2)
+
+                        .mergePoint(idProcessor1)
+                        .onAny().merge(idProcessor2)
+
+                        .mergePoint(idProcessor2)
+                        .onAny().complete()
+
+                        .coordinates()
+                        .start(366, 103)
+                        .proc(idProcessor1, 358, 184)
+                        .proc(idProcessor2, 549, 183)
+                        .merge(idProcessor1, 427, 291)
+                        .merge(idProcessor2, 571, 356)
+                        .complete(idProcessor2, 610, 454)
+
+                        .buildGraph();
+            }
+        }
+
+        ExecutorService reactorExecutor = Executors.newFixedThreadPool(2);
+        ExecutorService graphExecutor = Executors.newFixedThreadPool(2);
+        try {
+            AtomicInteger reactorExecutorTasks = new AtomicInteger();
+            AtomicInteger graphExecutorTasks = new AtomicInteger();
+
+            reactor.setExecutor(task -> {
+                reactorExecutorTasks.incrementAndGet();
+                reactorExecutor.execute(task);
+            });
+
+            val graph = new Config().buildGraph();
+            reactor.registerReactorGraph(graph);
+
+            CustomExecutorPayload resultPayload = reactor.submit(new CustomExecutorPayload())
+                    .getResultFuture()
+                    .get(10, TimeUnit.SECONDS);
+
+            assertEquals(Arrays.asList(1, 2), resultPayload.getIdSequence());
+            assertTrue(reactorExecutorTasks.get() > 0);
+
+
+            Config graphConfig = new Config();
+            graphConfig.builder.setExecutor(task -> {
+                graphExecutorTasks.incrementAndGet();
+                graphExecutor.execute(task);
+            });
+
+            CompletableReactor graphReactor = new CompletableReactor(profiler)
+                    .setSameThreadTransitions(true);
+            graphReactor.registerReactorGraph(graphConfig.buildGraph());
+
+            resultPayload = graphReactor.submit(new CustomExecutorPayload())
+                    .getResultFuture()
+                    .get(10, TimeUnit.SECONDS);
+
+            assertEquals(Arrays.asList(1, 2), resultPayload.getIdSequence());
+            assertTrue(graphExecutorTasks.get() > 0);
+        } finally {
+            reactorExecutor.shutdown();
+            graphExecutor.shutdown();
+        }
+    }
+
+    @Reactored({
+            "Test will check that closeAsync completes only after pending request is complete",
+            " and that closed reactor rejects new requests.",
+            "Expected result: {1}"
+    })
+    static class CloseAsyncPayload extends IdListPayload {
+    }
+
+    @Test
+    public void close_async_waits_for_pending_requests() throws Exception {
+
+        class Config {
+            final ReactorGraphBuilder builder = new ReactorGraphBuilder(this);
+
+            IdProcessor idProcessor1 = new IdProcessor(1).withLaunchingLatch();
+
+            Processor<IdListPayload> processor1 = buildProcessor(builder, idProcessor1);
+
+            ReactorGraph buildGraph() {
+                return builder.payload(CloseAsyncPayload.class)
+                        .handle(processor1)
+
+                        .mergePoint(processor1)
+                        .onAny().complete()
+
+                        .coordinates()
+                        .start(226, 98)
+                        .proc(processor1, 261, 163)
+                        .merge(processor1, 300, 251)
+                        .complete(processor1, 308, 336)
+
+                        .buildGraph();
+            }
+        }
+
+        val config = new Config();
+        reactor.registerReactorGraph(config.buildGraph());
+
+        CompletableFuture<CloseAsyncPayload> result = reactor.submit(new CloseAsyncPayload()).getResultFuture();
+
+        CompletableFuture<Void> closeFuture = reactor.closeAsync();
+        assertFalse(closeFuture.isDone());
+
+        try {
+            reactor.submit(new CloseAsyncPayload());
+            fail("Closed reactor should reject new requests");
+        } catch (IllegalStateException exc) {
+            log.info("Request rejected by closed reactor", exc);
+        }
+
+        config.idProcessor1.launch();
+
+        assertEquals(Arrays.asList(1), result.get(10, TimeUnit.SECONDS).getIdSequence());
+        closeFuture.get(10, TimeUnit.SECONDS);
+    }
+
+    @Reactored({
+            "Test will check that cancellation of queued asynchronous submission removes request from",
+            " admission queue and request is never executed.",
+            "Expected result: {1}"
+    })
+    static class CancelledSubmitAsyncPayload extends IdListPayload {
+    }
+
+    @Test
+    public void cancel_queued_submit_async() throws Exception {
+
+        class Config {
+            final ReactorGraphBuilder builder = new ReactorGraphBuilder(this);
+
+            IdProcessor idProcessor1 = new IdProcessor(1).withLaunchingLatch();
+
+            Processor<IdListPayload> processor1 = buildProcessor(builder, idProcessor1);
+
+            ReactorGraph buildGraph() {
+                return builder.payload(CancelledSubmitAsyncPayload.class)
+                        .handle(processor1)
+
+                        .mergePoint(processor1)
+                        .onAny().complete()
+
+                        .coordinates()
+                        .start(226, 98)
+                        .proc(processor1, 261, 163)
+                        .merge(processor1, 300, 251)
+                        .complete(processor1, 308, 336)
+
+                        .buildGraph();
+            }
+        }
+
+        val config = new Config();
+        reactor.registerReactorGraph(config.buildGraph());
+        reactor.setMaxPendingRequestCount(1);
+
+        CompletableFuture<CompletableReactor.Execution<CancelledSubmitAsyncPayload>> admitted =
+                reactor.submitAsync(new CancelledSubmitAsyncPayload());
+        CompletableReactor.Execution<CancelledSubmitAsyncPayload> execution = admitted.get(10, TimeUnit.SECONDS);
+
+        CancelledSubmitAsyncPayload cancelledPayload = new CancelledSubmitAsyncPayload();
+        CompletableFuture<CompletableReactor.Execution<CancelledSubmitAsyncPayload>> cancelled =
+                reactor.submitAsync(cancelledPayload);
+        assertFalse(cancelled.isDone());
+        assertEquals(1, reactor.getQueuedRequestCount());
+
+        assertTrue(cancelled.cancel(false));
+        assertEquals(0, reactor.getQueuedRequestCount());
+
+        config.idProcessor1.launch();
+        assertEquals(Arrays.asList(1), execution.getResultFuture().get(10, TimeUnit.SECONDS).getIdSequence());
+        execution.getChainExecutionFuture().get(10, TimeUnit.SECONDS);
+
+        /**
+         * Cancelled request does not hold admission permit
+         */
+        CompletableReactor.Execution<CancelledSubmitAsyncPayload> next = reactor.submitAsync(
+                new CancelledSubmitAsyncPayload()).get(10, TimeUnit.SECONDS);
+        next.getChainExecutionFuture().get(10, TimeUnit.SECONDS);
+
+        reactor.closeAsync().get(10, TimeUnit.SECONDS);
+        assertTrue(cancelledPayload.getIdSequence().isEmpty());
+    }
+
+    @Reactored({
+            "Test will check that batch of payloads is submitted and each payload is executed by graph.",
+            "Expected result: {1, 2}"
+    })
+    static class BatchPayload extends IdListPayload {
+    }
+
+    @Test
+    public void submit_batch_of_payloads() throws Exception {
+
+        class Config {
+            final ReactorGraphBuilder builder = new ReactorGraphBuilder(this);
+
+            Processor<IdListPayload> processor1 = buildProcessor(builder, new IdProcessor(1));
+            Processor<IdListPayload> processor2 = buildProcessor(builder, new IdProcessor(2));
+
+            ReactorGraph buildGraph() {
+                return builder.payload(BatchPayload.class)
+                        .handle(processor1)
+
+                        .mergePoint(processor1)
+                        .onAny().handle(processor2)
+
+                        .mergePoint(processor2)
+                        .onAny().complete()
+
+                        .coordinates()
+                        .start(226, 98)
+                        .proc(processor1, 261, 163)
+                        .proc(processor2, 261, 263)
+                        .merge(processor1, 300, 251)
+                        .merge(processor2, 300, 351)
+                        .complete(processor2, 308, 436)
+
+                        .buildGraph();
+            }
+        }
+
+        reactor.registerReactorGraph(new Config().buildGraph());
+
+        List<BatchPayload> payloads = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            payloads.add(new BatchPayload());
+        }
+
+        CompletableReactor.BatchExecution<BatchPayload> batch = reactor.submitAll(payloads);
+        batch.getResultFuture().get(10, TimeUnit.SECONDS);
+
+        assertEquals(payloads.size(), batch.getExecutions().size());
+        for (CompletableReactor.Execution<BatchPayload> execution : batch.getExecutions()) {
+            assertEquals(Arrays.asList(1, 2), execution.getResultFuture().get().getIdSequence());
+        }
+
+        batch.getChainExecutionFuture().get(10, TimeUnit.SECONDS);
+        reactor.closeAsync().get(10, TimeUnit.SECONDS);
+    }
+
+    @Reactored({
+            "Test will check that inline processor merges handling result in thread that completed handler future",
+            " and that processor with already completed handler future is merged in thread that invoked handler.",
+            "Expected result: {1, 2}"
+    })
+    static class InlineProcessorPayload extends IdListPayload {
+    }
+
+    @Test
+    public void inline_processor() throws Exception {
+
+        ExecutorService handlerExecutor = Executors.newSingleThreadExecutor(task -> new Thread(task, "handler"));
+
+        class Service {
+            volatile String completedHandlerThread;
+
+            @Reactored("Returns 1 from handler thread")
+            public CompletableFuture<Integer> asyncHandler() {
+                return CompletableFuture.supplyAsync(() -> {
+                    /**
+                     * Handler future should be completed after reactor subscribes to it
+                     */
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException exc) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return 1;
+                }, handlerExecutor);
+            }
+
+            @Reactored("Returns already completed future with 2")
+            public CompletableFuture<Integer> completedHandler() {
+                completedHandlerThread = Thread.currentThread().getName();
+                return CompletableFuture.completedFuture(2);
+            }
+        }
+
+        final Service service = new Service();
+
+        class Config {
+            final ReactorGraphBuilder builder = new ReactorGraphBuilder(this);
+
+            volatile String processor1MergeThread;
+            volatile String processor2MergeThread;
+
+            Processor<InlineProcessorPayload> processor1 = builder.processor()
+                    .inline()
+                    .forPayload(InlineProcessorPayload.class)
+                    .withHandler(service::asyncHandler)
+                    .withMerger((payload, id) -> {
+                        processor1MergeThread = Thread.currentThread().getName();
+                        payload.getIdSequence().add(id);
+                        return Status.OK;
+                    })
+                    .buildProcessor();
+
+            Processor<InlineProcessorPayload> processor2 = builder.processor()
+                    .forPayload(InlineProcessorPayload.class)
+                    .withHandler(service::completedHandler)
+                    .withMerger((payload, id) -> {
+                        processor2MergeThread = Thread.currentThread().getName();
+                        payload.getIdSequence().add(id);
+                        return Status.OK;
+                    })
+                    .buildProcessor();
+
+            ReactorGraph buildGraph() {
+                return builder.payload(InlineProcessorPayload.class)
+                        .handle(processor1)
+
+                        .mergePoint(processor1)
+                        .onAny().handle(processor2)
+
+                        .mergePoint(processor2)
+                        .onAny().complete()
+
+                        .coordinates()
+                        .start(226, 98)
+                        .proc(processor1, 261, 163)
+                        .proc(processor2, 261, 263)
+                        .merge(processor1, 300, 251)
+                        .merge(processor2, 300, 351)
+                        .complete(processor2, 308, 436)
+
+                        .buildGraph();
+            }
+        }
+
+        try {
+            Config config = new Config();
+            reactor.registerReactorGraph(config.buildGraph());
+
+            InlineProcessorPayload resultPayload = reactor.submit(new InlineProcessorPayload())
+                    .getResultFuture()
+                    .get(10, TimeUnit.SECONDS);
+
+            assertEquals(Arrays.asList(1, 2), resultPayload.getIdSequence());
+            assertEquals("handler", config.processor1MergeThread);
+            assertEquals("handler", service.completedHandlerThread);
+            assertEquals("handler", config.processor2MergeThread);
+        } finally {
+            handlerExecutor.shutdown();
+        }
+    }
+
+    @Reactored({
+            "Test will check that with same thread submission processors of the first wave",
+            " are invoked and merged by thread that submitted payload.",
+            "Expected result: {1, 2}"
+    })
+    static class SameThreadSubmissionPayload extends IdListPayload {
+    }
+
+    @Test
+    public void same_thread_submission() throws Exception {
+
+        class Service {
+            final List<String> handlerThreads = new CopyOnWriteArrayList<>();
+
+            @Reactored("Returns already completed future with given id")
+            public CompletableFuture<Integer> completedHandler(int id) {
+                handlerThreads.add(Thread.currentThread().getName());
+                return CompletableFuture.completedFuture(id);
+            }
+        }
+
+        final Service service = new Service();
+
+        class Config {
+            final ReactorGraphBuilder builder = new ReactorGraphBuilder(this);
+
+            Processor<SameThreadSubmissionPayload> processor1 = builder.processor()
+                    .forPayload(SameThreadSubmissionPayload.class)
+                    .passIntArg(payload -> 1)
+                    .withHandler(service::completedHandler)
+                    .withMerger((payload, id) -> {
+                        payload.getIdSequence().add(id);
+                        return Status.OK;
+                    })
+                    .buildProcessor();
+
+            Processor<SameThreadSubmissionPayload> processor2 = builder.processor()
+                    .forPayload(SameThreadSubmissionPayload.class)
+                    .passIntArg(payload -> 2)
+                    .withHandler(service::completedHandler)
+                    .withMerger((payload, id) -> {
+                        payload.getIdSequence().add(id);
+                        return Status.OK;
+                    })
+                    .buildProcessor();
+
+            ReactorGraph buildGraph() {
+                return builder.payload(SameThreadSubmissionPayload.class)
+                        .handle(processor1)
+
+                        .mergePoint(processor1)
+                        .onAny().handle(processor2)
+
+                        .mergePoint(processor2)
+                        .onAny().complete()
+
+                        .coordinates()
+                        .buildGraph();
+            }
+        }
+
+        reactor.setSameThreadSubmission(true);
+        reactor.registerReactorGraph(new Config().buildGraph());
+
+        SameThreadSubmissionPayload resultPayload = reactor.submit(new SameThreadSubmissionPayload())
+                .getResultFuture()
+                .get(10, TimeUnit.SECONDS);
+
+        String submittingThread = Thread.currentThread().getName();
+
+        assertEquals(Arrays.asList(1, 2), resultPayload.getIdSequence());
+        assertEquals(Arrays.asList(submittingThread, submittingThread), service.handlerThreads);
+    }
+
+    @Reactored({
+            "Test will check that when execution reaches terminal state",
+            " in-flight handler of parallel processor that declares cancellation is cancelled",
+            " and its result is not merged.",
+            "Expected result: {1}"
+    })
+    static class CancelledProcessorPayload extends IdListPayload {
+    }
+
+    @Test
+    public void terminal_state_cancels_in_flight_handlers() throws Exception {
+
+        class Service {
+            final CompletableFuture<Integer> pendingHandling = new CompletableFuture<>();
+            final CompletableFuture<Void> pendingHandlerInvoked = new CompletableFuture<>();
+
+            @Reactored("Returns 1 when pending handler is invoked")
+            public CompletableFuture<Integer> completedHandler() {
+                return pendingHandlerInvoked.thenApply(any -> 1);
+            }
+
+            @Reactored("Returns future that is never completed by service")
+            public CompletableFuture<Integer> pendingHandler() {
+                pendingHandlerInvoked.complete(null);
+                return pendingHandling;
+            }
+        }
+
+        final Service service = new Service();
+
+        class Config {
+            final ReactorGraphBuilder builder = new ReactorGraphBuilder(this);
+
+            final AtomicInteger processor2Merges = new AtomicInteger();
+
+            Processor<CancelledProcessorPayload> processor1 = builder.processor()
+                    .forPayload(CancelledProcessorPayload.class)
+                    .withHandler(service::completedHandler)
+                    .withMerger((payload, id) -> {
+                        payload.getIdSequence().add(id);
+                        return Status.OK;
+                    })
+                    .buildProcessor();
+
+            Processor<CancelledProcessorPayload> processor2 = builder.processor()
+                    .withCancellation()
+                    .forPayload(CancelledProcessorPayload.class)
+                    .withHandler(service::pendingHandler)
+                    .withMerger((payload, id) -> {
+                        processor2Merges.incrementAndGet();
+                        payload.getIdSequence().add(id);
+                        return Status.OK;
+                    })
+                    .buildProcessor();
+
+            ReactorGraph buildGraph() {
+                return builder.payload(CancelledProcessorPayload.class)
+                        .handle(processor1)
+                        .handle(processor2)
+
+                        .mergePoint(processor1)
+                        .onAny().complete()
+
+                        .mergePoint(processor2)
+                        .onAny().complete()
+
+                        .coordinates()
+                        .start(226, 98)
+                        .proc(processor1, 161, 163)
+                        .proc(processor2, 361, 163)
+                        .merge(processor1, 200, 251)
+                        .merge(processor2, 400, 251)
+                        .complete(processor1, 208, 336)
+                        .complete(processor2, 408, 336)
+
+                        .buildGraph();
+            }
+        }
+
+        Config config = new Config();
+        reactor.registerReactorGraph(config.buildGraph());
+
+        CompletableReactor.Execution<CancelledProcessorPayload> execution =
+                reactor.submit(new CancelledProcessorPayload());
+
+        assertEquals(Arrays.asList(1), execution.getResultFuture().get(10, TimeUnit.SECONDS).getIdSequence());
+
+        execution.getChainExecutionFuture().get(10, TimeUnit.SECONDS);
+        assertTrue(service.pendingHandling.isCancelled());
+        assertEquals(0, config.processor2Merges.get());
+    }
+
+    @Reactored({
+            "Test will check that failed execution does not cancel handler future",
+            " of processor without declared cancellation.",
+            " Future returned to several requests stays intact and completes other requests.",
+            "Expected result: {2, 1}"
+    })
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    @Accessors(chain = true)
+    static class SharedHandlingPayload extends IdListPayload {
+        boolean isFailed;
+    }
+
+    @Test
+    public void failed_execution_does_not_cancel_shared_handler_future() throws Exception {
+
+        class Service {
+            final CompletableFuture<Integer> sharedHandling = new CompletableFuture<>();
+
+            @Reactored("Returns the same future for all requests")
+            public CompletableFuture<Integer> sharedHandler() {
+                return sharedHandling;
+            }
+
+            @Reactored("Returns 2 or fails if payload is marked as failed")
+            public CompletableFuture<Integer> failingHandler(boolean isFailed) {
+                CompletableFuture<Integer> result = new CompletableFuture<>();
+                if (isFailed) {
+                    result.completeExceptionally(new IllegalStateException("Handling failed"));
+                } else {
+                    result.complete(2);
+                }
+                return result;
+            }
+        }
+
+        final Service service = new Service();
+
+        class Config {
+            final ReactorGraphBuilder builder = new ReactorGraphBuilder(this);
+
+            Processor<SharedHandlingPayload> processor1 = builder.processor()
+                    .forPayload(SharedHandlingPayload.class)
+                    .withHandler(service::sharedHandler)
+                    .withMerger((payload, id) -> {
+                        payload.getIdSequence().add(id);
+                        return Status.OK;
+                    })
+                    .buildProcessor();
+
+            Processor<SharedHandlingPayload> processor2 = builder.processor()
+                    .forPayload(SharedHandlingPayload.class)
+                    .passArg(SharedHandlingPayload::isFailed)
+                    .withHandler(service::failingHandler)
+                    .withMerger((payload, id) -> {
+                        payload.getIdSequence().add(id);
+                        return Status.OK;
+                    })
+                    .buildProcessor();
+
+            ReactorGraph buildGraph() {
+                return builder.payload(SharedHandlingPayload.class)
+                        .handle(processor1)
+                        .handle(processor2)
+
+                        .mergePoint(processor2)
+                        .onAny().merge(processor1)
+
+                        .mergePoint(processor1)
+                        .onAny().complete()
+
+                        .coordinates()
+                        .start(226, 98)
+                        .proc(processor1, 161, 163)
+                        .proc(processor2, 361, 163)
+                        .merge(processor1, 200, 351)
+                        .merge(processor2, 400, 251)
+                        .complete(processor1, 208, 436)
+
+                        .buildGraph();
+            }
+        }
+
+        reactor.registerReactorGraph(new Config().buildGraph());
+
+        CompletableReactor.Execution<SharedHandlingPayload> failedExecution =
+                reactor.submit(new SharedHandlingPayload().setFailed(true));
+        CompletableReactor.Execution<SharedHandlingPayload> execution =
+                reactor.submit(new SharedHandlingPayload());
+
+        try {
+            failedExecution.getResultFuture().get(10, TimeUnit.SECONDS);
+            fail("Execution should fail");
+        } catch (ExecutionException exc) {
+            assertFalse(exc.getCause() instanceof CancellationException);
+        }
+
+        assertFalse(service.sharedHandling.isCancelled());
+
+        service.sharedHandling.complete(1);
+
+        assertEquals(Arrays.asList(2, 1), execution.getResultFuture().get(10, TimeUnit.SECONDS).getIdSequence());
+        failedExecution.getChainExecutionFuture().handle((any, thr) -> null).get(10, TimeUnit.SECONDS);
+        assertFalse(service.sharedHandling.isCompletedExceptionally());
+    }
+
+    @Reactored({
+            "Test will check that when execution reaches terminal state",
+            " in-flight detached processor completes and chain execution waits for it,",
+            " while detached processor that was not activated yet is never invoked.",
+            "Expected result: {1}"
+    })
+    static class CancelledDetachedProcessorPayload extends IdListPayload {
+    }
+
+    @Test
+    public void terminal_state_skips_not_activated_detached_processors() throws Exception {
+
+        class Service {
+            final CompletableFuture<Integer> pendingHandling = new CompletableFuture<>();
+            final CompletableFuture<Void> pendingHandlerInvoked = new CompletableFuture<>();
+            final CompletableFuture<Integer> inFlightDetachedHandling = new CompletableFuture<>();
+            final CompletableFuture<Void> inFlightDetachedHandlerInvoked = new CompletableFuture<>();
+            final AtomicInteger notActivatedDetachedInvocations = new AtomicInteger();
+
+            @Reactored("Returns 1 when pending and in-flight detached handlers are invoked")
+            public CompletableFuture<Integer> completedHandler() {
+                return CompletableFuture.allOf(pendingHandlerInvoked, inFlightDetachedHandlerInvoked)
+                        .thenApply(any -> 1);
+            }
+
+            @Reactored("Returns future that is never completed by service")
+            public CompletableFuture<Integer> pendingHandler() {
+                pendingHandlerInvoked.complete(null);
+                return pendingHandling;
+            }
+
+            @Reactored("Returns future that is completed by test")
+            public CompletableFuture<Integer> inFlightDetachedHandler() {
+                inFlightDetachedHandlerInvoked.complete(null);
+                return inFlightDetachedHandling;
+            }
+
+            @Reactored("Returns 4")
+            public CompletableFuture<Integer> notActivatedDetachedHandler() {
+                notActivatedDetachedInvocations.incrementAndGet();
+                return CompletableFuture.completedFuture(4);
+            }
+        }
+
+        final Service service = new Service();
+
+        class Config {
+            final ReactorGraphBuilder builder = new ReactorGraphBuilder(this);
+
+            Processor<CancelledDetachedProcessorPayload> processor1 = builder.processor()
+                    .forPayload(CancelledDetachedProcessorPayload.class)
+                    .withHandler(service::completedHandler)
+                    .withMerger((payload, id) -> {
+                        payload.getIdSequence().add(id);
+                        return Status.OK;
+                    })
+                    .buildProcessor();
+
+            Processor<CancelledDetachedProcessorPayload> processor2 = builder.processor()
+                    .withCancellation()
+                    .forPayload(CancelledDetachedProcessorPayload.class)
+                    .withHandler(service::pendingHandler)
+                    .withMerger((payload, id) -> {
+                        payload.getIdSequence().add(id);
+                        return Status.OK;
+                    })
+                    .buildProcessor();
+
+            Processor<CancelledDetachedProcessorPayload> processor3 = builder.processor()
+                    .forPayload(CancelledDetachedProcessorPayload.class)
+                    .withHandler(service::inFlightDetachedHandler)
+                    .withoutMerger()
+                    .buildProcessor();
+
+            Processor<CancelledDetachedProcessorPayload> processor4 = builder.processor()
+                    .forPayload(CancelledDetachedProcessorPayload.class)
+                    .withHandler(service::notActivatedDetachedHandler)
+                    .withoutMerger()
+                    .buildProcessor();
+
+            ReactorGraph buildGraph() {
+                return builder.payload(CancelledDetachedProcessorPayload.class)
+                        .handle(processor1)
+                        .handle(processor2)
+                        .handle(processor3)
+
+                        .mergePoint(processor1)
+                        .onAny().complete()
+
+                        .mergePoint(processor2)
+                        .onAny().handle(processor4)
+
+                        .coordinates()
+                        .start(226, 98)
+                        .proc(processor1, 161, 163)
+                        .proc(processor2, 361, 163)
+                        .proc(processor3, 561, 163)
+                        .proc(processor4, 361, 336)
+                        .merge(processor1, 200, 251)
+                        .merge(processor2, 400, 251)
+                        .complete(processor1, 208, 336)
+
+                        .buildGraph();
+            }
+        }
+
+        reactor.registerReactorGraph(new Config().buildGraph());
+
+        CompletableReactor.Execution<CancelledDetachedProcessorPayload> execution =
+                reactor.submit(new CancelledDetachedProcessorPayload());
+
+        assertEquals(Arrays.asList(1), execution.getResultFuture().get(10, TimeUnit.SECONDS).getIdSequence());
+
+        assertFalse("in-flight detached processor is not cancelled", service.inFlightDetachedHandling.isDone());
+        assertFalse(execution.getChainExecutionFuture().isDone());
+
+        service.inFlightDetachedHandling.complete(3);
+        execution.getChainExecutionFuture().get(10, TimeUnit.SECONDS);
+
+        assertTrue(service.pendingHandling.isCancelled());
+        assertEquals(0, service.notActivatedDetachedInvocations.get());
+    }
+
+    @Reactored({
+            "Test will check that execution timeout cancels in-flight handler that declares cancellation",
+            " and downstream processor is not invoked.",
+            "Expected result: TimeoutException"
+    })
+    static class ExpiredProcessorPayload extends IdListPayload {
+    }
+
+    @Test
+    public void timeout_cancels_in_flight_handlers() throws Exception {
+
+        class Service {
+            final CompletableFuture<Integer> pendingHandling = new CompletableFuture<>();
+            final AtomicInteger downstreamInvocations = new AtomicInteger();
+
+            @Reactored("Returns future that is never completed by service")
+            public CompletableFuture<Integer> pendingHandler() {
+                return pendingHandling;
+            }
+
+            @Reactored("Returns 2")
+            public CompletableFuture<Integer> downstreamHandler() {
+                downstreamInvocations.incrementAndGet();
+                return CompletableFuture.completedFuture(2);
+            }
+        }
+
+        final Service service = new Service();
+
+        class Config {
+            final ReactorGraphBuilder builder = new ReactorGraphBuilder(this);
+
+            Processor<ExpiredProcessorPayload> processor1 = builder.processor()
+                    .withCancellation()
+                    .forPayload(ExpiredProcessorPayload.class)
+                    .withHandler(service::pendingHandler)
+                    .withMerger((payload, id) -> {
+                        payload.getIdSequence().add(id);
+                        return Status.OK;
+                    })
+                    .buildProcessor();
+
+            Processor<ExpiredProcessorPayload> processor2 = builder.processor()
+                    .forPayload(ExpiredProcessorPayload.class)
+                    .withHandler(service::downstreamHandler)
+                    .withMerger((payload, id) -> {
+                        payload.getIdSequence().add(id);
+                        return Status.OK;
+                    })
+                    .buildProcessor();
+
+            ReactorGraph buildGraph() {
+                return builder.payload(ExpiredProcessorPayload.class)
+                        .handle(processor1)
+
+                        .mergePoint(processor1)
+                        .onAny().handle(processor2)
+
+                        .mergePoint(processor2)
+                        .onAny().complete()
+
+                        .coordinates()
+                        .start(226, 98)
+                        .proc(processor1, 261, 163)
+                        .proc(processor2, 261, 263)
+                        .merge(processor1, 300, 251)
+                        .merge(processor2, 300, 351)
+                        .complete(processor2, 308, 436)
+
+                        .buildGraph();
+            }
+        }
+
+        reactor.registerReactorGraph(new Config().buildGraph());
+
+        CompletableReactor.Execution<ExpiredProcessorPayload> execution =
+                reactor.submit(new ExpiredProcessorPayload(), 100);
+
+        try {
+            execution.getResultFuture().get(10, TimeUnit.SECONDS);
+            fail("Execution should expire");
+        } catch (ExecutionException exc) {
+            assertTrue(exc.getCause() instanceof TimeoutException);
+        }
+
+        try {
+            execution.getChainExecutionFuture().get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException exc) {
+            assertTrue(exc.getCause() instanceof TimeoutException);
+        }
+
+        assertTrue(service.pendingHandling.isCancelled());
+        assertEquals(0, service.downstreamInvocations.get());
+    }
+
+    @Reactored({
+            "Test will check that execution timeout does not cancel handler future",
+            " of processor without declared cancellation, but downstream processor is not invoked.",
+            "Expected result: TimeoutException"
+    })
+    static class ExpiredSharedHandlingPayload extends IdListPayload {
+    }
+
+    @Test
+    public void timeout_does_not_cancel_handler_without_declared_cancellation() throws Exception {
+
+        class Service {
+            final CompletableFuture<Integer> sharedHandling = new CompletableFuture<>();
+            final AtomicInteger downstreamInvocations = new AtomicInteger();
+
+            @Reactored("Returns the same future for all requests")
+            public CompletableFuture<Integer> sharedHandler() {
+                return sharedHandling;
+            }
+
+            @Reactored("Returns 2")
+            public CompletableFuture<Integer> downstreamHandler() {
+                downstreamInvocations.incrementAndGet();
+                return CompletableFuture.completedFuture(2);
+            }
+        }
+
+        final Service service = new Service();
+
+        class Config {
+            final ReactorGraphBuilder builder = new ReactorGraphBuilder(this);
+
+            Processor<ExpiredSharedHandlingPayload> processor1 = builder.processor()
+                    .forPayload(ExpiredSharedHandlingPayload.class)
+                    .withHandler(service::sharedHandler)
+                    .withMerger((payload, id) -> {
+                        payload.getIdSequence().add(id);
+                        return Status.OK;
+                    })
+                    .buildProcessor();
+
+            Processor<ExpiredSharedHandlingPayload> processor2 = builder.processor()
+                    .forPayload(ExpiredSharedHandlingPayload.class)
+                    .withHandler(service::downstreamHandler)
+                    .withMerger((payload, id) -> {
+                        payload.getIdSequence().add(id);
+                        return Status.OK;
+                    })
+                    .buildProcessor();
+
+            ReactorGraph buildGraph() {
+                return builder.payload(ExpiredSharedHandlingPayload.class)
+                        .handle(processor1)
+
+                        .mergePoint(processor1)
+                        .onAny().handle(processor2)
+
+                        .mergePoint(processor2)
+                        .onAny().complete()
+
+                        .coordinates()
+                        .start(226, 98)
+                        .proc(processor1, 261, 163)
+                        .proc(processor2, 261, 263)
+                        .merge(processor1, 300, 251)
+                        .merge(processor2, 300, 351)
+                        .complete(processor2, 308, 436)
+
+                        .buildGraph();
+            }
+        }
+
+        reactor.registerReactorGraph(new Config().buildGraph());
+
+        CompletableReactor.Execution<ExpiredSharedHandlingPayload> execution =
+                reactor.submit(new ExpiredSharedHandlingPayload(), 100);
+
+        try {
+            execution.getResultFuture().get(10, TimeUnit.SECONDS);
+            fail("Execution should expire");
+        } catch (ExecutionException exc) {
+            assertTrue(exc.getCause() instanceof TimeoutException);
+        }
+
+        assertFalse(service.sharedHandling.isDone());
+
+        service.sharedHandling.complete(1);
+
+        try {
+            execution.getChainExecutionFuture().get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException exc) {
+            assertTrue(exc.getCause() instanceof TimeoutException);
+        }
+
+        assertEquals(0, service.downstreamInvocations.get());
+    }
+
+    @Reactored({
+            "Test will check that processor handler that does not complete within processor timeout",
+            " is not merged and merge point uses fallback status.",
+            "Expected result: {}"
+    })
+    static class ProcessorTimeoutPayload extends IdListPayload {
+    }
+
+    @Test
+    public void processor_timeout_with_fallback_status() throws Exception {
+
+        class Service {
+            final CompletableFuture<Integer> pendingHandling = new CompletableFuture<>();
+            final AtomicInteger downstreamInvocations = new AtomicInteger();
+
+            @Reactored("Returns future that is never completed by service")
+            public CompletableFuture<Integer> pendingHandler() {
+                return pendingHandling;
+            }
+
+            @Reactored("Returns 2")
+            public CompletableFuture<Integer> downstreamHandler() {
+                downstreamInvocations.incrementAndGet();
+                return CompletableFuture.completedFuture(2);
+            }
+        }
+
+        final Service service = new Service();
+
+        class Config {
+            final ReactorGraphBuilder builder = new ReactorGraphBuilder(this);
+
+            Processor<ProcessorTimeoutPayload> processor1 = builder.processor()
+                    .withTimeout(Duration.ofMillis(100), Status.UNUSED)
+                    .forPayload(ProcessorTimeoutPayload.class)
+                    .withHandler(service::pendingHandler)
+                    .withMerger((payload, id) -> {
+                        payload.getIdSequence().add(id);
+                        return Status.OK;
+                    })
+                    .buildProcessor();
+
+            Processor<ProcessorTimeoutPayload> processor2 = builder.processor()
+                    .forPayload(ProcessorTimeoutPayload.class)
+                    .withHandler(service::downstreamHandler)
+                    .withMerger((payload, id) -> {
+                        payload.getIdSequence().add(id);
+                        return Status.OK;
+                    })
+                    .buildProcessor();
+
+            ReactorGraph buildGraph() {
+                return builder.payload(ProcessorTimeoutPayload.class)
+                        .handle(processor1)
+
+                        .mergePoint(processor1)
+                        .on(Status.OK).handle(processor2)
+                        .on(Status.UNUSED).complete()
+
+                        .mergePoint(processor2)
+                        .onAny().complete()
+
+                        .coordinates()
+                        .start(226, 98)
+                        .proc(processor1, 261, 163)
+                        .proc(processor2, 261, 263)
+                        .merge(processor1, 300, 251)
+                        .merge(processor2, 300, 351)
+                        .complete(processor1, 408, 336)
+                        .complete(processor2, 308, 436)
+
+                        .buildGraph();
+            }
+        }
+
+        reactor.registerReactorGraph(new Config().buildGraph());
+
+        CompletableReactor.Execution<ProcessorTimeoutPayload> execution =
+                reactor.submit(new ProcessorTimeoutPayload());
+
+        ProcessorTimeoutPayload result = execution.getResultFuture().get(10, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList(), result.getIdSequence());
+        execution.getChainExecutionFuture().get(10, TimeUnit.SECONDS);
+
+        /**
+         * Future owned by service is not completed by reactor, late completion is ignored
+         */
+        assertFalse(service.pendingHandling.isDone());
+        service.pendingHandling.complete(1);
+
+        assertEquals(Arrays.asList(), result.getIdSequence());
+        assertEquals(0, service.downstreamInvocations.get());
+    }
+
+    @Reactored({
+            "Subgraph with processor that never completes, executed as embedded child execution."
+    })
+    static class ExpiringSubgraphPayload extends IdListPayload {
+    }
+
+    @Reactored({
+            "Test will check that subgraph that does not complete within subgraph timeout",
+            " is cancelled together with its in-flight handlers and merge point uses fallback status.",
+            "Expected result: {}"
+    })
+    static class SubgraphTimeoutPayload extends IdListPayload {
+    }
+
+    @Test
+    public void subgraph_timeout_cancels_embedded_child_execution() throws Exception {
+
+        class Service {
+            final CompletableFuture<Integer> pendingHandling = new CompletableFuture<>();
+
+            @Reactored("Returns future that is never completed by service")
+            public CompletableFuture<Integer> pendingHandler() {
+                return pendingHandling;
+            }
+        }
+
+        final Service service = new Service();
+
+        class Config {
+            final ReactorGraphBuilder builder = new ReactorGraphBuilder(this);
+
+            Processor<ExpiringSubgraphPayload> processor1 = builder.processor()
+                    .withCancellation()
+                    .forPayload(ExpiringSubgraphPayload.class)
+                    .withHandler(service::pendingHandler)
+                    .withMerger((payload, id) -> {
+                        payload.getIdSequence().add(id);
+                        return Status.OK;
+                    })
+                    .buildProcessor();
+
+            ReactorGraph<ExpiringSubgraphPayload> childGraph() {
+                return builder.payload(ExpiringSubgraphPayload.class)
+                        .handle(processor1)
+
+                        .mergePoint(processor1).onAny().complete()
+
+                        .coordinates()
+                        .buildGraph();
+            }
+
+            Subgraph<SubgraphTimeoutPayload> subgraph = builder.subgraph(ExpiringSubgraphPayload.class)
+                    .withTimeout(Duration.ofMillis(100), Status.UNUSED)
+                    .forPayload(SubgraphTimeoutPayload.class)
+                    .passArg(payload -> new ExpiringSubgraphPayload())
+                    .withMerger((payload, result) -> {
+                        payload.getIdSequence().addAll(result.getIdSequence());
+                        return Status.OK;
+                    })
+                    .buildSubgraph();
+
+            ReactorGraph<SubgraphTimeoutPayload> parentGraph() {
+                return builder.payload(SubgraphTimeoutPayload.class)
+                        .handle(subgraph)
+
+                        .mergePoint(subgraph).onAny().complete()
+
+                        .coordinates()
+                        .buildGraph();
+            }
+        }
+
+        Config config = new Config();
+        reactor.registerReactorGraph(config.childGraph());
+        reactor.registerReactorGraph(config.parentGraph());
+
+        CompletableReactor.Execution<SubgraphTimeoutPayload> execution =
+                reactor.submit(new SubgraphTimeoutPayload());
+
+        SubgraphTimeoutPayload result = execution.getResultFuture().get(10, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList(), result.getIdSequence());
+
+        /**
+         * Child execution does not keep parent chain pending after subgraph timeout
+         */
+        execution.getChainExecutionFuture().get(10, TimeUnit.SECONDS);
+        assertTrue(service.pendingHandling.isCancelled());
+    }
+}
@@ -0,0 +1,226 @@
+package ru.fix.completable.reactor.runtime.tests;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.junit.Before;
+import org.junit.Test;
+import ru.fix.commons.profiler.impl.SimpleProfiler;
+import ru.fix.completable.reactor.api.Reactored;
+import ru.fix.completable.reactor.runtime.LogTracer;
+import ru.fix.completable.reactor.runtime.ReactorGraph;
+import ru.fix.completable.reactor.runtime.ReactorGraphBuilder;
+import ru.fix.completable.reactor.runtime.cloning.ImmutabilityAwareThreadsafeCopyMaker;
+import ru.fix.completable.reactor.runtime.debug.ReflectionDebugSerializer;
+import ru.fix.completable.reactor.runtime.dsl.Processor;
+import ru.fix.completable.reactor.runtime.dsl.Subgraph;
+import ru.fix.completable.reactor.runtime.execution.ReactorGraphExecution;
+import ru.fix.completable.reactor.runtime.execution.ReactorGraphExecutionBuilder;
+import ru.fix.completable.reactor.runtime.execution.ReactorGraphExecutionPlan;
+import ru.fix.completable.reactor.runtime.immutability.ReflectionImmutabilityChecker;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Parent graph executes linked subgraph as embedded child execution.
+ */
+public class EmbeddedSubgraphExecutionTest {
+
+    @Data
+    @Accessors(chain = true)
+    static class ParentPayload {
+        String data;
+    }
+
+    @Data
+    @Accessors(chain = true)
+    static class ChildPayload {
+        String data;
+    }
+
+    @Data
+    @Accessors(chain = true)
+    static class LeafPayload {
+        String data;
+    }
+
+    enum Status {OK}
+
+    final CompletableFuture<Long> leafTimeoutMs = new CompletableFuture<>();
+
+    ReactorGraphExecutionBuilder executionBuilder;
+
+    @Before
+    public void before() {
+        executionBuilder = new ReactorGraphExecutionBuilder(
+                new SimpleProfiler(),
+                new ReflectionImmutabilityChecker(),
+                new ImmutabilityAwareThreadsafeCopyMaker(),
+                (payload, timeoutMs) -> {
+                    leafTimeoutMs.complete(timeoutMs);
+                    return CompletableFuture.completedFuture(new LeafPayload());
+                },
+                new ReflectionDebugSerializer(),
+                new LogTracer() {
+                    @Override
+                    public boolean isTraceable(Object payload) {
+                        return false;
+                    }
+                });
+    }
+
+    private ReactorGraphExecutionPlan<ParentPayload> compile(ReactorGraph<ParentPayload> parentGraph,
+                                                              ReactorGraph<ChildPayload> childGraph) {
+        ReactorGraphExecutionPlan<ParentPayload> parentPlan = executionBuilder.compile(parentGraph);
+        ReactorGraphExecutionPlan<ChildPayload> childPlan = executionBuilder.compile(childGraph);
+        parentPlan.linkSubgraphs(payloadClass -> payloadClass == ChildPayload.class ? childPlan : null);
+        childPlan.linkSubgraphs(payloadClass -> null);
+        return parentPlan;
+    }
+
+    /**
+     * Child graph passes leaf payload to subgraph runner, so time budget of child execution could be observed
+     */
+    class LeafConfig {
+        final ReactorGraphBuilder builder = new ReactorGraphBuilder(this);
+
+        Subgraph<ChildPayload> leafSubgraph = builder.subgraph(LeafPayload.class)
+                .forPayload(ChildPayload.class)
+                .passArg(payload -> new LeafPayload())
+                .withMerger((payload, leaf) -> Status.OK)
+                .buildSubgraph();
+
+        Subgraph<ParentPayload> childSubgraph = builder.subgraph(ChildPayload.class)
+                .forPayload(ParentPayload.class)
+                .passArg(payload -> new ChildPayload())
+                .withMerger((payload, child) -> Status.OK)
+                .buildSubgraph();
+
+        Subgraph<ParentPayload> expiringChildSubgraph = builder.subgraph(ChildPayload.class)
+                .withTimeout(Duration.ofMillis(200))
+                .forPayload(ParentPayload.class)
+                .passArg(payload -> new ChildPayload())
+                .withMerger((payload, child) -> Status.OK)
+                .buildSubgraph();
+
+        ReactorGraph<ChildPayload> childGraph() {
+            return builder.payload(ChildPayload.class)
+                    .handle(leafSubgraph)
+
+                    .mergePoint(leafSubgraph).onAny().complete()
+
+                    .coordinates()
+                    .buildGraph();
+        }
+
+        ReactorGraph<ParentPayload> parentGraph(Subgraph<ParentPayload> subgraph) {
+            return builder.payload(ParentPayload.class)
+                    .handle(subgraph)
+
+                    .mergePoint(subgraph).onAny().complete()
+
+                    .coordinates()
+                    .buildGraph();
+        }
+    }
+
+    @Test
+    public void embedded_child_inherits_remaining_budget_of_parent() throws Exception {
+        LeafConfig config = new LeafConfig();
+        ReactorGraphExecutionPlan<ParentPayload> plan = compile(
+                config.parentGraph(config.childSubgraph),
+                config.childGraph());
+
+        ReactorGraphExecution<ParentPayload> execution = executionBuilder.build(plan, 5_000);
+        execution.getSubmitFuture().complete(new ParentPayload());
+        execution.getResultFuture().get(5, TimeUnit.SECONDS);
+
+        long timeoutMs = leafTimeoutMs.get(5, TimeUnit.SECONDS);
+        assertTrue("leaf subgraph is bounded by parent budget: " + timeoutMs, timeoutMs > 0 && timeoutMs <= 5_000);
+    }
+
+    @Test
+    public void subgraph_timeout_caps_budget_of_embedded_child() throws Exception {
+        LeafConfig config = new LeafConfig();
+        ReactorGraphExecutionPlan<ParentPayload> plan = compile(
+                config.parentGraph(config.expiringChildSubgraph),
+                config.childGraph());
+
+        ReactorGraphExecution<ParentPayload> execution = executionBuilder.build(plan, 5_000);
+        execution.getSubmitFuture().complete(new ParentPayload());
+        execution.getResultFuture().get(5, TimeUnit.SECONDS);
+
+        long timeoutMs = leafTimeoutMs.get(5, TimeUnit.SECONDS);
+        assertTrue("leaf subgraph is bounded by subgraph timeout: " + timeoutMs, timeoutMs > 0 && timeoutMs <= 200);
+    }
+
+    @Test
+    public void cancellation_of_parent_cancels_embedded_child() throws Exception {
+
+        class Service {
+            final CompletableFuture<Void> invoked = new CompletableFuture<>();
+            final CompletableFuture<Integer> pendingHandling = new CompletableFuture<>();
+
+            @Reactored("Returns future that is never completed by service")
+            public CompletableFuture<Integer> pendingHandler() {
+                invoked.complete(null);
+                return pendingHandling;
+            }
+        }
+
+        final Service service = new Service();
+
+        class Config {
+            final ReactorGraphBuilder builder = new ReactorGraphBuilder(this);
+
+            Processor<ChildPayload> pendingProcessor = builder.processor()
+                    .withCancellation()
+                    .forPayload(ChildPayload.class)
+                    .withHandler(service::pendingHandler)
+                    .withMerger((payload, id) -> Status.OK)
+                    .buildProcessor();
+
+            Subgraph<ParentPayload> childSubgraph = builder.subgraph(ChildPayload.class)
+                    .forPayload(ParentPayload.class)
+                    .passArg(payload -> new ChildPayload())
+                    .withMerger((payload, child) -> Status.OK)
+                    .buildSubgraph();
+
+            ReactorGraph<ChildPayload> childGraph() {
+                return builder.payload(ChildPayload.class)
+                        .handle(pendingProcessor)
+
+                        .mergePoint(pendingProcessor).onAny().complete()
+
+                        .coordinates()
+                        .buildGraph();
+            }
+
+            ReactorGraph<ParentPayload> parentGraph() {
+                return builder.payload(ParentPayload.class)
+                        .handle(childSubgraph)
+
+                        .mergePoint(childSubgraph).onAny().complete()
+
+                        .coordinates()
+                        .buildGraph();
+            }
+        }
+
+        Config config = new Config();
+        ReactorGraphExecutionPlan<ParentPayload> plan = compile(config.parentGraph(), config.childGraph());
+
+        ReactorGraphExecution<ParentPayload> execution = executionBuilder.build(plan);
+        execution.getSubmitFuture().complete(new ParentPayload());
+        service.invoked.get(5, TimeUnit.SECONDS);
+
+        execution.getResultFuture().cancel(false);
+
+        service.pendingHandling.handle((result, throwable) -> null).get(5, TimeUnit.SECONDS);
+        assertTrue(service.pendingHandling.isCancelled());
+        execution.getChainExecutionFuture().handle((result, throwable) -> null).get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,69 @@
+package ru.fix.completable.reactor.runtime.tests;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ru.fix.completable.reactor.runtime.timeout.HashedWheelTimer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class HashedWheelTimerTest {
+
+    private HashedWheelTimer timer;
+
+    @Before
+    public void before() throws Exception {
+        timer = new HashedWheelTimer("test-timeout-wheel", 5, 8);
+    }
+
+    @After
+    public void after() throws Exception {
+        timer.close();
+    }
+
+    @Test
+    public void timeout_expires_not_earlier_than_deadline() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        HashedWheelTimer.Timeout timeout = timer.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 50);
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    public void timeout_with_several_wheel_rounds_expires() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+
+        /**
+         * Wheel of 8 buckets with 5ms tick makes a round in 40ms
+         */
+        timer.schedule(latch::countDown, 130, TimeUnit.MILLISECONDS);
+
+        assertFalse(latch.await(50, TimeUnit.MILLISECONDS));
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void cancelled_timeout_does_not_expire() throws Exception {
+        AtomicInteger cancelledCounter = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        HashedWheelTimer.Timeout cancelled = timer.schedule(cancelledCounter::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        timer.schedule(latch::countDown, 60, TimeUnit.MILLISECONDS);
+
+        assertTrue(cancelled.cancel());
+        assertTrue(cancelled.isCancelled());
+        assertFalse(cancelled.cancel());
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(0, cancelledCounter.get());
+    }
+}
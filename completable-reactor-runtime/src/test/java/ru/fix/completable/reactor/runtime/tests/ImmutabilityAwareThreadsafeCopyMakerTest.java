@@ -0,0 +1,112 @@
+package ru.fix.completable.reactor.runtime.tests;
+
+import lombok.Data;
+import org.junit.Test;
+import ru.fix.completable.reactor.api.Immutable;
+import ru.fix.completable.reactor.runtime.cloning.ImmutabilityAwareThreadsafeCopyMaker;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ImmutabilityAwareThreadsafeCopyMakerTest {
+
+    enum Status {OK}
+
+    static final class ValueObject {
+        final long id;
+        final String name;
+        final ValueObject parent;
+
+        ValueObject(long id, String name, ValueObject parent) {
+            this.id = id;
+            this.name = name;
+            this.parent = parent;
+        }
+    }
+
+    @Immutable
+    static class AnnotatedObject {
+        List<String> names = new ArrayList<>();
+    }
+
+    @Immutable
+    interface ImmutableView {
+    }
+
+    static class ImmutableViewImplementation implements ImmutableView {
+        List<String> names = new ArrayList<>();
+    }
+
+    static class AnnotatedObjectSubclass extends AnnotatedObject {
+    }
+
+    static final class ObjectWithMutableField {
+        final List<String> names = new ArrayList<>();
+    }
+
+    @Data
+    static class MutableObject {
+        String name;
+        ValueObject value;
+    }
+
+    private final ImmutabilityAwareThreadsafeCopyMaker copyMaker = new ImmutabilityAwareThreadsafeCopyMaker();
+
+    @Test
+    public void immutable_objects_are_not_copied() throws Exception {
+        Object[] objects = {
+                "string",
+                42L,
+                BigDecimal.ONE,
+                LocalDate.now(),
+                Status.OK,
+                new ValueObject(1, "value", new ValueObject(2, "parent", null)),
+                new AnnotatedObject(),
+                new AnnotatedObjectSubclass(),
+                new ImmutableViewImplementation()
+        };
+
+        for (Object object : objects) {
+            assertSame(object, copyMaker.makeThreadsafeCopy(object));
+        }
+        assertNull(copyMaker.makeThreadsafeCopy(null));
+    }
+
+    @Test
+    public void mutable_objects_are_copied_without_copying_immutable_parts() throws Exception {
+        ObjectWithMutableField objectWithMutableField = new ObjectWithMutableField();
+        assertNotSame(objectWithMutableField, copyMaker.makeThreadsafeCopy(objectWithMutableField));
+
+        MutableObject mutableObject = new MutableObject();
+        mutableObject.setName("name");
+        mutableObject.setValue(new ValueObject(1, "value", null));
+
+        MutableObject copy = copyMaker.makeThreadsafeCopy(mutableObject);
+        assertNotSame(mutableObject, copy);
+        assertEquals(mutableObject, copy);
+        assertSame(mutableObject.getValue(), copy.getValue());
+
+        List<ValueObject> list = new ArrayList<>(Arrays.asList(new ValueObject(1, "value", null)));
+        List<ValueObject> listCopy = copyMaker.makeThreadsafeCopy(list);
+        assertNotSame(list, listCopy);
+        assertSame(list.get(0), listCopy.get(0));
+    }
+
+    @Test
+    public void arrays_of_immutable_objects_are_copied_shallowly() throws Exception {
+        String[] strings = {"a", "b"};
+        String[] stringsCopy = copyMaker.makeThreadsafeCopy(strings);
+        assertNotSame(strings, stringsCopy);
+        assertArrayEquals(strings, stringsCopy);
+
+        int[] ints = {1, 2};
+        int[] intsCopy = copyMaker.makeThreadsafeCopy(ints);
+        assertNotSame(ints, intsCopy);
+        assertArrayEquals(ints, intsCopy);
+    }
+}
@@ -15,11 +15,16 @@ import ru.fix.completable.reactor.runtime.dsl.Processor;
 import ru.fix.completable.reactor.runtime.dsl.Subgraph;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author Kamil Asfandiyarov
@@ -129,4 +134,47 @@ public class MockSubgraphTest {
         assertEquals("mock-subgraph-data", mainGraphResultPayload.getData());
 
     }
+
+    @Test
+    public void execution_timeout_does_not_cancel_mocked_subgraph_future() throws Exception {
+
+        class Config {
+            final ReactorGraphBuilder graphBuilder = new ReactorGraphBuilder(this);
+
+            Subgraph<MainPayload> subgraph = graphBuilder.subgraph(SubgraphPayload.class)
+                    .forPayload(MainPayload.class)
+                    .passArg(pld -> new SubgraphPayload().setData(pld.getData()))
+                    .withMerger((mainPayload, subgraphPayload) -> Status.OK)
+                    .buildSubgraph();
+
+            ReactorGraph<MainPayload> graph() {
+                return graphBuilder.payload(MainPayload.class)
+                        .handle(subgraph)
+
+                        .mergePoint(subgraph)
+                        .onAny().complete()
+
+                        .coordinates()
+                        .buildGraph();
+            }
+        }
+
+        reactor.registerReactorGraph(new Config().graph());
+
+        // mocked subgraph returns future that is shared between requests
+
+        CompletableFuture<SubgraphPayload> sharedFuture = new CompletableFuture<>();
+        reactor.registerReactorGraph(SubgraphPayload.class, payload -> sharedFuture);
+
+        CompletableReactor.Execution<MainPayload> result = reactor.submit(new MainPayload(), 100);
+
+        try {
+            result.getResultFuture().get(10, TimeUnit.SECONDS);
+            fail("Execution should expire");
+        } catch (ExecutionException exc) {
+            assertTrue(exc.getCause() instanceof TimeoutException);
+        }
+
+        assertFalse(sharedFuture.isDone());
+    }
 }
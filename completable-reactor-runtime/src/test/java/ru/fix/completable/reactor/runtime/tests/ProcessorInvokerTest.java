@@ -0,0 +1,121 @@
+package ru.fix.completable.reactor.runtime.tests;
+
+import org.junit.Test;
+import ru.fix.completable.reactor.runtime.cloning.ImmutabilityAwareThreadsafeCopyMaker;
+import ru.fix.completable.reactor.runtime.dsl.Handler1Arg;
+import ru.fix.completable.reactor.runtime.dsl.ProcessorMerger;
+import ru.fix.completable.reactor.runtime.dsl.SubgraphMerger;
+import ru.fix.completable.reactor.runtime.execution.MergePointInvoker;
+import ru.fix.completable.reactor.runtime.execution.ProcessorInvoker;
+import ru.fix.completable.reactor.runtime.execution.SubgraphInvoker;
+import ru.fix.completable.reactor.runtime.internal.dsl.CRMergePointDescription;
+import ru.fix.completable.reactor.runtime.internal.dsl.CRProcessorDescription;
+import ru.fix.completable.reactor.runtime.internal.dsl.CRSubgraphDescription;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class ProcessorInvokerTest {
+
+    enum Status {OK}
+
+    @Test
+    public void invoker_invokes_handler_and_merger() throws Exception {
+        CRProcessorDescription<StringBuilder> description = new CRProcessorDescription<>();
+        description.setArg1((Function<StringBuilder, Integer>) StringBuilder::length);
+        description.setHandler1((Handler1Arg<Integer, Integer>) length ->
+                CompletableFuture.completedFuture(length * 2));
+        description.setMerger((ProcessorMerger<StringBuilder, Integer>) (payload, result) -> {
+            payload.append(result);
+            return Status.OK;
+        });
+
+        ProcessorInvoker invoker = ProcessorInvoker.compile(description, null);
+
+        StringBuilder payload = new StringBuilder("abc");
+
+        Object result = invoker.invokeHandler(payload).get(10, TimeUnit.SECONDS);
+        assertEquals(6, result);
+
+        assertEquals(Status.OK, invoker.invokeMerger(payload, result));
+        assertEquals("abc6", payload.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void processor_without_handler_argument_is_rejected_on_compilation() throws Exception {
+        CRProcessorDescription<StringBuilder> description = new CRProcessorDescription<>();
+        description.setHandler1((Handler1Arg<Integer, Integer>) CompletableFuture::completedFuture);
+
+        ProcessorInvoker.compile(description, null);
+    }
+
+    @Test
+    public void copied_argument_is_passed_to_handler() throws Exception {
+        List<Integer> argument = new ArrayList<>(Arrays.asList(1, 2));
+
+        CRProcessorDescription<List<Integer>> description = new CRProcessorDescription<>();
+        description.setArg1((Function<List<Integer>, List<Integer>>) payload -> payload);
+        description.setCopyArg1(true);
+        description.setHandler1((Handler1Arg<List<Integer>, List<Integer>>) CompletableFuture::completedFuture);
+
+        ProcessorInvoker invoker = ProcessorInvoker.compile(
+                description,
+                new ImmutabilityAwareThreadsafeCopyMaker());
+
+        Object result = invoker.invokeHandler(argument).get(10, TimeUnit.SECONDS);
+        assertEquals(argument, result);
+        assertNotSame(argument, result);
+    }
+
+    @Test
+    public void processors_with_same_handler_type_get_own_invoker_classes() throws Exception {
+        CRProcessorDescription<StringBuilder> description = new CRProcessorDescription<>();
+        description.setArg1((Function<StringBuilder, Integer>) StringBuilder::length);
+        description.setHandler1((Handler1Arg<Integer, Integer>) CompletableFuture::completedFuture);
+
+        ProcessorInvoker invoker1 = ProcessorInvoker.compile(description, null);
+        ProcessorInvoker invoker2 = ProcessorInvoker.compile(description, null);
+
+        assertNotSame(invoker1.getClass(), invoker2.getClass());
+        assertEquals(invoker1.getClass().getName(), invoker2.getClass().getName());
+        assertEquals(3, invoker2.invokeHandler(new StringBuilder("abc")).get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void subgraph_and_merge_point_vertices_get_own_invoker_classes() throws Exception {
+        CRSubgraphDescription<StringBuilder> subgraphDescription = new CRSubgraphDescription<>(String.class);
+        subgraphDescription.setArg(StringBuilder::toString);
+        subgraphDescription.setMerger((SubgraphMerger<StringBuilder, String>) (payload, result) -> {
+            payload.append(result);
+            return Status.OK;
+        });
+
+        SubgraphInvoker subgraphInvoker1 = SubgraphInvoker.compile(subgraphDescription, null);
+        SubgraphInvoker subgraphInvoker2 = SubgraphInvoker.compile(subgraphDescription, null);
+        assertNotSame(subgraphInvoker1.getClass(), subgraphInvoker2.getClass());
+
+        StringBuilder payload = new StringBuilder("abc");
+        assertEquals("abc", subgraphInvoker1.invokeArg(payload));
+        assertEquals(Status.OK, subgraphInvoker2.invokeMerger(payload, "d"));
+        assertEquals("abcd", payload.toString());
+
+        CRMergePointDescription<StringBuilder> mergePointDescription = new CRMergePointDescription<>();
+        mergePointDescription.setMerger(pld -> {
+            pld.append("e");
+            return Status.OK;
+        });
+
+        MergePointInvoker mergePointInvoker1 = MergePointInvoker.compile(mergePointDescription);
+        MergePointInvoker mergePointInvoker2 = MergePointInvoker.compile(mergePointDescription);
+        assertNotSame(mergePointInvoker1.getClass(), mergePointInvoker2.getClass());
+
+        assertEquals(Status.OK, mergePointInvoker1.invokeMerger(payload));
+        assertEquals("abcde", payload.toString());
+    }
+}
@@ -0,0 +1,295 @@
+package ru.fix.completable.reactor.runtime.tests;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import ru.fix.commons.profiler.impl.SimpleProfiler;
+import ru.fix.completable.reactor.api.Reactored;
+import ru.fix.completable.reactor.runtime.CompletableReactor;
+import ru.fix.completable.reactor.runtime.ReactorGraph;
+import ru.fix.completable.reactor.runtime.ReactorGraphBuilder;
+import ru.fix.completable.reactor.runtime.dsl.Processor;
+import ru.fix.completable.reactor.runtime.reactive.ReactorProcessor;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class ReactorProcessorTest {
+
+    static final int PAYLOAD_COUNT = 200;
+    static final int WINDOW = 8;
+
+    enum Status {OK}
+
+    @Reactored("Payload with number that is copied to result by delayed service")
+    @Data
+    @Accessors(chain = true)
+    static class NumberPayload {
+        int number;
+        int result;
+    }
+
+    static class DelayedService {
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        @Reactored("Returns number after delay that depends on number")
+        public CompletableFuture<Integer> process(int number) {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+
+            CompletableFuture<Integer> result = new CompletableFuture<>();
+            scheduler.schedule(() -> {
+                running.decrementAndGet();
+                result.complete(number);
+            }, number % 5, TimeUnit.MILLISECONDS);
+            return result;
+        }
+    }
+
+    /**
+     * Publishes range of payloads according to subscriber demand
+     */
+    static class RangePublisher implements Publisher<NumberPayload> {
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicLong demand = new AtomicLong();
+        final AtomicInteger wip = new AtomicInteger();
+
+        @Override
+        public void subscribe(Subscriber<? super NumberPayload> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    demand.addAndGet(n);
+                    if (wip.getAndIncrement() != 0) {
+                        return;
+                    }
+                    do {
+                        while (demand.get() > 0 && next.get() < PAYLOAD_COUNT) {
+                            demand.decrementAndGet();
+                            subscriber.onNext(new NumberPayload().setNumber(next.getAndIncrement()));
+                        }
+                        if (next.get() == PAYLOAD_COUNT && next.getAndIncrement() == PAYLOAD_COUNT) {
+                            subscriber.onComplete();
+                        }
+                    } while (wip.decrementAndGet() != 0);
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        }
+    }
+
+    /**
+     * Requests results one by one
+     */
+    static class CollectingSubscriber implements Subscriber<NumberPayload> {
+        final List<Integer> results = new CopyOnWriteArrayList<>();
+        final CompletableFuture<List<Integer>> completion = new CompletableFuture<>();
+        Subscription subscription;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(NumberPayload payload) {
+            results.add(payload.getResult());
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completion.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completion.complete(results);
+        }
+    }
+
+    static class ImmediateService {
+        @Reactored("Returns number immediately")
+        public CompletableFuture<Integer> process(int number) {
+            return CompletableFuture.completedFuture(number);
+        }
+    }
+
+    /**
+     * Does not request results until test requests them
+     */
+    static class ManualSubscriber extends CollectingSubscriber {
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(NumberPayload payload) {
+            results.add(payload.getResult());
+        }
+    }
+
+    CompletableReactor reactor;
+    DelayedService service;
+
+    @Before
+    public void before() throws Exception {
+        reactor = new CompletableReactor(new SimpleProfiler());
+        service = new DelayedService();
+
+        class Config {
+            ReactorGraphBuilder graphBuilder = new ReactorGraphBuilder(this);
+
+            Processor<NumberPayload> processor = graphBuilder.processor()
+                    .forPayload(NumberPayload.class)
+                    .passArg(NumberPayload::getNumber)
+                    .withHandler(service::process)
+                    .withMerger((payload, result) -> {
+                        payload.setResult(result);
+                        return Status.OK;
+                    })
+                    .buildProcessor();
+
+            ReactorGraph<NumberPayload> graph() {
+                return graphBuilder.payload(NumberPayload.class)
+                        .handle(processor)
+
+                        .mergePoint(processor)
+                        .onAny().complete()
+
+                        .coordinates()
+                        .buildGraph();
+            }
+        }
+
+        reactor.registerReactorGraph(new Config().graph());
+    }
+
+    @After
+    public void after() throws Exception {
+        service.scheduler.shutdown();
+        reactor.close();
+    }
+
+    @Test
+    public void ordered_results_with_bounded_window() throws Exception {
+        ReactorProcessor<NumberPayload> processor =
+                new ReactorProcessor<>(reactor, WINDOW, ReactorProcessor.Order.ORDERED);
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+
+        new RangePublisher().subscribe(processor);
+        processor.subscribe(subscriber);
+
+        assertEquals(
+                IntStream.range(0, PAYLOAD_COUNT).boxed().collect(Collectors.toList()),
+                subscriber.completion.get(10, TimeUnit.SECONDS));
+        assertTrue("max running " + service.maxRunning.get(), service.maxRunning.get() <= WINDOW);
+    }
+
+    @Test
+    public void unordered_results_with_bounded_window() throws Exception {
+        ReactorProcessor<NumberPayload> processor =
+                new ReactorProcessor<>(reactor, WINDOW, ReactorProcessor.Order.UNORDERED);
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+
+        processor.subscribe(subscriber);
+        new RangePublisher().subscribe(processor);
+
+        assertEquals(
+                IntStream.range(0, PAYLOAD_COUNT).boxed().collect(Collectors.toSet()),
+                new HashSet<>(subscriber.completion.get(10, TimeUnit.SECONDS)));
+        assertTrue("max running " + service.maxRunning.get(), service.maxRunning.get() <= WINDOW);
+    }
+
+    @Test
+    public void ready_results_are_published_before_upstream_error() throws Exception {
+        ImmediateService immediateService = new ImmediateService();
+
+        /**
+         * Executions complete in thread that submits payload
+         */
+        CompletableReactor immediateReactor = new CompletableReactor(new SimpleProfiler())
+                .setSameThreadSubmission(true)
+                .setSameThreadTransitions(true);
+
+        class Config {
+            ReactorGraphBuilder graphBuilder = new ReactorGraphBuilder(this);
+
+            Processor<NumberPayload> processor = graphBuilder.processor()
+                    .forPayload(NumberPayload.class)
+                    .passArg(NumberPayload::getNumber)
+                    .withHandler(immediateService::process)
+                    .withMerger((payload, result) -> {
+                        payload.setResult(result);
+                        return Status.OK;
+                    })
+                    .buildProcessor();
+
+            ReactorGraph<NumberPayload> graph() {
+                return graphBuilder.payload(NumberPayload.class)
+                        .handle(processor)
+
+                        .mergePoint(processor)
+                        .onAny().complete()
+
+                        .coordinates()
+                        .buildGraph();
+            }
+        }
+
+        immediateReactor.registerReactorGraph(new Config().graph());
+
+        try {
+            ReactorProcessor<NumberPayload> processor =
+                    new ReactorProcessor<>(immediateReactor, WINDOW, ReactorProcessor.Order.ORDERED);
+            ManualSubscriber subscriber = new ManualSubscriber();
+            processor.subscribe(subscriber);
+
+            processor.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            for (int number = 1; number <= 3; number++) {
+                processor.onNext(new NumberPayload().setNumber(number));
+            }
+            IllegalStateException upstreamError = new IllegalStateException("Upstream failure");
+            processor.onError(upstreamError);
+
+            assertFalse("error waits for ready results", subscriber.completion.isDone());
+
+            subscriber.subscription.request(3);
+
+            try {
+                subscriber.completion.get(10, TimeUnit.SECONDS);
+                fail("Upstream error should be published");
+            } catch (ExecutionException exc) {
+                assertSame(upstreamError, exc.getCause());
+            }
+            assertEquals(Arrays.asList(1, 2, 3), subscriber.results);
+        } finally {
+            immediateReactor.close();
+        }
+    }
+}
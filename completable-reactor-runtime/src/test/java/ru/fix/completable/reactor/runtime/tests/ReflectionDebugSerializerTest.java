@@ -0,0 +1,80 @@
+package ru.fix.completable.reactor.runtime.tests;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.junit.Test;
+import ru.fix.completable.reactor.runtime.debug.DebugSerializer;
+import ru.fix.completable.reactor.runtime.debug.ReflectionDebugSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class ReflectionDebugSerializerTest {
+
+    @Data
+    @Accessors(chain = true)
+    static class Payload {
+        long id;
+        String name;
+        List<Integer> values = new ArrayList<>();
+        Payload next;
+    }
+
+    @Test
+    public void dump_fields() {
+        String dump = new ReflectionDebugSerializer().dumpObject(new Payload().setId(1).setName("payload"));
+
+        assertEquals("Payload(id=1, name=payload, values=[], next=null)", dump);
+    }
+
+    @Test
+    public void cyclic_reference_is_not_followed() {
+        Payload payload = new Payload();
+        payload.setNext(payload);
+
+        String dump = new ReflectionDebugSerializer().dumpObject(payload);
+
+        assertTrue(dump, dump.contains("next=" + Payload.class.getName() + "@"));
+    }
+
+    @Test
+    public void dump_is_bounded() {
+        Payload payload = new Payload();
+        payload.getValues().addAll(IntStream.range(0, 1000).boxed().collect(Collectors.toList()));
+
+        String dump = new ReflectionDebugSerializer()
+                .setMaxElements(3)
+                .dumpObject(payload);
+        assertTrue(dump, dump.contains("values=[0, 1, 2, ...(997 more)]"));
+
+        dump = new ReflectionDebugSerializer()
+                .setMaxElements(1000)
+                .setMaxLength(100)
+                .dumpObject(payload);
+        assertEquals(100 + "...".length(), dump.length());
+    }
+
+    @Test
+    public void dumps_are_rate_limited() {
+        DebugSerializer serializer = new ReflectionDebugSerializer().setMaxDumpsPerSecond(0);
+
+        String dump = serializer.dumpObject(new Payload());
+
+        assertTrue(dump, dump.startsWith(Payload.class.getName() + "@"));
+        assertTrue(dump, dump.endsWith("(dump suppressed)"));
+    }
+
+    @Test
+    public void lazy_dump_is_not_materialized_until_requested() {
+        Payload payload = new Payload().setName("first");
+        Object lazyDump = new ReflectionDebugSerializer().lazyDump(payload);
+
+        payload.setName("second");
+
+        assertTrue(lazyDump.toString(), lazyDump.toString().contains("name=second"));
+    }
+}
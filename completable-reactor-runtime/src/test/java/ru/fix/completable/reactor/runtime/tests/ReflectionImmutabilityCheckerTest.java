@@ -0,0 +1,93 @@
+package ru.fix.completable.reactor.runtime.tests;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.junit.Test;
+import ru.fix.completable.reactor.runtime.immutability.ImmutabilityChecker;
+import ru.fix.completable.reactor.runtime.immutability.ReflectionImmutabilityChecker;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ReflectionImmutabilityCheckerTest {
+
+    @Data
+    @Accessors(chain = true)
+    static class Item {
+        String name;
+        int[] codes = new int[]{1, 2};
+    }
+
+    @Data
+    @Accessors(chain = true)
+    static class Payload {
+        long id;
+        String name;
+        Item item = new Item();
+        List<Item> items = new ArrayList<>();
+        Map<String, Integer> counters = new HashMap<>();
+        Payload self;
+    }
+
+    final ReflectionImmutabilityChecker checker = new ReflectionImmutabilityChecker();
+
+    @Test
+    public void unmodified_payload_has_no_diff() {
+        Payload payload = new Payload().setId(1).setName("payload");
+        payload.getItems().add(new Item().setName("first"));
+        payload.getCounters().put("count", 1);
+        payload.setSelf(payload);
+
+        ImmutabilityChecker.Snapshot snapshot = checker.takeSnapshot(payload);
+
+        assertFalse(checker.diff(snapshot, payload).isPresent());
+    }
+
+    @Test
+    public void primitive_field_modification_detected() {
+        Payload payload = new Payload().setId(1);
+        ImmutabilityChecker.Snapshot snapshot = checker.takeSnapshot(payload);
+
+        payload.setId(2);
+
+        Optional<String> diff = checker.diff(snapshot, payload);
+        assertTrue(diff.isPresent());
+        assertTrue(diff.get(), diff.get().contains("payload.id: 1 -> 2"));
+    }
+
+    @Test
+    public void nested_modification_detected() {
+        Payload payload = new Payload();
+        payload.getItems().add(new Item().setName("first"));
+        ImmutabilityChecker.Snapshot snapshot = checker.takeSnapshot(payload);
+
+        payload.getItems().get(0).setName("second");
+        payload.getItem().getCodes()[0] = 42;
+
+        Optional<String> diff = checker.diff(snapshot, payload);
+        assertTrue(diff.isPresent());
+        assertTrue(diff.get(), diff.get().contains("payload.items[0].name: first -> second"));
+        assertTrue(diff.get(), diff.get().contains("payload.item.codes"));
+    }
+
+    @Test
+    public void collection_content_modification_detected() {
+        Payload payload = new Payload();
+        ImmutabilityChecker.Snapshot snapshot = checker.takeSnapshot(payload);
+
+        payload.getCounters().put("count", 1);
+
+        assertTrue(checker.diff(snapshot, payload).isPresent());
+    }
+
+    @Test
+    public void replaced_reference_detected() {
+        Payload payload = new Payload();
+        ImmutabilityChecker.Snapshot snapshot = checker.takeSnapshot(payload);
+
+        payload.setItem(new Item());
+
+        assertTrue(checker.diff(snapshot, payload).isPresent());
+    }
+}
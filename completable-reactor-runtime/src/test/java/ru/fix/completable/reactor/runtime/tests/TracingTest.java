@@ -14,8 +14,11 @@ import ru.fix.completable.reactor.runtime.ReactorGraph;
 import ru.fix.completable.reactor.runtime.ReactorGraphBuilder;
 import ru.fix.completable.reactor.runtime.dsl.Processor;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -127,4 +130,66 @@ public class TracingTest {
         assertTrue(beforeHandle.get());
         assertTrue(beforeMerge.get());
     }
+
+    @Test
+    public void tracing_decision_is_made_once_per_execution() throws Exception {
+
+        class Config {
+            ReactorGraphBuilder graphBuilder = new ReactorGraphBuilder(this);
+
+            Processor<TracablePayload> processor1 = graphBuilder.processor()
+                    .forPayload(TracablePayload.class)
+                    .withHandler(new IdProcessor(1)::handle)
+                    .withMerger((payload, any) -> Status.OK)
+                    .buildProcessor();
+
+            Processor<TracablePayload> processor2 = graphBuilder.processor()
+                    .forPayload(TracablePayload.class)
+                    .withHandler(new IdProcessor(2)::handle)
+                    .withMerger((payload, any) -> Status.OK)
+                    .buildProcessor();
+
+            ReactorGraph<TracablePayload> graph() {
+                return graphBuilder.payload(TracablePayload.class)
+                        .handle(processor1)
+
+                        .mergePoint(processor1)
+                        .onAny().handle(processor2)
+
+                        .mergePoint(processor2)
+                        .onAny().complete()
+
+                        .coordinates()
+                        .buildGraph();
+            }
+        }
+
+        completableReactor.registerReactorGraph(new Config().graph());
+
+        val isTraceableInvocations = new AtomicInteger();
+        val beforeHandleInvocations = new AtomicInteger();
+
+        completableReactor.setTracer(new LogTracer() {
+            @Override
+            public boolean isTraceable(Object payload) {
+                isTraceableInvocations.incrementAndGet();
+                return ((TracablePayload) payload).getNumber() == 1;
+            }
+
+            @Override
+            public Object beforeHandle(ReactorGraphModel.Identity identity, Object payload) {
+                beforeHandleInvocations.incrementAndGet();
+                return super.beforeHandle(identity, payload);
+            }
+        });
+
+        for (int num = 0; num < 10; num++) {
+            completableReactor.submit(new TracablePayload().setNumber(num))
+                    .getResultFuture()
+                    .get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(10, isTraceableInvocations.get());
+        assertEquals(2, beforeHandleInvocations.get());
+    }
 }